@@ -22,9 +22,16 @@
 
 package org.cellocad.v2.webapp;
 
+import com.auth0.jwt.algorithms.Algorithm;
+import org.cellocad.v2.webapp.common.CompressionUtils;
+import org.cellocad.v2.webapp.security.SecurityConstants;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 /**
@@ -41,7 +48,34 @@ public class Application {
     return new BCryptPasswordEncoder();
   }
 
+  /**
+   * The algorithm with which tokens are signed and verified.
+   *
+   * @param secret The signing key, shared by every node of a deployment.
+   * @return The algorithm.
+   */
+  @Bean
+  public Algorithm tokenAlgorithm(@Value("${cello.jwt.secret:}") final String secret) {
+    return Algorithm.HMAC512(SecurityConstants.getSecret(secret).getBytes());
+  }
+
+  /**
+   * Run the application.
+   *
+   * @param args The arguments.
+   */
   public static void main(final String[] args) {
-    SpringApplication.run(Application.class, args);
+    final SpringApplication application = new SpringApplication(Application.class);
+    // storage settings are read by static utilities, so they are bound before any bean is created
+    application.addListeners(
+        (ApplicationListener<ApplicationEnvironmentPreparedEvent>)
+            e -> bindStorage(e.getEnvironment()));
+    application.run(args);
+  }
+
+  private static void bindStorage(final Environment environment) {
+    ApplicationUtils.setStorageRoot(
+        environment.getProperty(ApplicationUtils.STORAGE_ROOT_PROPERTY));
+    CompressionUtils.setCodec(environment.getProperty(CompressionUtils.CODEC_PROPERTY));
   }
 }
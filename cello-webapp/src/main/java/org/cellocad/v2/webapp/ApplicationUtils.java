@@ -32,6 +32,11 @@ import org.cellocad.v2.webapp.common.Utils;
  */
 public class ApplicationUtils {
 
+  /** The property that holds the storage root. */
+  public static final String STORAGE_ROOT_PROPERTY = "cello.storage.root";
+
+  private static volatile String storageRoot;
+
   // https://github.com/spring-projects/spring-boot/blob/4b670f8696e252f4a5cc596b9f8a96ca7978daa1/spring-boot-project/spring-boot/src/main/java/org/springframework/boot/system/ApplicationHome.java#L105
   private static boolean isUnitTest() {
     try {
@@ -48,12 +53,20 @@ public class ApplicationUtils {
   }
 
   /**
-   * Get the application directory.
+   * Get the application directory: the storage root, if set, or the directory of the application.
    *
    * @return The application directory.
    */
   public static String getApplicationDirectory() {
     String rtn = "";
+    final String root = getStorageRoot();
+    if (root != null && !ApplicationUtils.isUnitTest()) {
+      rtn += root;
+      if (!rtn.endsWith(Utils.getFileSeparator())) {
+        rtn += Utils.getFileSeparator();
+      }
+      return rtn;
+    }
     rtn += Utils.getFilepath();
     if (ApplicationUtils.isUnitTest()) {
       rtn += "target";
@@ -64,6 +77,28 @@ public class ApplicationUtils {
     return rtn;
   }
 
+  /**
+   * Get the storage root, under which resources, user files, and projects are kept. Nodes that
+   * share a job queue must share a storage root, e.g. on a network mount.
+   *
+   * @return The storage root, or null if not set, in which case the directory of the application
+   *     is used.
+   */
+  public static String getStorageRoot() {
+    return storageRoot;
+  }
+
+  /**
+   * Set the storage root from the {@code cello.storage.root} property, which may be given, like
+   * any other property, in the application properties, as an argument, or as the {@code
+   * CELLO_STORAGE_ROOT} environment variable.
+   *
+   * @param root The storage root, or null or empty to use the directory of the application.
+   */
+  public static void setStorageRoot(final String root) {
+    storageRoot = root == null || root.isEmpty() ? null : root;
+  }
+
   /**
    * Get the resources directory.
    *
@@ -0,0 +1,262 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.common;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Utility methods for keeping stored files compressed. The codec is chosen with the {@code
+ * cello.storage.compression} property, one of {@code none}, the default, {@code gzip}, or {@code
+ * gzip-fast}, which is read once when the application starts. A compressed file
+ * keeps its name, and is recognized by its content when read, so files written with any codec can
+ * be read whatever the codec in use.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public final class CompressionUtils {
+
+  /** A codec with which stored files are compressed. */
+  public enum Codec {
+    /** Files are stored as written. */
+    NONE(0),
+    /** Files are stored in gzip format, at the default level of compression. */
+    GZIP(Deflater.DEFAULT_COMPRESSION),
+    /** Files are stored in gzip format, compressed as fast as possible. */
+    GZIP_FAST(Deflater.BEST_SPEED);
+
+    private final int level;
+
+    Codec(final int level) {
+      this.level = level;
+    }
+
+    /**
+     * Get the codec with the given name, e.g. {@code gzip-fast}.
+     *
+     * @param name The name of the codec.
+     * @return The codec.
+     * @throws IllegalArgumentException No codec has the given name.
+     */
+    public static Codec forName(final String name) {
+      return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+  }
+
+  private static class LevelGzipOutputStream extends GZIPOutputStream {
+
+    LevelGzipOutputStream(final OutputStream os, final int level) throws IOException {
+      super(os, BUFFER_SIZE);
+      def.setLevel(level);
+    }
+  }
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /** Files smaller than this, in bytes, are not worth compressing. */
+  private static final long MIN_SIZE = 1024;
+
+  private static final Set<String> EXTENSIONS =
+      new HashSet<>(Arrays.asList("csv", "dot", "json", "log", "txt", "v", "xml"));
+
+  /** The property that holds the name of the codec with which files are stored. */
+  public static final String CODEC_PROPERTY = "cello.storage.compression";
+
+  private static volatile Codec codec = Codec.NONE;
+
+  private CompressionUtils() {}
+
+  /**
+   * Get the codec with which files are stored.
+   *
+   * @return The codec with which files are stored.
+   */
+  public static Codec getCodec() {
+    return codec;
+  }
+
+  /**
+   * Set the codec with which files are stored from its name, so that an unknown codec is reported
+   * once, when the application starts.
+   *
+   * @param name The name of the codec, or null or empty for {@link Codec#NONE}.
+   * @throws IllegalArgumentException No codec has the given name.
+   */
+  public static void setCodec(final String name) {
+    codec = name == null || name.trim().isEmpty() ? Codec.NONE : Codec.forName(name);
+  }
+
+  private static boolean isGzip(final InputStream is) throws IOException {
+    is.mark(2);
+    final int b0 = is.read();
+    final int b1 = is.read();
+    is.reset();
+    return b0 == (GZIPInputStream.GZIP_MAGIC & 0xff) && b1 == (GZIPInputStream.GZIP_MAGIC >> 8);
+  }
+
+  /**
+   * Whether a file is stored compressed.
+   *
+   * @param path The path of the file.
+   * @return True if the file is compressed.
+   * @throws IOException Unable to read the file.
+   */
+  public static boolean isCompressed(final Path path) throws IOException {
+    try (InputStream is = new BufferedInputStream(Files.newInputStream(path), 2)) {
+      return isGzip(is);
+    }
+  }
+
+  /**
+   * Wrap a stream so that what is written to it is compressed with the given codec.
+   *
+   * @param os The stream to wrap.
+   * @param codec The codec.
+   * @return The wrapped stream, or the given stream if the codec is {@link Codec#NONE}.
+   * @throws IOException Unable to write to the stream.
+   */
+  public static OutputStream newOutputStream(final OutputStream os, final Codec codec)
+      throws IOException {
+    if (codec == Codec.NONE) {
+      return os;
+    }
+    return new LevelGzipOutputStream(os, codec.level);
+  }
+
+  /**
+   * Open a stored file for reading, decompressing it as it is read if it is compressed.
+   *
+   * @param path The path of the file.
+   * @return A stream of the uncompressed contents of the file.
+   * @throws IOException Unable to open the file.
+   */
+  public static InputStream newInputStream(final Path path) throws IOException {
+    final InputStream rtn = new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE);
+    try {
+      if (isGzip(rtn)) {
+        return new GZIPInputStream(rtn, BUFFER_SIZE);
+      }
+    } catch (final IOException e) {
+      rtn.close();
+      throw e;
+    }
+    return rtn;
+  }
+
+  /**
+   * Compress a stored file in place with the codec in use. The file is left as it is if the codec
+   * is {@link Codec#NONE}, or if it is small or already compressed. Its modification time is kept.
+   *
+   * @param path The path of the file.
+   * @return True if the file was compressed.
+   * @throws IOException Unable to compress the file.
+   */
+  public static boolean compress(final Path path) throws IOException {
+    final Codec codec = getCodec();
+    if (codec == Codec.NONE || Files.size(path) < MIN_SIZE || isCompressed(path)) {
+      return false;
+    }
+    final Path tmp = path.resolveSibling("." + path.getFileName() + ".gz.tmp");
+    try {
+      try (InputStream is = Files.newInputStream(path);
+          OutputStream os =
+              newOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)), codec)) {
+        IOUtils.copy(is, os, BUFFER_SIZE);
+      }
+      Files.setLastModifiedTime(tmp, Files.getLastModifiedTime(path));
+      Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+    return true;
+  }
+
+  /**
+   * Whether a file is text, and so worth compressing, by its extension.
+   *
+   * @param name The name of the file.
+   * @return Whether the file is worth compressing.
+   */
+  public static boolean isCompressible(final String name) {
+    return EXTENSIONS.contains(FilenameUtils.getExtension(name).toLowerCase(Locale.ROOT));
+  }
+
+  /**
+   * Compress the text files in a directory, other than those excluded.
+   *
+   * @param directory The directory.
+   * @param excluded The names of the files to leave as they are.
+   * @throws IOException Unable to compress a file.
+   */
+  public static void compressDirectory(final File directory, final Set<String> excluded)
+      throws IOException {
+    final File[] files = directory.listFiles();
+    if (files == null || getCodec() == Codec.NONE) {
+      return;
+    }
+    for (final File file : files) {
+      final String name = file.getName();
+      if (file.isFile() && !excluded.contains(name) && isCompressible(name)) {
+        compress(file.toPath());
+      }
+    }
+  }
+
+  /**
+   * Get a path from which a stored file can be read by a program unaware of compression. A
+   * compressed file is decompressed into the given directory, which is created if needed; any
+   * other file is read in place.
+   *
+   * @param filepath The path of the stored file.
+   * @param directory The directory into which to decompress the file, under the name it is stored
+   *     with.
+   * @return The path from which to read the file.
+   * @throws IOException Unable to decompress the file.
+   */
+  public static String inflate(final String filepath, final File directory) throws IOException {
+    final Path path = new File(filepath).toPath();
+    if (!Files.isRegularFile(path) || !isCompressed(path)) {
+      return filepath;
+    }
+    Files.createDirectories(directory.toPath());
+    final Path rtn = directory.toPath().resolve(path.getFileName());
+    try (InputStream is = newInputStream(path)) {
+      Files.copy(is, rtn, StandardCopyOption.REPLACE_EXISTING);
+    }
+    return rtn.toString();
+  }
+}
@@ -0,0 +1,380 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.common;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.apache.commons.io.IOUtils;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Utilities for sending files in HTTP responses without buffering them in memory. Responses carry a
+ * strong entity tag derived from the SHA-256 hash of the file, conditional requests, by entity tag
+ * or modification time, are answered with 304, and a single byte range is honoured with 206. The
+ * body is handed to the container's sendfile support when it has one, and is otherwise transferred
+ * from a file channel.
+ *
+ * <p>A file stored compressed is sent as it is, with a {@code gzip} content encoding, to clients
+ * that accept one. Other clients are sent a stream of its uncompressed contents, without ranges.
+ * A compressible file stored uncompressed may likewise be compressed as it is sent.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public final class FileTransferUtils {
+
+  private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+  private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+  private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+  private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+  private static final String CACHE_CONTROL = "private, no-cache";
+  private static final Pattern BYTE_RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+  private static final Pattern ZERO_QUALITY = Pattern.compile("^q=0(\\.0*)?$");
+  private static final String GZIP = "gzip";
+  private static final long MIN_DEFLATE_LENGTH = 1024;
+
+  private static final int MAX_TAGS = 4096;
+
+  // least recently used first, so that tags of deleted projects and superseded archives age out
+  private static final LinkedHashMap<String, Tag> tags =
+      new LinkedHashMap<String, Tag>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Tag> eldest) {
+          return size() > MAX_TAGS;
+        }
+      };
+
+  private FileTransferUtils() {}
+
+  /** An entity tag, valid while the file keeps the same modification time and length. */
+  private static class Tag {
+
+    private final long modified;
+    private final long length;
+    private final String etag;
+
+    private Tag(final long modified, final long length, final String etag) {
+      this.modified = modified;
+      this.length = length;
+      this.etag = etag;
+    }
+  }
+
+  /**
+   * Get the strong entity tag of a file. The tags of the most recently sent files are cached, and
+   * recomputed only when the file's modification time or length changes.
+   *
+   * @param file The file.
+   * @return The entity tag, quoted.
+   * @throws IOException Unable to read the file.
+   */
+  public static String getETag(final File file) throws IOException {
+    final String key = file.getAbsolutePath();
+    final long modified = file.lastModified();
+    final long length = file.length();
+    Tag tag;
+    synchronized (tags) {
+      tag = tags.get(key);
+    }
+    if (tag == null || tag.modified != modified || tag.length != length) {
+      tag = new Tag(modified, length, "\"" + HashUtils.sha256Hex(file) + "\"");
+      synchronized (tags) {
+        tags.put(key, tag);
+      }
+    }
+    return tag.etag;
+  }
+
+  /**
+   * Whether the value of an {@code If-None-Match} header matches an entity tag, using the weak
+   * comparison that the header calls for.
+   *
+   * @param header The header value, or null.
+   * @param etag The entity tag.
+   * @return Whether the header matches the entity tag.
+   */
+  public static boolean matches(final String header, final String etag) {
+    if (header == null) {
+      return false;
+    }
+    for (String token : header.split(",")) {
+      token = token.trim();
+      if (token.startsWith("W/")) {
+        token = token.substring(2);
+      }
+      if (token.equals("*") || token.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Parse the value of a {@code Range} header. Only a single byte range is supported; anything
+   * else is ignored, as the specification allows, and the whole file is sent.
+   *
+   * @param header The header value, or null.
+   * @param length The length of the file.
+   * @return The first and last byte positions, inclusive, null to send the whole file, or an empty
+   *     array if the range is not satisfiable.
+   */
+  static long[] parseRange(final String header, final long length) {
+    if (header == null) {
+      return null;
+    }
+    final Matcher m = BYTE_RANGE.matcher(header.trim());
+    if (!m.matches() || (m.group(1).isEmpty() && m.group(2).isEmpty())) {
+      return null;
+    }
+    long start = 0;
+    long end = length - 1;
+    try {
+      if (m.group(1).isEmpty()) {
+        start = Math.max(0, length - Long.parseLong(m.group(2)));
+      } else {
+        start = Long.parseLong(m.group(1));
+        if (!m.group(2).isEmpty()) {
+          end = Math.min(end, Long.parseLong(m.group(2)));
+        }
+      }
+    } catch (final NumberFormatException e) {
+      return null;
+    }
+    if (start >= length || start > end) {
+      return new long[0];
+    }
+    return new long[] {start, end};
+  }
+
+  /**
+   * Whether the value of an {@code Accept-Encoding} header accepts the {@code gzip} encoding.
+   *
+   * @param header The header value, or null.
+   * @return Whether the header accepts {@code gzip}.
+   */
+  static boolean acceptsGzip(final String header) {
+    if (header == null) {
+      return false;
+    }
+    for (final String token : header.split(",")) {
+      final String[] parts = token.split(";");
+      final String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+      if (!coding.equals(GZIP) && !coding.equals("*")) {
+        continue;
+      }
+      for (int i = 1; i < parts.length; i++) {
+        if (ZERO_QUALITY.matcher(parts[i].trim()).matches()) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  private static void sendInflated(
+      final HttpServletRequest request,
+      final HttpServletResponse response,
+      final File file,
+      final String contentType)
+      throws IOException {
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "none");
+    response.setContentType(contentType);
+    if (request.getMethod().equals("HEAD")) {
+      return;
+    }
+    try (InputStream is = CompressionUtils.newInputStream(file.toPath())) {
+      IOUtils.copy(is, response.getOutputStream());
+    }
+  }
+
+  /**
+   * Whether a conditional request is answered with 304, by its {@code If-None-Match} header, or,
+   * failing that, by its {@code If-Modified-Since} header.
+   *
+   * @param request The request.
+   * @param etag The entity tag of the file.
+   * @param modified The modification time of the file, in milliseconds.
+   * @return Whether the file is unchanged.
+   */
+  static boolean notModified(
+      final HttpServletRequest request, final String etag, final long modified) {
+    if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+      return matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag);
+    }
+    try {
+      final long since = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+      // dates in headers have a resolution of seconds
+      return since >= 0 && modified / 1000 <= since / 1000;
+    } catch (final IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  private static void sendDeflated(
+      final HttpServletRequest request,
+      final HttpServletResponse response,
+      final File file,
+      final String contentType)
+      throws IOException {
+    response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "none");
+    response.setContentType(contentType);
+    if (request.getMethod().equals("HEAD")) {
+      return;
+    }
+    try (InputStream is = Files.newInputStream(file.toPath());
+        OutputStream os =
+            CompressionUtils.newOutputStream(
+                response.getOutputStream(), CompressionUtils.Codec.GZIP_FAST)) {
+      IOUtils.copy(is, os);
+    }
+  }
+
+  /**
+   * Send a file, or the requested range of it, honouring conditional requests.
+   *
+   * @param request The request.
+   * @param response The response.
+   * @param file The file.
+   * @param contentType The content type of the file.
+   * @throws IOException Unable to read the file or write the response.
+   */
+  public static void sendFile(
+      final HttpServletRequest request,
+      final HttpServletResponse response,
+      final File file,
+      final String contentType)
+      throws IOException {
+    sendFile(request, response, file, contentType, false);
+  }
+
+  /**
+   * Send a file, or the requested range of it, honouring conditional requests. A compressible file
+   * stored uncompressed is compressed as it is sent to clients that accept {@code gzip}, unless it
+   * is small or a range of it is requested.
+   *
+   * @param request The request.
+   * @param response The response.
+   * @param file The file.
+   * @param contentType The content type of the file.
+   * @param compressible Whether the file is worth compressing, e.g. because it is text.
+   * @throws IOException Unable to read the file or write the response.
+   */
+  public static void sendFile(
+      final HttpServletRequest request,
+      final HttpServletResponse response,
+      final File file,
+      final String contentType,
+      final boolean compressible)
+      throws IOException {
+    final long length = file.length();
+    final boolean compressed = CompressionUtils.isCompressed(file.toPath());
+    final boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    final boolean inflate = compressed && !gzip;
+    final boolean deflate =
+        compressible
+            && !compressed
+            && gzip
+            && length >= MIN_DEFLATE_LENGTH
+            && request.getHeader(HttpHeaders.RANGE) == null;
+    final String etag = getETag(file);
+    // the other representation has the same content, but not the same bytes
+    response.setHeader(HttpHeaders.ETAG, inflate || deflate ? "W/" + etag : etag);
+    response.setDateHeader(HttpHeaders.LAST_MODIFIED, file.lastModified());
+    response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+    if (compressed || compressible) {
+      response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+    if (notModified(request, etag, file.lastModified())) {
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return;
+    }
+    if (deflate) {
+      sendDeflated(request, response, file, contentType);
+      return;
+    }
+    if (inflate) {
+      sendInflated(request, response, file, contentType);
+      return;
+    }
+    if (compressed) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+    }
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+    long start = 0;
+    long count = length;
+    final String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+    if (ifRange == null || ifRange.trim().equals(etag)) {
+      final long[] range = parseRange(request.getHeader(HttpHeaders.RANGE), length);
+      if (range != null && range.length == 0) {
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        return;
+      }
+      if (range != null) {
+        start = range[0];
+        count = range[1] - range[0] + 1;
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setHeader(
+            HttpHeaders.CONTENT_RANGE, String.format("bytes %d-%d/%d", range[0], range[1], length));
+      }
+    }
+    response.setContentType(contentType);
+    response.setContentLengthLong(count);
+    if (request.getMethod().equals("HEAD") || count == 0) {
+      return;
+    }
+    if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+      request.setAttribute(SENDFILE_FILENAME, file.getAbsolutePath());
+      request.setAttribute(SENDFILE_START, start);
+      request.setAttribute(SENDFILE_END, start + count);
+      return;
+    }
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      final WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+      long position = start;
+      final long end = start + count;
+      while (position < end) {
+        final long n = channel.transferTo(position, end - position, out);
+        if (n <= 0) {
+          break;
+        }
+        position += n;
+      }
+    }
+  }
+}
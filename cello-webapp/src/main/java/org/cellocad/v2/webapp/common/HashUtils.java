@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.common;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Utility methods for content hashes.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public final class HashUtils {
+
+  private static final String SHA_256 = "SHA-256";
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private HashUtils() {}
+
+  /**
+   * Get a new SHA-256 digest.
+   *
+   * @return A SHA-256 digest.
+   */
+  public static MessageDigest getSha256Digest() {
+    try {
+      return MessageDigest.getInstance(SHA_256);
+    } catch (final NoSuchAlgorithmException e) {
+      // every Java platform is required to support SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Encode bytes as lowercase hexadecimal.
+   *
+   * @param bytes The bytes.
+   * @return The hexadecimal string.
+   */
+  public static String toHex(final byte[] bytes) {
+    final char[] rtn = new char[bytes.length * 2];
+    for (int i = 0; i < bytes.length; i++) {
+      rtn[2 * i] = HEX[(bytes[i] >> 4) & 0xf];
+      rtn[2 * i + 1] = HEX[bytes[i] & 0xf];
+    }
+    return new String(rtn);
+  }
+
+  /**
+   * Update a digest with a string, prefixed by its length so that consecutive strings cannot run
+   * together.
+   *
+   * @param digest The digest.
+   * @param str The string, or null.
+   */
+  public static void update(final MessageDigest digest, final String str) {
+    if (str == null) {
+      digest.update((byte) 0);
+      return;
+    }
+    final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+    digest.update((byte) 1);
+    digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.US_ASCII));
+    digest.update((byte) ':');
+    digest.update(bytes);
+  }
+
+  /**
+   * Get the SHA-256 hash of a file's content.
+   *
+   * @param file The file.
+   * @return The hash, as lowercase hexadecimal.
+   * @throws IOException Unable to read the file.
+   */
+  public static String sha256Hex(final File file) throws IOException {
+    try (InputStream in = Files.newInputStream(file.toPath())) {
+      return sha256Hex(in);
+    }
+  }
+
+  /**
+   * Get the SHA-256 hash of the rest of a stream. The stream is not closed.
+   *
+   * @param in The stream.
+   * @return The hash, as lowercase hexadecimal.
+   * @throws IOException Unable to read the stream.
+   */
+  public static String sha256Hex(final InputStream in) throws IOException {
+    final MessageDigest digest = getSha256Digest();
+    final byte[] buffer = new byte[64 * 1024];
+    int n = 0;
+    while ((n = in.read(buffer)) != -1) {
+      digest.update(buffer, 0, n);
+    }
+    return toHex(digest.digest());
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.controller;
+
+import org.cellocad.v2.webapp.job.CompileCache;
+import org.cellocad.v2.webapp.job.CompileCacheStats;
+import org.cellocad.v2.webapp.job.CompileExecutor;
+import org.cellocad.v2.webapp.job.CompileExecutorStats;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for the server-wide compile job queue.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+@RestController
+@RequestMapping("/jobs")
+public class JobController {
+
+  private final CompileExecutor compileExecutor;
+  private final CompileCache compileCache;
+
+  public JobController(final CompileExecutor compileExecutor, final CompileCache compileCache) {
+    this.compileExecutor = compileExecutor;
+    this.compileCache = compileCache;
+  }
+
+  /**
+   * Get the number of workers and the number of active and queued jobs.
+   *
+   * @return The compile executor statistics.
+   */
+  @RequestMapping(
+      method = RequestMethod.GET,
+      value = "/stats",
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public CompileExecutorStats getStats() {
+    return compileExecutor.getStats();
+  }
+
+  /**
+   * Get the size of the compile cache and its hit and miss counts.
+   *
+   * @return The compile cache statistics.
+   */
+  @RequestMapping(
+      method = RequestMethod.GET,
+      value = "/cache",
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public CompileCacheStats getCacheStats() {
+    return compileCache.getStats();
+  }
+}
@@ -23,42 +23,74 @@
 package org.cellocad.v2.webapp.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
-import org.apache.commons.io.IOUtils;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.cellocad.v2.common.file.zip.utils.ZipUtils;
+import org.bson.types.ObjectId;
 import org.cellocad.v2.results.common.Result;
+import org.cellocad.v2.webapp.common.CompressionUtils;
+import org.cellocad.v2.webapp.common.FileTransferUtils;
 import org.cellocad.v2.webapp.exception.CelloWebException;
+import org.cellocad.v2.webapp.exception.LibraryException;
 import org.cellocad.v2.webapp.exception.ProjectException;
 import org.cellocad.v2.webapp.exception.ResourceNotFoundException;
+import org.cellocad.v2.webapp.job.CompileCache;
+import org.cellocad.v2.webapp.job.JobLogUtils;
+import org.cellocad.v2.webapp.job.JobProgress;
+import org.cellocad.v2.webapp.job.JobStatus;
+import org.cellocad.v2.webapp.job.ProjectJobService;
 import org.cellocad.v2.webapp.project.Project;
 import org.cellocad.v2.webapp.project.ProjectFactory;
 import org.cellocad.v2.webapp.project.ProjectRepository;
-import org.cellocad.v2.webapp.resource.ApplicationResourceUtils;
-import org.cellocad.v2.webapp.resource.UserResourceUtils;
-import org.cellocad.v2.webapp.resource.library.InputSensorFileDescriptor;
-import org.cellocad.v2.webapp.resource.library.OutputDeviceFileDescriptor;
-import org.cellocad.v2.webapp.resource.library.UserConstraintsFileDescriptor;
+import org.cellocad.v2.webapp.project.ProjectResultsCache;
+import org.cellocad.v2.webapp.project.ProjectUtils;
+import org.cellocad.v2.webapp.project.batch.ProjectBatch;
+import org.cellocad.v2.webapp.project.batch.ProjectBatchItem;
+import org.cellocad.v2.webapp.project.batch.ProjectBatchRepository;
+import org.cellocad.v2.webapp.project.batch.SweepRun;
+import org.cellocad.v2.webapp.project.batch.SweepSpecification;
+import org.cellocad.v2.webapp.project.batch.SweepUtils;
+import org.cellocad.v2.webapp.resource.DescriptorStore;
+import org.cellocad.v2.webapp.resource.MemoizedDescriptorStore;
+import org.cellocad.v2.webapp.resource.TargetDataCache;
+import org.cellocad.v2.webapp.resource.TargetDataResolver;
 import org.cellocad.v2.webapp.specification.Specification;
 import org.cellocad.v2.webapp.specification.library.TargetDataLibraryResource;
+import org.cellocad.v2.webapp.specification.settings.Settings;
 import org.cellocad.v2.webapp.user.ApplicationUser;
 import org.cellocad.v2.webapp.user.ApplicationUserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
-import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -73,16 +105,52 @@ public class ProjectController {
 
   @Autowired private ApplicationUserRepository applicationUserRepository;
   @Autowired private ProjectRepository projectRepository;
+  @Autowired private ProjectJobService projectJobService;
+  @Autowired private ProjectBatchRepository projectBatchRepository;
+  private final DescriptorStore descriptorStore;
+  private final TargetDataCache targetDataCache;
+  private final ProjectResultsCache projectResultsCache;
+  private final int maxSweepPoints;
+  private final boolean storeCompressedOutputs;
 
+  private static Logger getLogger() {
+    return LogManager.getLogger(ProjectController.class);
+  }
+
+  /**
+   * Initialize the project controller.
+   *
+   * @param applicationUserRepository The user repository.
+   * @param projectRepository The project repository.
+   * @param projectJobService The job service that executes projects.
+   * @param projectBatchRepository The project batch repository.
+   * @param descriptorStore The store of target data descriptors.
+   * @param targetDataCache The cache of parsed target data files.
+   * @param projectResultsCache The cache of project results.
+   * @param maxSweepPoints The largest number of projects a parameter sweep may create.
+   * @param storeCompressedOutputs Whether to store outputs that are compressed already, such as
+   *     images, in project archives without deflating them again.
+   */
   public ProjectController(
       final ApplicationUserRepository applicationUserRepository,
-      final ProjectRepository projectRepository) {
+      final ProjectRepository projectRepository,
+      final ProjectJobService projectJobService,
+      final ProjectBatchRepository projectBatchRepository,
+      final DescriptorStore descriptorStore,
+      final TargetDataCache targetDataCache,
+      final ProjectResultsCache projectResultsCache,
+      @Value("${cello.jobs.max-sweep-points:256}") final int maxSweepPoints,
+      @Value("${cello.projects.archive.store-compressed:true}")
+          final boolean storeCompressedOutputs) {
     this.applicationUserRepository = applicationUserRepository;
     this.projectRepository = projectRepository;
-  }
-
-  private static Logger getLogger() {
-    return LogManager.getLogger(ProjectController.class);
+    this.projectJobService = projectJobService;
+    this.projectBatchRepository = projectBatchRepository;
+    this.descriptorStore = descriptorStore;
+    this.targetDataCache = targetDataCache;
+    this.projectResultsCache = projectResultsCache;
+    this.maxSweepPoints = maxSweepPoints;
+    this.storeCompressedOutputs = storeCompressedOutputs;
   }
 
   @RequestMapping(
@@ -94,15 +162,21 @@ public class ProjectController {
   }
 
   /**
-   * Specify a new project.
+   * Specify a new project. The project is persisted and queued for execution, and the status of
+   * the queued job is returned immediately.
    *
    * @param user The user to whom the project belongs.
    * @param specification The project specification.
+   * @return The status of the queued job, with status 202, or of the completed job, with status
+   *     200, if its outputs were restored from the compile cache.
    * @throws IOException Unable to read target data metadata.
    * @throws JsonProcessingException Unable to parse target data metadata.
    */
-  @RequestMapping(method = RequestMethod.POST, value = "/projects")
-  public void createProject(
+  @RequestMapping(
+      method = RequestMethod.POST,
+      value = "/projects",
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<JobStatus> createProject(
       final ApplicationUser user, @RequestBody final Specification specification)
       throws JsonProcessingException, IOException {
     final Iterator<Project> it = user.getProjects().iterator();
@@ -113,88 +187,18 @@ public class ProjectController {
             HttpStatus.CONFLICT, "A project with that name already exists.");
       }
     }
-    // This is too long.
     if (specification.getLibraryResource() instanceof TargetDataLibraryResource) {
       final TargetDataLibraryResource library =
           (TargetDataLibraryResource) specification.getLibraryResource();
-      Collection<InputSensorFileDescriptor> isfDescriptors =
-          UserResourceUtils.getAllInputSensorFileDescriptors(user);
-      String isfPath = null;
-      for (InputSensorFileDescriptor d : isfDescriptors) {
-        if (d.getFile().equals(library.getInputSensorFile().getName())) {
-          if (d.getIsPrivate()) {
-            isfPath =
-                Paths.get(UserResourceUtils.getInputSensorFileResourcesDirectory(user), d.getFile())
-                    .toString();
-            break;
-          } else {
-            isfPath =
-                Paths.get(
-                        ApplicationResourceUtils.getInputSensorFileResourcesDirectory(),
-                        d.getFile())
-                    .toString();
-            break;
-          }
-        }
-      }
-      if (isfPath == null) {
-        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Input sensor file not found.");
-      }
-      File isfFile = new File(isfPath);
-      library.setInputSensorFile(isfFile);
-      Collection<OutputDeviceFileDescriptor> odfDescriptors =
-          UserResourceUtils.getAllOutputDeviceFileDescriptors(user);
-      String odfPath = null;
-      for (OutputDeviceFileDescriptor d : odfDescriptors) {
-        if (d.getFile().equals(library.getOutputDeviceFile().getName())) {
-          if (d.getIsPrivate()) {
-            odfPath =
-                Paths.get(
-                        UserResourceUtils.getOutputDeviceFileResourcesDirectory(user), d.getFile())
-                    .toString();
-            break;
-          } else {
-            odfPath =
-                Paths.get(
-                        ApplicationResourceUtils.getOutputDeviceFileResourcesDirectory(),
-                        d.getFile())
-                    .toString();
-            break;
-          }
-        }
-      }
-      if (odfPath == null) {
-        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Output device file not found.");
-      }
-      File odfFile = new File(odfPath);
-      library.setOutputDeviceFile(odfFile);
-      Collection<UserConstraintsFileDescriptor> ucfDescriptors =
-          UserResourceUtils.getAllUserConstraintsFileDescriptors(user);
-      String ucfPath = null;
-      for (UserConstraintsFileDescriptor d : ucfDescriptors) {
-        if (d.getFile().equals(library.getUserConstraintsFile().getName())) {
-          if (d.getIsPrivate()) {
-            ucfPath =
-                Paths.get(
-                        UserResourceUtils.getUserConstraintsFileResourcesDirectory(user),
-                        d.getFile())
-                    .toString();
-            break;
-          } else {
-            ucfPath =
-                Paths.get(
-                        ApplicationResourceUtils.getUserConstraintsFileResourcesDirectory(),
-                        d.getFile())
-                    .toString();
-            break;
-          }
-        }
+      try {
+        TargetDataResolver.resolve(descriptorStore, user, library);
+        TargetDataResolver.validate(
+            descriptorStore, targetDataCache, user, library, specification.getConstraints());
+      } catch (final ResourceNotFoundException e) {
+        throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+      } catch (final LibraryException e) {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
       }
-      if (ucfPath == null) {
-        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User constraints file not found.");
-      }
-      File ucfFile = new File(ucfPath);
-      library.setUserConstraintsFile(ucfFile);
     }
     // project
     final ProjectFactory factory = new ProjectFactory();
@@ -205,23 +209,305 @@ public class ProjectController {
       throw new ResponseStatusException(
           HttpStatus.INTERNAL_SERVER_ERROR, "Error creating project.", e);
     }
+    project.setCacheKey(getCacheKey(descriptorStore, user, specification));
     projectRepository.insert(project);
     user.getProjects().add(project);
     applicationUserRepository.save(user);
-    ProjectController.getLogger()
-        .info(
-            String.format(
-                "Executing job '%s' for user '%s'.", project.getName(), user.getUsername()));
+    JobStatus status = projectJobService.restore(project);
+    if (status != null) {
+      return ResponseEntity.ok(status);
+    }
     try {
-      project.execute();
+      status = projectJobService.submit(user, project);
     } catch (CelloWebException e) {
       throw new ResponseStatusException(
-          HttpStatus.INTERNAL_SERVER_ERROR, "Failed to execute project.", e);
+          HttpStatus.SERVICE_UNAVAILABLE, "Unable to queue project.", e);
+    }
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+  }
+
+  /**
+   * Compute the compile cache key of a specification whose target data files have been resolved.
+   *
+   * @param store The store of target data descriptors, whose hashes stand for the files.
+   * @param user The user to whom the target data files were resolved.
+   * @param specification The specification.
+   * @return The key, or null if the specification cannot be cached.
+   * @throws IOException Unable to read target data metadata, or to read a file.
+   */
+  private String getCacheKey(
+      final DescriptorStore store, final ApplicationUser user, final Specification specification)
+      throws IOException {
+    if (!(specification.getLibraryResource() instanceof TargetDataLibraryResource)) {
+      return null;
+    }
+    final TargetDataLibraryResource library =
+        (TargetDataLibraryResource) specification.getLibraryResource();
+    return CompileCache.getKey(
+        specification, TargetDataResolver.getHashes(store, targetDataCache, user, library));
+  }
+
+  /**
+   * Specify a batch of projects. Each target data file is looked up once for the whole batch, the
+   * projects are persisted in one write, and each is queued for execution. A specification that
+   * cannot be turned into a project is reported in its item rather than failing the batch.
+   *
+   * @param user The user to whom the projects belong.
+   * @param specifications The project specifications.
+   * @return The batch, with the status of each item, with status 202.
+   * @throws IOException Unable to read target data metadata.
+   */
+  @RequestMapping(
+      method = RequestMethod.POST,
+      value = "/projects:batch",
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<ProjectBatch> createProjects(
+      final ApplicationUser user, @RequestBody final List<Specification> specifications)
+      throws IOException {
+    final ProjectBatch batch = new ProjectBatch(user.getUsername());
+    for (final Specification specification : specifications) {
+      batch.getItems().add(new ProjectBatchItem(specification.getName()));
+    }
+    submitBatch(user, batch, specifications, true, null, null);
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(batch);
+  }
+
+  /**
+   * Create, persist, and queue the projects of a batch, and persist the batch.
+   *
+   * @param user The user to whom the projects belong.
+   * @param batch The batch, with one item per specification.
+   * @param specifications The project specifications.
+   * @param resolve Whether the target data files of the specifications have yet to be resolved.
+   * @param verilogFile The path to a Verilog file shared by all projects, or null.
+   * @param netlistConstraintFile The path to a netlist constraint file shared by all projects, or
+   *     null.
+   */
+  private void submitBatch(
+      final ApplicationUser user,
+      final ProjectBatch batch,
+      final List<Specification> specifications,
+      final boolean resolve,
+      final String verilogFile,
+      final String netlistConstraintFile) {
+    final Set<String> names = new HashSet<>();
+    for (final Project p : user.getProjects()) {
+      names.add(p.getName());
+    }
+    final DescriptorStore store = new MemoizedDescriptorStore(descriptorStore);
+    final ProjectFactory factory = new ProjectFactory();
+    final List<Project> projects = new ArrayList<>();
+    final List<ProjectBatchItem> items = new ArrayList<>();
+    for (int i = 0; i < specifications.size(); i++) {
+      final Specification specification = specifications.get(i);
+      final ProjectBatchItem item = batch.getItems().get(i);
+      if (specification.getName() == null) {
+        item.setMessage("Missing project name.");
+        continue;
+      }
+      if (!names.add(specification.getName())) {
+        item.setMessage("A project with that name already exists.");
+        continue;
+      }
+      try {
+        if (resolve && specification.getLibraryResource() instanceof TargetDataLibraryResource) {
+          final TargetDataLibraryResource library =
+              (TargetDataLibraryResource) specification.getLibraryResource();
+          TargetDataResolver.resolve(store, user, library);
+          TargetDataResolver.validate(
+              store, targetDataCache, user, library, specification.getConstraints());
+        }
+        final Project project =
+            factory.getProject(user, specification, verilogFile, netlistConstraintFile);
+        if (project == null) {
+          item.setMessage("Unknown application.");
+          continue;
+        }
+        project.setCacheKey(getCacheKey(store, user, specification));
+        projects.add(project);
+        items.add(item);
+      } catch (final ResourceNotFoundException
+          | LibraryException
+          | ProjectException
+          | IOException e) {
+        item.setMessage(e.getMessage());
+      }
+    }
+    projectRepository.insert(projects);
+    user.getProjects().addAll(projects);
+    applicationUserRepository.save(user);
+    for (int i = 0; i < projects.size(); i++) {
+      final Project project = projects.get(i);
+      final ProjectBatchItem item = items.get(i);
+      if (projectJobService.restore(project) == null) {
+        try {
+          projectJobService.submit(user, project);
+        } catch (final CelloWebException e) {
+          item.setMessage(e.getMessage());
+        }
+      }
+      item.setJob(project.getJob());
+    }
+    projectBatchRepository.insert(batch);
+  }
+
+  /**
+   * Get a batch of projects with the current status of each item.
+   *
+   * @param user The user to whom the batch belongs.
+   * @param batchId The batch id.
+   * @return The batch.
+   */
+  @RequestMapping(
+      method = RequestMethod.GET,
+      value = "/projects:batch/{batch-id}",
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  public ProjectBatch getBatch(
+      final ApplicationUser user, @PathVariable(value = "batch-id") final String batchId) {
+    ProjectBatch rtn = null;
+    if (ObjectId.isValid(batchId)) {
+      rtn = projectBatchRepository.findById(new ObjectId(batchId)).orElse(null);
+    }
+    if (rtn == null || !user.getUsername().equals(rtn.getOwner())) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unable to find batch.");
+    }
+    final Map<String, Project> projects = new HashMap<>();
+    for (final Project p : user.getProjects()) {
+      projects.put(p.getName(), p);
+    }
+    for (final ProjectBatchItem item : rtn.getItems()) {
+      final Project project = projects.get(item.getName());
+      if (item.getJob() != null && project != null) {
+        item.setJob(project.getJob());
+      }
+    }
+    return rtn;
+  }
+
+  /**
+   * Sweep the settings of a specification. One project is created and queued per point of the
+   * sweep, named after the base specification and the point number. The Verilog and netlist
+   * constraints are written once and shared by every project; only the options differ.
+   *
+   * @param user The user to whom the projects belong.
+   * @param sweep The base specification and the settings to sweep.
+   * @return The batch of sweep projects, with status 202.
+   * @throws IOException Unable to read target data metadata.
+   */
+  @RequestMapping(
+      method = RequestMethod.POST,
+      value = "/projects:sweep",
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<ProjectBatch> createSweep(
+      final ApplicationUser user, @RequestBody final SweepSpecification sweep) throws IOException {
+    final Specification base = sweep.getSpecification();
+    if (base == null || base.getSettings() == null) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Missing base specification.");
+    }
+    if (base.getName() == null) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Missing sweep name.");
+    }
+    List<Map<String, String>> points = null;
+    try {
+      final long seed = sweep.getSeed() != null ? sweep.getSeed() : new Random().nextLong();
+      points = SweepUtils.getPoints(sweep.getGrid(), sweep.getSamples(), seed, maxSweepPoints);
+    } catch (final IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+    if (base.getLibraryResource() instanceof TargetDataLibraryResource) {
+      final TargetDataLibraryResource library =
+          (TargetDataLibraryResource) base.getLibraryResource();
+      try {
+        TargetDataResolver.resolve(descriptorStore, user, library);
+        TargetDataResolver.validate(
+            descriptorStore, targetDataCache, user, library, base.getConstraints());
+      } catch (final ResourceNotFoundException e) {
+        throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+      } catch (final LibraryException e) {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+      }
+    }
+    final ProjectBatch batch = new ProjectBatch(user.getUsername());
+    // shared inputs
+    final String dir = ProjectUtils.initUserSweepDirectory(user, batch.getId());
+    final String verilogFile = Paths.get(dir, base.getName() + ".v").toString();
+    final String netlistConstraintFile =
+        Paths.get(dir, base.getName() + "_netlistconstraints.json").toString();
+    try {
+      ProjectUtils.writeVerilogFile(base, verilogFile);
+      ProjectUtils.writeNetlistConstraintFile(base, netlistConstraintFile);
+    } catch (final ProjectException e) {
+      FileUtils.deleteQuietly(new File(dir));
+      throw new ResponseStatusException(
+          HttpStatus.INTERNAL_SERVER_ERROR, "Error creating sweep.", e);
+    }
+    // one specification per point
+    final List<Specification> specifications = new ArrayList<>();
+    for (int i = 0; i < points.size(); i++) {
+      final Map<String, String> settings = new HashMap<>(base.getSettings().getSettings());
+      settings.putAll(points.get(i));
+      final String name = String.format("%s_%d", base.getName(), i + 1);
+      specifications.add(
+          new Specification(
+              name,
+              base.getVerilog(),
+              new Settings(settings, base.getSettings().getApplication()),
+              base.getConstraints(),
+              base.getLibraryResource()));
+      final ProjectBatchItem item = new ProjectBatchItem(name);
+      item.setParameters(points.get(i));
+      batch.getItems().add(item);
     }
-    ProjectController.getLogger()
-        .info(
-            String.format(
-                "Completed job '%s' for user '%s'.", project.getName(), user.getUsername()));
+    submitBatch(user, batch, specifications, false, verilogFile, netlistConstraintFile);
+    if (batch.getItems().stream().allMatch(item -> item.getJob() == null)) {
+      // no project uses the shared inputs
+      FileUtils.deleteQuietly(new File(dir));
+    }
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(batch);
+  }
+
+  /**
+   * Summarize a parameter sweep: the parameters, state, score, and runtime of each run.
+   *
+   * @param user The user to whom the sweep belongs.
+   * @param batchId The batch id of the sweep.
+   * @return One row per point of the sweep.
+   */
+  @RequestMapping(
+      method = RequestMethod.GET,
+      value = "/projects:sweep/{batch-id}",
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  public List<SweepRun> getSweep(
+      final ApplicationUser user, @PathVariable(value = "batch-id") final String batchId) {
+    final ProjectBatch batch = getBatch(user, batchId);
+    final Map<String, Project> projects = new HashMap<>();
+    for (final Project p : user.getProjects()) {
+      projects.put(p.getName(), p);
+    }
+    final List<SweepRun> rtn = new ArrayList<>();
+    for (final ProjectBatchItem item : batch.getItems()) {
+      final JobStatus status = item.getJob();
+      final Project project = projects.get(item.getName());
+      if (status == null || project == null) {
+        rtn.add(
+            new SweepRun(
+                item.getName(), item.getParameters(), null, null, null, item.getMessage()));
+        continue;
+      }
+      Long runtime = null;
+      if (status.getStarted() != null && status.getFinished() != null) {
+        runtime = status.getFinished().getTime() - status.getStarted().getTime();
+      }
+      rtn.add(
+          new SweepRun(
+              item.getName(),
+              item.getParameters(),
+              status.getState(),
+              status.getScore(),
+              runtime,
+              status.getMessage()));
+    }
+    return rtn;
   }
 
   static Project getProject(final String name, final ApplicationUser user) {
@@ -241,26 +527,94 @@ public class ProjectController {
   }
 
   /**
-   * Downloads a zip archive containing all files associated with a project.
+   * Downloads a zip archive containing all files associated with a project. The archive is built
+   * once and kept beside the files until they change, so repeat downloads send the same file, with
+   * an ETag. If the archive cannot be kept, it is written to the response as it is built instead.
    *
    * @param user The user to whom the project belongs.
    * @param projectName The name of the project.
+   * @param request The request.
+   * @param response The response, to which the archive is written.
+   * @throws IOException Unable to write the archive.
    */
   @RequestMapping(
       method = RequestMethod.GET,
       value = "/projects/{project-name}",
       produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
-  public byte[] getProjectArchive(
+  public void getProjectArchive(
+      final ApplicationUser user,
+      @PathVariable(value = "project-name") final String projectName,
+      final HttpServletRequest request,
+      final HttpServletResponse response)
+      throws IOException {
+    final Project project = getProject(projectName, user);
+    if (!new File(project.getFilepath()).isDirectory()) {
+      throw new ResponseStatusException(
+          HttpStatus.INTERNAL_SERVER_ERROR, "Unable to zip project directory.");
+    }
+    File archive = null;
+    try {
+      archive = ProjectUtils.getArchive(project, storeCompressedOutputs);
+    } catch (final IOException e) {
+      getLogger().warn("Unable to keep the archive of project " + project.getName() + ".", e);
+    }
+    response.setHeader(
+        HttpHeaders.CONTENT_DISPOSITION,
+        ContentDisposition.builder("attachment")
+            .filename(project.getName() + ".zip")
+            .build()
+            .toString());
+    if (archive != null) {
+      FileTransferUtils.sendFile(
+          request, response, archive, MediaType.APPLICATION_OCTET_STREAM_VALUE);
+      return;
+    }
+    response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+    ProjectUtils.writeArchive(project, response.getOutputStream(), storeCompressedOutputs);
+  }
+
+  /**
+   * Get the status of the job associated with a project, including the compiler stage it has
+   * reached.
+   *
+   * @param user The user to whom the project belongs.
+   * @param projectName The name of the project.
+   * @return The job progress.
+   */
+  @RequestMapping(
+      method = RequestMethod.GET,
+      value = "/projects/{project-name}/status",
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  public JobProgress getProjectStatus(
       final ApplicationUser user, @PathVariable(value = "project-name") final String projectName) {
     final Project project = getProject(projectName, user);
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    if (project.getJob() == null) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Project has no job.");
+    }
+    String stage = null;
     try {
-      ZipUtils.zipDirectory(baos, Paths.get(project.getFilepath()));
+      stage = JobLogUtils.getCurrentStage(project.getFilepath());
     } catch (IOException e) {
       throw new ResponseStatusException(
-          HttpStatus.INTERNAL_SERVER_ERROR, "Unable to zip project directory.", e);
+          HttpStatus.INTERNAL_SERVER_ERROR, "Unable to read project log.", e);
+    }
+    return new JobProgress(project.getJob(), stage);
+  }
+
+  /**
+   * Cancel the queued or running job of a project.
+   *
+   * @param user The user to whom the project belongs.
+   * @param projectName The name of the project.
+   */
+  @RequestMapping(method = RequestMethod.DELETE, value = "/projects/{project-name}/run")
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public void cancelProject(
+      final ApplicationUser user, @PathVariable(value = "project-name") final String projectName) {
+    final Project project = getProject(projectName, user);
+    if (!projectJobService.cancel(project)) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "Project is not queued or running.");
     }
-    return baos.toByteArray();
   }
 
   /**
@@ -278,20 +632,23 @@ public class ProjectController {
     while (it.hasNext()) {
       final Project p = it.next();
       if (p.getName().equals(projectName)) {
+        projectJobService.cancel(p);
         p.delete();
+        projectResultsCache.invalidate(p);
         it.remove();
+        ProjectUtils.deleteUnusedSweepDirectory(user, p);
       }
     }
   }
 
-  static Result getProjectResult(final String file, final Project project) {
-    Result rtn = null;
-    Collection<Result> results = getProjectResults(project);
-    for (Result r : results) {
-      if (r.getFile().getName().equals(file)) {
-        rtn = r;
-        break;
-      }
+  static Result getProjectResult(
+      final ProjectResultsCache cache, final String file, final Project project) {
+    final Result rtn;
+    try {
+      rtn = cache.getResult(project, file);
+    } catch (IOException e) {
+      throw new ResponseStatusException(
+          HttpStatus.INTERNAL_SERVER_ERROR, "Unable to load project results.", e);
     }
     if (rtn == null) {
       throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unable to find result.");
@@ -299,10 +656,11 @@ public class ProjectController {
     return rtn;
   }
 
-  static Collection<Result> getProjectResults(final Project project) {
+  static Collection<Result> getProjectResults(
+      final ProjectResultsCache cache, final Project project) {
     Collection<Result> rtn = null;
     try {
-      rtn = project.getResults();
+      rtn = cache.getResults(project);
     } catch (IOException e) {
       throw new ResponseStatusException(
           HttpStatus.INTERNAL_SERVER_ERROR, "Unable to load project results.", e);
@@ -311,49 +669,124 @@ public class ProjectController {
   }
 
   /**
-   * Get all results in a project.
+   * Get the results in a project, optionally only those in a category or whose file name matches
+   * a glob, sorted, and a page of them. The number of results before paging is sent in the {@code
+   * X-Total-Count} header.
    *
    * @param user The user to whom the project belongs.
    * @param projectName The name of the project.
-   * @return All the results in a project.
+   * @param category The category of results, e.g. {@code structure}, or null for all results.
+   * @param glob A glob the file name of a result must match, e.g. {@code *_dpl.csv}, or null.
+   * @param sort The order of the results, either {@code order}, the order in which they were
+   *     produced, or {@code name}, by file name.
+   * @param direction The direction of the order, either {@code asc} or {@code desc}.
+   * @param offset The number of results to skip.
+   * @param limit The largest number of results to return, or null for all of them.
+   * @return The page of results.
    * @throws ResourceNotFoundException Unable to find project or load results.
    */
   @RequestMapping(
       method = RequestMethod.GET,
       value = "/projects/{project-name}/results",
       produces = MediaType.APPLICATION_JSON_VALUE)
-  public Collection<Result> getProjectResults(
-      final ApplicationUser user, @PathVariable(value = "project-name") final String projectName)
+  public ResponseEntity<Collection<Result>> getProjectResults(
+      final ApplicationUser user,
+      @PathVariable(value = "project-name") final String projectName,
+      @RequestParam(value = "category", required = false) final String category,
+      @RequestParam(value = "name", required = false) final String glob,
+      @RequestParam(value = "sort", defaultValue = "order") final String sort,
+      @RequestParam(value = "direction", defaultValue = "asc") final String direction,
+      @RequestParam(value = "offset", defaultValue = "0") final int offset,
+      @RequestParam(value = "limit", required = false) final Integer limit)
       throws ResourceNotFoundException {
-    Collection<Result> rtn = null;
+    if (offset < 0 || (limit != null && limit < 0)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid offset or limit.");
+    }
+    if (!sort.equals("order") && !sort.equals("name")) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid sort.");
+    }
+    final Sort.Direction dir;
+    try {
+      dir = Sort.Direction.fromString(direction);
+    } catch (final IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid direction.", e);
+    }
+    PathMatcher matcher = null;
+    if (glob != null) {
+      try {
+        matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+      } catch (final IllegalArgumentException e) {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid name pattern.", e);
+      }
+    }
     final Project project = getProject(projectName, user);
-    rtn = getProjectResults(project);
-    return rtn;
+    Collection<Result> results = null;
+    if (category == null) {
+      results = getProjectResults(projectResultsCache, project);
+    } else {
+      try {
+        results = projectResultsCache.getResults(project, category);
+      } catch (IOException e) {
+        throw new ResponseStatusException(
+            HttpStatus.INTERNAL_SERVER_ERROR, "Unable to load project results.", e);
+      }
+      if (results == null) {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown result category.");
+      }
+    }
+    final List<Result> rtn = new ArrayList<>();
+    for (final Result r : results) {
+      if (matcher == null || matcher.matches(Paths.get(r.getFile().getName()))) {
+        rtn.add(r);
+      }
+    }
+    if (sort.equals("name")) {
+      rtn.sort(Comparator.comparing(r -> r.getFile().getName()));
+    }
+    if (dir.isDescending()) {
+      Collections.reverse(rtn);
+    }
+    final int from = Math.min(offset, rtn.size());
+    final int to = limit == null ? rtn.size() : (int) Math.min((long) from + limit, rtn.size());
+    return ResponseEntity.ok()
+        .header("X-Total-Count", Integer.toString(rtn.size()))
+        .body(new ArrayList<>(rtn.subList(from, to)));
   }
 
   /**
-   * Get a project result as binary data.
+   * Get a project result as binary data, streamed from disk. Ranges and conditional requests are
+   * honoured, and text results are sent compressed to clients that accept {@code gzip}.
    *
    * @param user The user to whom the project belongs.
    * @param projectName The name of the project.
    * @param fileName The filename of the result.
-   * @return A byte array of the result content.
+   * @param request The request.
+   * @param response The response, to which the result content is written.
    * @throws ResourceNotFoundException Could not find the result.
    * @throws IOException Could not read result.
    */
-  @ResponseBody
   @RequestMapping(
       method = RequestMethod.GET,
       value = "/projects/{project-name}/results/{file-name}",
       produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
-  public byte[] getResult(
+  public void getResult(
       final ApplicationUser user,
       @PathVariable(value = "project-name") final String projectName,
-      @PathVariable(value = "file-name") final String fileName)
+      @PathVariable(value = "file-name") final String fileName,
+      final HttpServletRequest request,
+      final HttpServletResponse response)
       throws ResourceNotFoundException, IOException {
     final Project project = getProject(projectName, user);
-    final Result r = getProjectResult(fileName, project);
-    final InputStream is = new FileInputStream(r.getFile());
-    return IOUtils.toByteArray(is);
+    final Result r = getProjectResult(projectResultsCache, fileName, project);
+    final File file = r.getFile();
+    if (!file.isFile()) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unable to find result file.");
+    }
+    FileTransferUtils.sendFile(
+        request,
+        response,
+        file,
+        MediaType.APPLICATION_OCTET_STREAM_VALUE,
+        CompressionUtils.isCompressible(file.getName()));
   }
 }
@@ -26,17 +26,30 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.cellocad.v2.webapp.common.FileTransferUtils;
 import org.cellocad.v2.webapp.exception.CelloWebException;
 import org.cellocad.v2.webapp.resource.ApplicationResourceUtils;
+import org.cellocad.v2.webapp.resource.DescriptorStore;
+import org.cellocad.v2.webapp.resource.TargetDataCache;
+import org.cellocad.v2.webapp.resource.TargetDataCacheStats;
+import org.cellocad.v2.webapp.resource.TargetDataDocument;
+import org.cellocad.v2.webapp.resource.TargetDataEntry;
+import org.cellocad.v2.webapp.resource.TargetDataKind;
+import org.cellocad.v2.webapp.resource.TargetDataResolver;
 import org.cellocad.v2.webapp.resource.UserResourceUtils;
 import org.cellocad.v2.webapp.resource.library.InputSensorFileDescriptor;
 import org.cellocad.v2.webapp.resource.library.OutputDeviceFileDescriptor;
@@ -48,7 +61,6 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
@@ -67,9 +79,25 @@ public class ResourceController {
     return LogManager.getLogger(ResourceController.class);
   }
 
+  private final DescriptorStore descriptorStore;
+  private final TargetDataCache targetDataCache;
+
+  /**
+   * Initialize the controller.
+   *
+   * @param descriptorStore The store of target data descriptors.
+   * @param targetDataCache The cache of parsed target data files.
+   */
+  public ResourceController(
+      final DescriptorStore descriptorStore, final TargetDataCache targetDataCache) {
+    this.descriptorStore = descriptorStore;
+    this.targetDataCache = targetDataCache;
+  }
+
   @PostConstruct
-  private static void init() throws IOException {
-    ApplicationResourceUtils.initApplicationResources();
+  private void init() throws IOException {
+    ApplicationResourceUtils.initApplicationResources(descriptorStore);
+    UserResourceUtils.migrateTargetDataFiles(descriptorStore);
     getLogger().debug("Resource initialization completed.");
   }
 
@@ -86,7 +114,7 @@ public class ResourceController {
   public Collection<UserConstraintsFileDescriptor> getUserConstraintsFiles(
       final ApplicationUser user) throws IOException {
     Collection<UserConstraintsFileDescriptor> rtn = new ArrayList<>();
-    rtn = UserResourceUtils.getAllUserConstraintsFileDescriptors(user);
+    rtn = UserResourceUtils.getAllUserConstraintsFileDescriptors(descriptorStore, user);
     return rtn;
   }
 
@@ -100,7 +128,7 @@ public class ResourceController {
   public void addUserConstraintsFile(
       final ApplicationUser user, @RequestParam("file") MultipartFile file) {
     try {
-      UserResourceUtils.addUserConstraintsFile(user, file);
+      UserResourceUtils.addUserConstraintsFile(descriptorStore, user, file);
     } catch (JsonGenerationException e) {
       throw new ResponseStatusException(
           HttpStatus.INTERNAL_SERVER_ERROR, "Unable to generate JSON metadata for file.", e);
@@ -122,19 +150,58 @@ public class ResourceController {
   }
 
   /**
-   * Get a user constraints file.
+   * Get a user constraints file. It is streamed with a strong entity tag, so that a client
+   * holding the current version gets 304, and a single byte range may be requested.
    *
    * @param user The user the file belongs to.
+   * @param fileName The file name.
+   * @param request The request.
+   * @param response The response.
    * @throws IOException Unable to read file.
    */
   @RequestMapping(
       method = RequestMethod.GET,
       value = "/user-constraints-files/{file-name}",
       produces = {MediaType.APPLICATION_OCTET_STREAM_VALUE})
-  public byte[] getUserConstraintsFile(
-      final ApplicationUser user, @PathVariable(value = "file-name") final String fileName)
+  public void getUserConstraintsFile(
+      final ApplicationUser user,
+      @PathVariable(value = "file-name") final String fileName,
+      final HttpServletRequest request,
+      final HttpServletResponse response)
       throws IOException {
-    return UserResourceUtils.getUserConstraintsFile(user, fileName);
+    final Path path =
+        TargetDataResolver.resolve(
+            descriptorStore, user, TargetDataKind.USER_CONSTRAINTS, fileName);
+    if (path == null) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found.");
+    }
+    FileTransferUtils.sendFile(
+        request, response, path.toFile(), MediaType.APPLICATION_OCTET_STREAM_VALUE);
+  }
+
+  /**
+   * Get the objects of a collection of a user constraints file, e.g. its gates, or the one object
+   * with the given name. The file is parsed once, and then served from the cache of parsed target
+   * data files.
+   *
+   * @param user The user the file belongs to.
+   * @param fileName The file name.
+   * @param collection The name of the collection.
+   * @param name The name of the object to get, or null to get every object of the collection.
+   * @return The objects.
+   * @throws IOException Unable to read or parse the file.
+   */
+  @RequestMapping(
+      method = RequestMethod.GET,
+      value = "/user-constraints-files/{file-name}/collections/{collection}",
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public ArrayNode getUserConstraintsFileCollection(
+      final ApplicationUser user,
+      @PathVariable(value = "file-name") final String fileName,
+      @PathVariable(value = "collection") final String collection,
+      @RequestParam(value = "name", required = false) final String name)
+      throws IOException {
+    return getCollection(user, TargetDataKind.USER_CONSTRAINTS, fileName, collection, name);
   }
 
   /**
@@ -147,7 +214,7 @@ public class ResourceController {
   public void deleteUserConstraintsFile(
       final ApplicationUser user, @PathVariable(value = "file-name") final String fileName) {
     try {
-      UserResourceUtils.deleteUserConstraintsFile(user, fileName);
+      UserResourceUtils.deleteUserConstraintsFile(descriptorStore, user, fileName);
     } catch (FileNotFoundException e) {
       throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found.", e);
     } catch (JsonGenerationException e) {
@@ -175,7 +242,7 @@ public class ResourceController {
   public Collection<InputSensorFileDescriptor> getInputSensorFiles(final ApplicationUser user)
       throws IOException {
     Collection<InputSensorFileDescriptor> rtn = new ArrayList<>();
-    rtn = UserResourceUtils.getAllInputSensorFileDescriptors(user);
+    rtn = UserResourceUtils.getAllInputSensorFileDescriptors(descriptorStore, user);
     return rtn;
   }
 
@@ -191,7 +258,7 @@ public class ResourceController {
       final ApplicationUser user, @RequestParam("file") MultipartFile file)
       throws CelloWebException {
     try {
-      UserResourceUtils.addInputSensorFile(user, file);
+      UserResourceUtils.addInputSensorFile(descriptorStore, user, file);
     } catch (JsonGenerationException e) {
       throw new ResponseStatusException(
           HttpStatus.INTERNAL_SERVER_ERROR, "Unable to generate JSON metadata for file.", e);
@@ -207,20 +274,56 @@ public class ResourceController {
   }
 
   /**
-   * Get an input sensor file.
+   * Get an input sensor file. It is streamed with a strong entity tag, so that a client
+   * holding the current version gets 304, and a single byte range may be requested.
    *
    * @param user The user the file belongs to.
+   * @param fileName The file name.
+   * @param request The request.
+   * @param response The response.
    * @throws IOException Unable to read file.
    */
-  @ResponseBody
   @RequestMapping(
       method = RequestMethod.GET,
       value = "/input-sensor-files/{file-name}",
       produces = {MediaType.APPLICATION_OCTET_STREAM_VALUE})
-  public byte[] getInputSensorFile(
-      final ApplicationUser user, @PathVariable(value = "file-name") final String fileName)
+  public void getInputSensorFile(
+      final ApplicationUser user,
+      @PathVariable(value = "file-name") final String fileName,
+      final HttpServletRequest request,
+      final HttpServletResponse response)
       throws IOException {
-    return UserResourceUtils.getInputSensorFile(user, fileName);
+    final Path path =
+        TargetDataResolver.resolve(descriptorStore, user, TargetDataKind.INPUT_SENSOR, fileName);
+    if (path == null) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found.");
+    }
+    FileTransferUtils.sendFile(
+        request, response, path.toFile(), MediaType.APPLICATION_OCTET_STREAM_VALUE);
+  }
+
+  /**
+   * Get the objects of a collection of an input sensor file, or the one object with the given
+   * name, from the cache of parsed target data files.
+   *
+   * @param user The user the file belongs to.
+   * @param fileName The file name.
+   * @param collection The name of the collection.
+   * @param name The name of the object to get, or null to get every object of the collection.
+   * @return The objects.
+   * @throws IOException Unable to read or parse the file.
+   */
+  @RequestMapping(
+      method = RequestMethod.GET,
+      value = "/input-sensor-files/{file-name}/collections/{collection}",
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public ArrayNode getInputSensorFileCollection(
+      final ApplicationUser user,
+      @PathVariable(value = "file-name") final String fileName,
+      @PathVariable(value = "collection") final String collection,
+      @RequestParam(value = "name", required = false) final String name)
+      throws IOException {
+    return getCollection(user, TargetDataKind.INPUT_SENSOR, fileName, collection, name);
   }
 
   /**
@@ -232,7 +335,7 @@ public class ResourceController {
   public void deleteInputSensorFile(
       final ApplicationUser user, @PathVariable(value = "file-name") final String fileName) {
     try {
-      UserResourceUtils.deleteInputSensorFile(user, fileName);
+      UserResourceUtils.deleteInputSensorFile(descriptorStore, user, fileName);
     } catch (FileNotFoundException e) {
       throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found.", e);
     } catch (JsonGenerationException e) {
@@ -260,7 +363,7 @@ public class ResourceController {
   public Collection<OutputDeviceFileDescriptor> getOutputDeviceFiles(final ApplicationUser user)
       throws IOException {
     Collection<OutputDeviceFileDescriptor> rtn = new ArrayList<>();
-    rtn = UserResourceUtils.getAllOutputDeviceFileDescriptors(user);
+    rtn = UserResourceUtils.getAllOutputDeviceFileDescriptors(descriptorStore, user);
     return rtn;
   }
 
@@ -276,7 +379,7 @@ public class ResourceController {
       final ApplicationUser user, @RequestParam("file") MultipartFile file)
       throws CelloWebException {
     try {
-      UserResourceUtils.addOutputDeviceFile(user, file);
+      UserResourceUtils.addOutputDeviceFile(descriptorStore, user, file);
     } catch (JsonGenerationException e) {
       throw new ResponseStatusException(
           HttpStatus.INTERNAL_SERVER_ERROR, "Unable to generate JSON metadata for file.", e);
@@ -292,19 +395,56 @@ public class ResourceController {
   }
 
   /**
-   * Get an output device file.
+   * Get an output device file. It is streamed with a strong entity tag, so that a client
+   * holding the current version gets 304, and a single byte range may be requested.
    *
    * @param user The user the file belongs to.
+   * @param fileName The file name.
+   * @param request The request.
+   * @param response The response.
    * @throws IOException Unable to read file.
    */
   @RequestMapping(
       method = RequestMethod.GET,
       value = "/output-device-files/{file-name}",
       produces = {MediaType.APPLICATION_OCTET_STREAM_VALUE})
-  public byte[] getOutputDeviceFile(
-      final ApplicationUser user, @PathVariable(value = "file-name") final String fileName)
+  public void getOutputDeviceFile(
+      final ApplicationUser user,
+      @PathVariable(value = "file-name") final String fileName,
+      final HttpServletRequest request,
+      final HttpServletResponse response)
       throws IOException {
-    return UserResourceUtils.getOutputDeviceFile(user, fileName);
+    final Path path =
+        TargetDataResolver.resolve(descriptorStore, user, TargetDataKind.OUTPUT_DEVICE, fileName);
+    if (path == null) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found.");
+    }
+    FileTransferUtils.sendFile(
+        request, response, path.toFile(), MediaType.APPLICATION_OCTET_STREAM_VALUE);
+  }
+
+  /**
+   * Get the objects of a collection of an output device file, or the one object with the given
+   * name, from the cache of parsed target data files.
+   *
+   * @param user The user the file belongs to.
+   * @param fileName The file name.
+   * @param collection The name of the collection.
+   * @param name The name of the object to get, or null to get every object of the collection.
+   * @return The objects.
+   * @throws IOException Unable to read or parse the file.
+   */
+  @RequestMapping(
+      method = RequestMethod.GET,
+      value = "/output-device-files/{file-name}/collections/{collection}",
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public ArrayNode getOutputDeviceFileCollection(
+      final ApplicationUser user,
+      @PathVariable(value = "file-name") final String fileName,
+      @PathVariable(value = "collection") final String collection,
+      @RequestParam(value = "name", required = false) final String name)
+      throws IOException {
+    return getCollection(user, TargetDataKind.OUTPUT_DEVICE, fileName, collection, name);
   }
 
   /**
@@ -316,7 +456,7 @@ public class ResourceController {
   public void deleteOutputDeviceFile(
       final ApplicationUser user, @PathVariable(value = "file-name") final String fileName) {
     try {
-      UserResourceUtils.deleteOutputDeviceFile(user, fileName);
+      UserResourceUtils.deleteOutputDeviceFile(descriptorStore, user, fileName);
     } catch (FileNotFoundException e) {
       throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found.", e);
     } catch (JsonGenerationException e) {
@@ -331,6 +471,46 @@ public class ResourceController {
     }
   }
 
+  private ArrayNode getCollection(
+      final ApplicationUser user,
+      final TargetDataKind kind,
+      final String fileName,
+      final String collection,
+      final String name)
+      throws IOException {
+    final TargetDataDocument document =
+        TargetDataResolver.getDocument(descriptorStore, targetDataCache, user, kind, fileName);
+    if (document == null) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found.");
+    }
+    final ArrayNode rtn = JsonNodeFactory.instance.arrayNode();
+    if (name != null) {
+      final TargetDataEntry entry = document.getEntry(collection, name);
+      if (entry == null) {
+        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Object not found.");
+      }
+      rtn.add(entry.toJson());
+    } else {
+      for (final TargetDataEntry entry : document.getEntries(collection)) {
+        rtn.add(entry.toJson());
+      }
+    }
+    return rtn;
+  }
+
+  /**
+   * Get the size of the cache of parsed target data files and its hit rate.
+   *
+   * @return The cache statistics.
+   */
+  @RequestMapping(
+      method = RequestMethod.GET,
+      value = "/cache",
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public TargetDataCacheStats getCacheStats() {
+    return targetDataCache.getStats();
+  }
+
   /**
    * Get the available settings for all applications.
    *
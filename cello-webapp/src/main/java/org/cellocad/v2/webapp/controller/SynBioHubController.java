@@ -23,23 +23,26 @@
 package org.cellocad.v2.webapp.controller;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.nio.file.Files;
 import java.util.Collections;
+import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.cellocad.v2.results.common.Result;
+import org.cellocad.v2.webapp.common.CompressionUtils;
 import org.cellocad.v2.webapp.exception.ResourceNotFoundException;
 import org.cellocad.v2.webapp.project.Project;
+import org.cellocad.v2.webapp.project.ProjectResultsCache;
 import org.cellocad.v2.webapp.synbiohub.ExistingCollectionDescriptor;
 import org.cellocad.v2.webapp.synbiohub.NewCollectionDescriptor;
 import org.cellocad.v2.webapp.synbiohub.SynBioHubSubmission;
 import org.cellocad.v2.webapp.user.ApplicationUser;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -75,10 +78,19 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 @RequestMapping("/synbiohub")
 public class SynBioHubController {
 
+  @Autowired private ProjectResultsCache projectResultsCache;
+
   private static Logger getLogger() {
     return LogManager.getLogger(SynBioHubController.class);
   }
 
+  /** Read the content of a result, which may be stored compressed. */
+  private static byte[] readResult(final Result r) throws IOException {
+    try (InputStream is = CompressionUtils.newInputStream(r.getFile().toPath())) {
+      return IOUtils.toByteArray(is);
+    }
+  }
+
   /**
    * User login to a SynBioHub.
    *
@@ -222,8 +234,16 @@ public class SynBioHubController {
     map.add("overwrite_merge", request.getCollection().getOverwrite().getValue());
 
     final Project project = ProjectController.getProject(request.getProjectName(), user);
-    final Result r = ProjectController.getProjectResult(request.getResultName(), project);
-    map.add("file", new FileSystemResource(r.getFile()));
+    final Result r = ProjectController.getProjectResult(
+        projectResultsCache, request.getResultName(), project);
+    map.add(
+        "file",
+        new ByteArrayResource(readResult(r)) {
+          @Override
+          public String getFilename() {
+            return r.getFile().getName();
+          }
+        });
 
     // entity
     final HttpEntity<?> entity = new HttpEntity<>(map, headers);
@@ -271,8 +291,9 @@ public class SynBioHubController {
     map.add("user", token);
 
     final Project project = ProjectController.getProject(request.getProjectName(), user);
-    final Result r = ProjectController.getProjectResult(request.getResultName(), project);
-    map.add("file", new ByteArrayResource(Files.readAllBytes(r.getFile().toPath())));
+    final Result r = ProjectController.getProjectResult(
+        projectResultsCache, request.getResultName(), project);
+    map.add("file", new ByteArrayResource(readResult(r)));
 
     // entity
     final HttpEntity<?> entity = new HttpEntity<>(map, headers);
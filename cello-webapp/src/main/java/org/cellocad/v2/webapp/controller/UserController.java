@@ -35,6 +35,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.cellocad.v2.webapp.common.Utils;
 import org.cellocad.v2.webapp.exception.CelloWebException;
+import org.cellocad.v2.webapp.resource.DescriptorStore;
 import org.cellocad.v2.webapp.security.SecurityConstants;
 import org.cellocad.v2.webapp.user.ApplicationUser;
 import org.cellocad.v2.webapp.user.ApplicationUserRepository;
@@ -58,12 +59,18 @@ public class UserController {
 
   private ApplicationUserRepository applicationUserRepository;
   private BCryptPasswordEncoder bCryptPasswordEncoder;
+  private Algorithm tokenAlgorithm;
+  private DescriptorStore descriptorStore;
 
   public UserController(
       final ApplicationUserRepository applicationUserRepository,
-      final BCryptPasswordEncoder bCryptPasswordEncoder) {
+      final BCryptPasswordEncoder bCryptPasswordEncoder,
+      final Algorithm tokenAlgorithm,
+      final DescriptorStore descriptorStore) {
     this.applicationUserRepository = applicationUserRepository;
     this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+    this.tokenAlgorithm = tokenAlgorithm;
+    this.descriptorStore = descriptorStore;
   }
 
   private static Logger getLogger() {
@@ -103,7 +110,7 @@ public class UserController {
     }
     applicationUserRepository.save(user);
     try {
-      UserUtils.initUserDirectory(user);
+      UserUtils.initUserDirectory(descriptorStore, user);
     } catch (IOException e) {
       throw new CelloWebException("Unable to initialize user.");
     }
@@ -111,7 +118,7 @@ public class UserController {
         JWT.create()
             .withSubject(user.getUsername())
             .withExpiresAt(new Date(System.currentTimeMillis() + SecurityConstants.EXPIRATION_TIME))
-            .sign(Algorithm.HMAC512(SecurityConstants.SECRET.getBytes()));
+            .sign(tokenAlgorithm);
     res.addHeader(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + token);
   }
 }
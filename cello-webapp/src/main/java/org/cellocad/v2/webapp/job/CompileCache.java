@@ -0,0 +1,377 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import javax.annotation.PostConstruct;
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cellocad.v2.webapp.ApplicationUtils;
+import org.cellocad.v2.webapp.common.HashUtils;
+import org.cellocad.v2.webapp.project.Project;
+import org.cellocad.v2.webapp.project.ProjectUtils;
+import org.cellocad.v2.webapp.specification.Specification;
+import org.cellocad.v2.webapp.specification.constraints.Constraints;
+import org.cellocad.v2.webapp.specification.library.TargetDataLibraryResource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * A content-addressed cache of compile outputs. Results are keyed by a canonical hash of the
+ * project specification and the content of its target data files, so a resubmitted design is
+ * restored from the cache instead of being compiled again.
+ *
+ * <p>Each entry is a directory holding the outputs of one project, which are hard-linked (or copied
+ * where links are unsupported) into a new project. File names that start with the original project
+ * name are renamed for the new project. Entries are evicted least recently used first once the
+ * cache grows beyond its maximum size.
+ *
+ * <p>A linked output shares its inode with the entry and with every project restored from it, so
+ * project outputs must never be written in place once stored or restored: a change must write a
+ * new file and move it over the old one, as {@link
+ * org.cellocad.v2.webapp.common.CompressionUtils#compress(java.nio.file.Path)} does. The job log
+ * is the one output that is appended to, so it is always copied rather than linked.
+ *
+ * <p>Nodes may share the cache directory, so its contents, not the entries seen by one node, are
+ * what is accounted and evicted: an entry is used when its directory is touched, and every node
+ * evicts by modification time across all entries. An entry evicted by another node while it is
+ * being restored is treated as a miss.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+@Component
+public class CompileCache {
+
+  private static final String METADATA = ".cache.json";
+  private static final String RESULTS = "results.json";
+  private static final String NAME = "name";
+  private static final String FILE = "file";
+  /** The age after which a partly stored entry is taken to be left by a stopped node. */
+  private static final long STALE_TMP = 60 * 60 * 1000;
+
+  private final boolean enabled;
+  private final File directory;
+  private final long maxSize;
+  private final ObjectMapper mapper = new ObjectMapper();
+  /** The sizes of the entries on disk, which do not change once stored. */
+  private final Map<String, Long> entries = new HashMap<>();
+  private long size;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  /**
+   * Initialize the cache.
+   *
+   * @param enabled Whether results are cached.
+   * @param directory The cache directory. Defaults to {@code cache/results} in the application
+   *     directory if empty.
+   * @param maxSize The size, in megabytes, above which results are evicted.
+   */
+  public CompileCache(
+      @Value("${cello.cache.results.enabled:true}") final boolean enabled,
+      @Value("${cello.cache.results.directory:}") final String directory,
+      @Value("${cello.cache.results.max-size-mb:1024}") final long maxSize) {
+    this.enabled = enabled;
+    this.directory =
+        directory.isEmpty()
+            ? new File(ApplicationUtils.getApplicationDirectory(), "cache/results")
+            : new File(directory);
+    this.maxSize = maxSize * 1024 * 1024;
+  }
+
+  private static Logger getLogger() {
+    return LogManager.getLogger(CompileCache.class);
+  }
+
+  /**
+   * Compute the cache key of a specification whose target data files have been resolved. Settings
+   * and constraints are hashed in key order, so the order in which they were given does not matter.
+   * The target data files are represented by their hashes, e.g. from their descriptors, so they are
+   * not read again.
+   *
+   * @param specification The specification.
+   * @param hashes The hashes of the uncompressed content of the user constraints, input sensor, and
+   *     output device files, in order.
+   * @return The key, or null if the specification cannot be cached.
+   */
+  public static String getKey(final Specification specification, final List<String> hashes) {
+    if (!(specification.getLibraryResource() instanceof TargetDataLibraryResource)
+        || specification.getSettings() == null
+        || specification.getVerilog() == null) {
+      return null;
+    }
+    final MessageDigest digest = HashUtils.getSha256Digest();
+    HashUtils.update(digest, specification.getSettings().getApplication());
+    HashUtils.update(digest, specification.getVerilog().replace("\r\n", "\n"));
+    update(digest, specification.getSettings().getSettings());
+    final Constraints constraints = specification.getConstraints();
+    update(digest, constraints != null ? constraints.getSensors() : null);
+    update(digest, constraints != null ? constraints.getReporters() : null);
+    for (final String hash : hashes) {
+      HashUtils.update(digest, hash);
+    }
+    return HashUtils.toHex(digest.digest());
+  }
+
+  private static void update(final MessageDigest digest, final Map<String, String> map) {
+    final Map<String, String> sorted = map == null ? new TreeMap<>() : new TreeMap<>(map);
+    HashUtils.update(digest, Integer.toString(sorted.size()));
+    for (final Map.Entry<String, String> e : sorted.entrySet()) {
+      HashUtils.update(digest, e.getKey());
+      HashUtils.update(digest, e.getValue());
+    }
+  }
+
+  /** Load the entries already on disk, and remove incomplete ones left by a stopped node. */
+  @PostConstruct
+  public synchronized void init() {
+    if (!enabled) {
+      return;
+    }
+    directory.mkdirs();
+    final File[] files = directory.listFiles();
+    if (files == null) {
+      return;
+    }
+    // another node may still be storing a recent one
+    final long stale = System.currentTimeMillis() - STALE_TMP;
+    for (final File file : files) {
+      if (file.getName().startsWith(".") && file.lastModified() < stale) {
+        FileUtils.deleteQuietly(file);
+      }
+    }
+    evict();
+    getLogger()
+        .info(String.format("Loaded %d cached results (%d bytes).", entries.size(), size));
+  }
+
+  /**
+   * Restore cached outputs into a project directory.
+   *
+   * @param key The cache key, or null.
+   * @param project The project, whose input files have already been written.
+   * @return True if the outputs were restored, false on a miss.
+   * @throws IOException Unable to restore the outputs.
+   */
+  public synchronized boolean restore(final String key, final Project project)
+      throws IOException {
+    if (!enabled || key == null) {
+      return false;
+    }
+    final File entry = new File(directory, key);
+    final List<File> restored = new ArrayList<>();
+    try {
+      final File[] files = entry.listFiles();
+      if (files == null) {
+        misses++;
+        return false;
+      }
+      entry.setLastModified(System.currentTimeMillis());
+      final JsonNode metadata = mapper.readTree(new File(entry, METADATA));
+      final String from = metadata.get(NAME).asText();
+      final String to = project.getName();
+      final File target = new File(project.getFilepath());
+      for (final File file : files) {
+        final String name = file.getName();
+        if (name.equals(METADATA)) {
+          continue;
+        }
+        final File dst = new File(target, rename(name, from, to));
+        if (dst.exists()) {
+          continue;
+        }
+        restored.add(dst);
+        if (name.equals(RESULTS)) {
+          writeResults(file, dst, from, to);
+        } else if (name.equals(JobLogUtils.LOG_FILE)) {
+          Files.copy(file.toPath(), dst.toPath());
+        } else {
+          linkOrCopy(file, dst);
+        }
+      }
+    } catch (final FileNotFoundException | NoSuchFileException e) {
+      // incomplete, or evicted by another node sharing the cache directory
+      restored.forEach(FileUtils::deleteQuietly);
+      misses++;
+      return false;
+    }
+    hits++;
+    return true;
+  }
+
+  /**
+   * Store the outputs of a successful project. Its input files are not stored.
+   *
+   * @param key The cache key, or null.
+   * @param project The project.
+   * @throws IOException Unable to store the outputs.
+   */
+  public void store(final String key, final Project project) throws IOException {
+    if (!enabled || key == null || new File(directory, key).exists()) {
+      return;
+    }
+    final Set<String> inputs = new HashSet<>();
+    inputs.add(project.getVerilogFile());
+    inputs.add(project.getOptionsFile());
+    inputs.add(project.getNetlistConstraintFile());
+    final File tmp = new File(directory, "." + key + "-" + UUID.randomUUID());
+    try {
+      tmp.mkdirs();
+      final File[] files = new File(project.getFilepath()).listFiles();
+      if (files == null) {
+        return;
+      }
+      for (final File file : files) {
+        if (inputs.contains(file.getAbsolutePath()) || ProjectUtils.isArchive(file)) {
+          continue;
+        }
+        final File dst = new File(tmp, file.getName());
+        if (file.getName().equals(JobLogUtils.LOG_FILE)) {
+          // the log may still be appended to, so it must not share an inode
+          Files.copy(file.toPath(), dst.toPath());
+        } else {
+          linkOrCopy(file, dst);
+        }
+      }
+      final ObjectNode metadata = mapper.createObjectNode();
+      metadata.put(NAME, project.getName());
+      mapper.writeValue(new File(tmp, METADATA), metadata);
+      final long s = FileUtils.sizeOfDirectory(tmp);
+      if (s > maxSize) {
+        return;
+      }
+      try {
+        Files.move(tmp.toPath(), new File(directory, key).toPath());
+      } catch (final FileAlreadyExistsException e) {
+        // stored meanwhile, by this node or another
+        return;
+      }
+      synchronized (this) {
+        entries.put(key, s);
+        evict();
+      }
+    } finally {
+      FileUtils.deleteQuietly(tmp);
+    }
+  }
+
+  /**
+   * Get a snapshot of the cache.
+   *
+   * @return The cache statistics.
+   */
+  public synchronized CompileCacheStats getStats() {
+    if (enabled) {
+      scan();
+    }
+    return new CompileCacheStats(entries.size(), size, maxSize, hits, misses, evictions);
+  }
+
+  /**
+   * List the entries on disk, least recently used first, including those stored or evicted by
+   * other nodes, and recompute the size of the cache.
+   */
+  private List<File> scan() {
+    final File[] files = directory.listFiles(f -> !f.getName().startsWith("."));
+    final List<File> rtn = new ArrayList<>();
+    if (files != null) {
+      rtn.addAll(Arrays.asList(files));
+    }
+    final Map<File, Long> modified = new HashMap<>();
+    rtn.forEach(f -> modified.put(f, f.lastModified()));
+    rtn.sort(Comparator.comparing(modified::get));
+    final Set<String> names = new HashSet<>();
+    size = 0;
+    for (final File file : rtn) {
+      names.add(file.getName());
+      size += entries.computeIfAbsent(file.getName(), k -> FileUtils.sizeOfDirectory(file));
+    }
+    entries.keySet().retainAll(names);
+    return rtn;
+  }
+
+  /** Evict the least recently used entries, by any node, until the cache fits. */
+  private void evict() {
+    final Iterator<File> it = scan().iterator();
+    while (size > maxSize && it.hasNext()) {
+      final File file = it.next();
+      FileUtils.deleteQuietly(file);
+      size -= entries.remove(file.getName());
+      evictions++;
+    }
+  }
+
+  private static String rename(final String name, final String from, final String to) {
+    return name.startsWith(from) ? to + name.substring(from.length()) : name;
+  }
+
+  /** Rewrite the file names in a results descriptor for the new project. */
+  private void writeResults(final File src, final File dst, final String from, final String to)
+      throws IOException {
+    final JsonNode results = mapper.readTree(src);
+    for (final JsonNode result : results) {
+      final JsonNode file = result.get(FILE);
+      if (result.isObject() && file != null && file.isTextual()) {
+        final String name = new File(file.asText()).getName();
+        ((ObjectNode) result).put(FILE, rename(name, from, to));
+      }
+    }
+    mapper.writeValue(dst, results);
+  }
+
+  private static void linkOrCopy(final File src, final File dst) throws IOException {
+    if (src.isDirectory()) {
+      FileUtils.copyDirectory(src, dst);
+      return;
+    }
+    final Path s = src.toPath();
+    final Path d = dst.toPath();
+    try {
+      Files.createLink(d, s);
+    } catch (final IOException | UnsupportedOperationException e) {
+      Files.copy(s, d, StandardCopyOption.COPY_ATTRIBUTES);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.job;
+
+/**
+ * A snapshot of the compile result cache.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class CompileCacheStats {
+
+  private final int entries;
+  private final long size;
+  private final long maxSize;
+  private final long hits;
+  private final long misses;
+  private final long evictions;
+
+  /**
+   * Initialize a snapshot.
+   *
+   * @param entries The number of cached results.
+   * @param size The size, in bytes, of the cached results.
+   * @param maxSize The size, in bytes, above which results are evicted.
+   * @param hits The number of lookups that found a result since startup.
+   * @param misses The number of lookups that found no result since startup.
+   * @param evictions The number of results evicted since startup.
+   */
+  public CompileCacheStats(
+      final int entries,
+      final long size,
+      final long maxSize,
+      final long hits,
+      final long misses,
+      final long evictions) {
+    this.entries = entries;
+    this.size = size;
+    this.maxSize = maxSize;
+    this.hits = hits;
+    this.misses = misses;
+    this.evictions = evictions;
+  }
+
+  /**
+   * Getter for {@code entries}.
+   *
+   * @return The value of {@code entries}.
+   */
+  public int getEntries() {
+    return entries;
+  }
+
+  /**
+   * Getter for {@code size}.
+   *
+   * @return The value of {@code size}.
+   */
+  public long getSize() {
+    return size;
+  }
+
+  /**
+   * Getter for {@code maxSize}.
+   *
+   * @return The value of {@code maxSize}.
+   */
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Getter for {@code hits}.
+   *
+   * @return The value of {@code hits}.
+   */
+  public long getHits() {
+    return hits;
+  }
+
+  /**
+   * Getter for {@code misses}.
+   *
+   * @return The value of {@code misses}.
+   */
+  public long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Getter for {@code evictions}.
+   *
+   * @return The value of {@code evictions}.
+   */
+  public long getEvictions() {
+    return evictions;
+  }
+}
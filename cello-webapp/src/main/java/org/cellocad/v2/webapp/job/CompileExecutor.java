@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.job;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The application-wide executor on which all compile jobs run. The number of workers is capped by
+ * the number of available processors and by the memory each job is expected to need, and the
+ * executor rejects work once its queue is full.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+@Component
+public class CompileExecutor {
+
+  private static final String THREAD_PREFIX = "cello-compile-";
+
+  private final ThreadPoolExecutor executor;
+  private final int queueCapacity;
+
+  /**
+   * Initialize the compile executor.
+   *
+   * @param workers The number of workers. If not positive, the number is derived from the number
+   *     of processors and the maximum heap size.
+   * @param queueCapacity The number of jobs that may wait for a worker.
+   * @param memoryPerJob The heap, in megabytes, that a single job is expected to need.
+   */
+  public CompileExecutor(
+      @Value("${cello.jobs.workers:0}") final int workers,
+      @Value("${cello.jobs.queue-capacity:100}") final int queueCapacity,
+      @Value("${cello.jobs.memory-per-job-mb:1024}") final long memoryPerJob) {
+    final int n = workers > 0 ? workers : getDefaultWorkers(memoryPerJob);
+    this.queueCapacity = queueCapacity;
+    this.executor =
+        new ThreadPoolExecutor(
+            n,
+            n,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new CompileThreadFactory(),
+            new RejectionHandler());
+    getLogger()
+        .info(
+            String.format(
+                "Compile executor started with %d workers, queue capacity %d.", n, queueCapacity));
+  }
+
+  private static Logger getLogger() {
+    return LogManager.getLogger(CompileExecutor.class);
+  }
+
+  /**
+   * The default number of workers: one per processor, but no more than fit in the maximum heap.
+   *
+   * @param memoryPerJob The heap, in megabytes, that a single job is expected to need.
+   * @return The default number of workers.
+   */
+  static int getDefaultWorkers(final long memoryPerJob) {
+    final int cores = Runtime.getRuntime().availableProcessors();
+    final long heap = Runtime.getRuntime().maxMemory() / (1024 * 1024);
+    final long byMemory = memoryPerJob > 0 ? heap / memoryPerJob : cores;
+    return (int) Math.max(1, Math.min(cores, byMemory));
+  }
+
+  /**
+   * Execute a task on the executor.
+   *
+   * @param task The task.
+   * @throws RejectedExecutionException The queue is full or the executor is shut down.
+   */
+  public void execute(final Runnable task) {
+    executor.execute(task);
+  }
+
+  /** Remove cancelled tasks from the queue. */
+  public void purge() {
+    executor.purge();
+  }
+
+  /**
+   * Get a snapshot of the executor's load.
+   *
+   * @return The executor statistics.
+   */
+  public CompileExecutorStats getStats() {
+    return new CompileExecutorStats(
+        executor.getMaximumPoolSize(),
+        executor.getActiveCount(),
+        executor.getQueue().size(),
+        queueCapacity,
+        executor.getCompletedTaskCount());
+  }
+
+  /** Stop accepting jobs and interrupt running jobs. */
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private static class CompileThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(final Runnable r) {
+      final Thread rtn = new Thread(r, THREAD_PREFIX + count.incrementAndGet());
+      rtn.setDaemon(true);
+      return rtn;
+    }
+  }
+
+  private static class RejectionHandler implements RejectedExecutionHandler {
+
+    @Override
+    public void rejectedExecution(final Runnable r, final ThreadPoolExecutor executor) {
+      getLogger()
+          .warn(
+              String.format(
+                  "Rejected compile job: %d active, %d queued.",
+                  executor.getActiveCount(), executor.getQueue().size()));
+      throw new RejectedExecutionException("The compile queue is full.");
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.job;
+
+/**
+ * A snapshot of the load on the {@link CompileExecutor}.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class CompileExecutorStats {
+
+  private final int workers;
+  private final int active;
+  private final int queued;
+  private final int queueCapacity;
+  private final long completed;
+
+  /**
+   * Initialize a snapshot.
+   *
+   * @param workers The number of workers.
+   * @param active The number of jobs running.
+   * @param queued The number of jobs waiting for a worker.
+   * @param queueCapacity The number of jobs that may wait for a worker.
+   * @param completed The number of jobs completed since startup.
+   */
+  public CompileExecutorStats(
+      final int workers,
+      final int active,
+      final int queued,
+      final int queueCapacity,
+      final long completed) {
+    this.workers = workers;
+    this.active = active;
+    this.queued = queued;
+    this.queueCapacity = queueCapacity;
+    this.completed = completed;
+  }
+
+  /**
+   * Getter for {@code workers}.
+   *
+   * @return The value of {@code workers}.
+   */
+  public int getWorkers() {
+    return workers;
+  }
+
+  /**
+   * Getter for {@code active}.
+   *
+   * @return The value of {@code active}.
+   */
+  public int getActive() {
+    return active;
+  }
+
+  /**
+   * Getter for {@code queued}.
+   *
+   * @return The value of {@code queued}.
+   */
+  public int getQueued() {
+    return queued;
+  }
+
+  /**
+   * Getter for {@code queueCapacity}.
+   *
+   * @return The value of {@code queueCapacity}.
+   */
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  /**
+   * Getter for {@code completed}.
+   *
+   * @return The value of {@code completed}.
+   */
+  public long getCompleted() {
+    return completed;
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.job;
+
+import java.util.Date;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A compile job in the durable queue. The job has the same id as the {@link JobStatus} of its
+ * project. A node that claims a job holds a lease on it, which it renews while the job runs; a job
+ * whose lease expires is requeued or, after too many attempts, failed.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+@Document(collection = "jobs")
+@CompoundIndexes({
+  @CompoundIndex(name = "state_enqueued", def = "{'state': 1, 'enqueued': 1}"),
+  @CompoundIndex(name = "state_lease", def = "{'state': 1, 'leaseExpires': 1}")
+})
+public class CompileJob {
+
+  @Id private String id;
+  private ObjectId projectId;
+  private String username;
+  private JobState state;
+  private Date enqueued;
+  private Date finished;
+  private int attempts;
+  private String owner;
+  private Date leaseExpires;
+  private boolean cancelRequested;
+
+  public CompileJob() {}
+
+  /**
+   * Initialize a queued job.
+   *
+   * @param status The status of the job on its project.
+   * @param projectId The id of the project.
+   * @param username The name of the user to whom the project belongs.
+   */
+  public CompileJob(final JobStatus status, final ObjectId projectId, final String username) {
+    this.id = status.getId();
+    this.projectId = projectId;
+    this.username = username;
+    this.state = JobState.QUEUED;
+    this.enqueued = status.getEnqueued();
+  }
+
+  /**
+   * Getter for {@code id}.
+   *
+   * @return The value of {@code id}.
+   */
+  public String getId() {
+    return id;
+  }
+
+  /**
+   * Getter for {@code projectId}.
+   *
+   * @return The value of {@code projectId}.
+   */
+  public ObjectId getProjectId() {
+    return projectId;
+  }
+
+  /**
+   * Getter for {@code username}.
+   *
+   * @return The value of {@code username}.
+   */
+  public String getUsername() {
+    return username;
+  }
+
+  /**
+   * Getter for {@code state}.
+   *
+   * @return The value of {@code state}.
+   */
+  public JobState getState() {
+    return state;
+  }
+
+  /**
+   * Getter for {@code enqueued}.
+   *
+   * @return The value of {@code enqueued}.
+   */
+  public Date getEnqueued() {
+    return enqueued;
+  }
+
+  /**
+   * Getter for {@code finished}.
+   *
+   * @return The value of {@code finished}.
+   */
+  public Date getFinished() {
+    return finished;
+  }
+
+  /**
+   * Getter for {@code attempts}.
+   *
+   * @return The number of times the job has been claimed.
+   */
+  public int getAttempts() {
+    return attempts;
+  }
+
+  /**
+   * Getter for {@code owner}.
+   *
+   * @return The id of the node running the job, or null if it is not running.
+   */
+  public String getOwner() {
+    return owner;
+  }
+
+  /**
+   * Getter for {@code leaseExpires}.
+   *
+   * @return The value of {@code leaseExpires}.
+   */
+  public Date getLeaseExpires() {
+    return leaseExpires;
+  }
+
+  /**
+   * Getter for {@code cancelRequested}.
+   *
+   * @return True if cancellation was requested while the job was running on another node.
+   */
+  public boolean isCancelRequested() {
+    return cancelRequested;
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import org.apache.logging.log4j.ThreadContext;
+import org.cellocad.v2.DNACompiler.runtime.Main;
+
+/**
+ * The entry point of a forked compile worker. Reads one {@link CompileWorkerMessage} request per
+ * line from standard input, runs {@code DNACompiler} with the given arguments, and writes one reply
+ * per line to standard output. Anything else the compiler prints is sent to standard error.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class CompileWorkerMain {
+
+  private static final String PROC_STATUS = "/proc/self/status";
+  private static final String PROC_CLEAR_REFS = "/proc/self/clear_refs";
+
+  /**
+   * Get the peak resident set size of this process since it was last reset.
+   *
+   * @return The peak resident set size in bytes, or -1 if unavailable.
+   */
+  static long getPeakRss() {
+    try {
+      for (final String line : Files.readAllLines(Paths.get(PROC_STATUS))) {
+        if (line.startsWith("VmHWM:")) {
+          final String[] tokens = line.trim().split("\\s+");
+          return Long.parseLong(tokens[1]) * 1024;
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      return -1;
+    }
+    return -1;
+  }
+
+  /** Reset the peak resident set size so that it can be measured per job. */
+  private static void resetPeakRss() {
+    final File file = new File(PROC_CLEAR_REFS);
+    if (file.canWrite()) {
+      try {
+        Files.write(file.toPath(), "5".getBytes(StandardCharsets.US_ASCII));
+      } catch (IOException e) {
+        // peak will cover the lifetime of the worker instead
+      }
+    }
+  }
+
+  private static CompileWorkerMessage run(final CompileWorkerMessage request) {
+    CompileWorkerMessage rtn = null;
+    resetPeakRss();
+    ThreadContext.put("logFilepath", request.getOutputDir());
+    try {
+      Main.main(request.getArgs());
+      rtn = new CompileWorkerMessage(CompileWorkerMessage.SUCCEEDED, null);
+    } catch (Exception e) {
+      rtn = new CompileWorkerMessage(CompileWorkerMessage.FAILED, String.valueOf(e.getMessage()));
+    } finally {
+      ThreadContext.remove("logFilepath");
+    }
+    rtn.setPeakRss(getPeakRss());
+    return rtn;
+  }
+
+  /**
+   * Serve compile requests until standard input is closed.
+   *
+   * @param args Unused.
+   * @throws IOException Unable to read a request or write a reply.
+   */
+  public static void main(final String[] args) throws IOException {
+    // Keep standard output for the protocol before anything (e.g. logging) captures it.
+    final PrintStream out = new PrintStream(System.out, true, "UTF-8");
+    System.setOut(System.err);
+    final ObjectMapper mapper = new ObjectMapper();
+    final BufferedReader in =
+        new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+    out.println(
+        mapper.writeValueAsString(new CompileWorkerMessage(CompileWorkerMessage.READY, null)));
+    String line = null;
+    while ((line = in.readLine()) != null) {
+      if (line.isEmpty()) {
+        continue;
+      }
+      final CompileWorkerMessage request = mapper.readValue(line, CompileWorkerMessage.class);
+      CompileWorkerMessage reply = null;
+      try {
+        reply = run(request);
+      } catch (OutOfMemoryError e) {
+        reply = new CompileWorkerMessage(CompileWorkerMessage.FAILED, "Out of memory.");
+        out.println(mapper.writeValueAsString(reply));
+        // The heap may be in any state, so do not reuse this worker.
+        System.exit(1);
+      }
+      out.println(mapper.writeValueAsString(reply));
+    }
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.job;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A message exchanged, one JSON document per line, between the web application and a forked
+ * compile worker. Requests carry the compiler arguments and the project directory; replies carry
+ * the outcome and the peak resident set size of the worker during the job.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CompileWorkerMessage {
+
+  public static final String READY = "ready";
+  public static final String SUCCEEDED = "succeeded";
+  public static final String FAILED = "failed";
+  public static final String EXITED = "exited";
+
+  private String status;
+  private String[] args;
+  private String outputDir;
+  private String message;
+  private Long peakRss;
+
+  public CompileWorkerMessage() {}
+
+  /**
+   * Initialize a message with the given status.
+   *
+   * @param status The status.
+   * @param message A description of the status.
+   */
+  public CompileWorkerMessage(final String status, final String message) {
+    this.status = status;
+    this.message = message;
+  }
+
+  /**
+   * Getter for {@code status}.
+   *
+   * @return The value of {@code status}.
+   */
+  public String getStatus() {
+    return status;
+  }
+
+  /**
+   * Setter for {@code status}.
+   *
+   * @param status The value to set {@code status}.
+   */
+  public void setStatus(final String status) {
+    this.status = status;
+  }
+
+  /**
+   * Getter for {@code args}.
+   *
+   * @return The value of {@code args}.
+   */
+  public String[] getArgs() {
+    return args;
+  }
+
+  /**
+   * Setter for {@code args}.
+   *
+   * @param args The value to set {@code args}.
+   */
+  public void setArgs(final String[] args) {
+    this.args = args;
+  }
+
+  /**
+   * Getter for {@code outputDir}.
+   *
+   * @return The value of {@code outputDir}.
+   */
+  public String getOutputDir() {
+    return outputDir;
+  }
+
+  /**
+   * Setter for {@code outputDir}.
+   *
+   * @param outputDir The value to set {@code outputDir}.
+   */
+  public void setOutputDir(final String outputDir) {
+    this.outputDir = outputDir;
+  }
+
+  /**
+   * Getter for {@code message}.
+   *
+   * @return The value of {@code message}.
+   */
+  public String getMessage() {
+    return message;
+  }
+
+  /**
+   * Setter for {@code message}.
+   *
+   * @param message The value to set {@code message}.
+   */
+  public void setMessage(final String message) {
+    this.message = message;
+  }
+
+  /**
+   * Getter for {@code peakRss}.
+   *
+   * @return The value of {@code peakRss}.
+   */
+  public Long getPeakRss() {
+    return peakRss;
+  }
+
+  /**
+   * Setter for {@code peakRss}.
+   *
+   * @param peakRss The value to set {@code peakRss}.
+   */
+  public void setPeakRss(final Long peakRss) {
+    this.peakRss = peakRss;
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A child JVM running {@link CompileWorkerMain}. Requests are written to its standard input and
+ * replies are read from its standard output by a daemon thread, so that a caller waiting on a reply
+ * can be interrupted.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+class ForkedCompileWorker {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final Process process;
+  private final BufferedWriter writer;
+  private final BlockingQueue<CompileWorkerMessage> replies = new LinkedBlockingQueue<>();
+  private int jobs;
+
+  /**
+   * Start a worker.
+   *
+   * @param command The command that starts the child JVM.
+   * @throws IOException Unable to start the child JVM.
+   */
+  ForkedCompileWorker(final List<String> command) throws IOException {
+    final ProcessBuilder builder = new ProcessBuilder(command);
+    builder.redirectError(Redirect.INHERIT);
+    process = builder.start();
+    writer =
+        new BufferedWriter(
+            new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+    final Thread reader = new Thread(this::readReplies, "cello-compile-worker-reader");
+    reader.setDaemon(true);
+    reader.start();
+  }
+
+  private static Logger getLogger() {
+    return LogManager.getLogger(ForkedCompileWorker.class);
+  }
+
+  private void readReplies() {
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+      String line = null;
+      while ((line = reader.readLine()) != null) {
+        try {
+          replies.add(MAPPER.readValue(line, CompileWorkerMessage.class));
+        } catch (IOException e) {
+          getLogger().warn("Ignoring malformed reply from compile worker: " + line);
+        }
+      }
+    } catch (IOException e) {
+      // treated as the worker exiting
+    } finally {
+      replies.add(new CompileWorkerMessage(CompileWorkerMessage.EXITED, null));
+    }
+  }
+
+  /**
+   * Run one compile on the worker and wait for its reply.
+   *
+   * @param request The request.
+   * @return The reply.
+   * @throws IOException The worker exited or could not be written to.
+   * @throws InterruptedException Interrupted while waiting for the reply.
+   */
+  CompileWorkerMessage call(final CompileWorkerMessage request)
+      throws IOException, InterruptedException {
+    jobs++;
+    writer.write(MAPPER.writeValueAsString(request));
+    writer.newLine();
+    writer.flush();
+    CompileWorkerMessage rtn = replies.take();
+    while (CompileWorkerMessage.READY.equals(rtn.getStatus())) {
+      rtn = replies.take();
+    }
+    if (CompileWorkerMessage.EXITED.equals(rtn.getStatus())) {
+      throw new IOException("The compile worker exited.");
+    }
+    return rtn;
+  }
+
+  /**
+   * Getter for {@code jobs}.
+   *
+   * @return The number of jobs sent to this worker.
+   */
+  int getJobs() {
+    return jobs;
+  }
+
+  boolean isAlive() {
+    return process.isAlive();
+  }
+
+  /** Stop the worker, killing any job in progress. */
+  void destroy() {
+    process.destroyForcibly();
+  }
+}
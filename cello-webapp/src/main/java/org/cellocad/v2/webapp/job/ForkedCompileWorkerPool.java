@@ -0,0 +1,254 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.job;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.jar.JarFile;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cellocad.v2.webapp.exception.CelloWebException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * A warm pool of child JVMs that run {@code DNACompiler}, used when {@code cello.jobs.worker-mode}
+ * is {@code forked}. Each job runs in its own process with its own heap, so a crash or an
+ * out-of-memory error in the compiler only takes down that worker. Workers are recycled after a
+ * number of jobs, and are killed if the job waiting on them is cancelled or times out.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+@Component
+public class ForkedCompileWorkerPool {
+
+  public static final String IN_PROCESS = "in-process";
+  public static final String FORKED = "forked";
+
+  private static final String BOOT_LAUNCHER = "org.springframework.boot.loader.PropertiesLauncher";
+
+  private final boolean enabled;
+  private final int size;
+  private final int maxJobsPerWorker;
+  private final List<String> command;
+  private final BlockingQueue<ForkedCompileWorker> idle = new LinkedBlockingQueue<>();
+  private final ExecutorService spawner;
+  private volatile boolean shutdown;
+
+  /**
+   * Initialize the pool.
+   *
+   * @param executor The executor on which jobs run. The pool holds one worker per thread.
+   * @param workerMode Either {@code in-process} or {@code forked}.
+   * @param maxJobsPerWorker The number of jobs after which a worker is replaced.
+   * @param memoryPerJob The maximum heap, in megabytes, of a worker.
+   * @param heapBudget The heap budget, in megabytes, of a job. Used as the maximum heap of a worker
+   *     if positive.
+   * @param jvmOptions Additional options, separated by spaces, passed to each worker JVM.
+   */
+  public ForkedCompileWorkerPool(
+      final CompileExecutor executor,
+      @Value("${cello.jobs.worker-mode:in-process}") final String workerMode,
+      @Value("${cello.jobs.forked.max-jobs-per-worker:20}") final int maxJobsPerWorker,
+      @Value("${cello.jobs.memory-per-job-mb:1024}") final long memoryPerJob,
+      @Value("${cello.jobs.heap-budget-mb:0}") final long heapBudget,
+      @Value("${cello.jobs.forked.jvm-options:}") final String jvmOptions) {
+    if (!FORKED.equals(workerMode) && !IN_PROCESS.equals(workerMode)) {
+      throw new IllegalArgumentException("Unknown worker mode: " + workerMode);
+    }
+    this.enabled = FORKED.equals(workerMode);
+    this.size = executor.getStats().getWorkers();
+    this.maxJobsPerWorker = Math.max(1, maxJobsPerWorker);
+    this.command = getCommand(heapBudget > 0 ? heapBudget : memoryPerJob, jvmOptions);
+    this.spawner =
+        Executors.newSingleThreadExecutor(
+            r -> {
+              final Thread rtn = new Thread(r, "cello-compile-worker-spawner");
+              rtn.setDaemon(true);
+              return rtn;
+            });
+  }
+
+  private static Logger getLogger() {
+    return LogManager.getLogger(ForkedCompileWorkerPool.class);
+  }
+
+  /**
+   * Build the command that starts a worker JVM with the same classpath as this one. When running
+   * from a Spring Boot executable jar, the worker main class is started through the Boot launcher
+   * so that nested jars are on its classpath.
+   */
+  private static List<String> getCommand(final long maxHeap, final String jvmOptions) {
+    final List<String> rtn = new ArrayList<>();
+    rtn.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+    rtn.add("-Xmx" + maxHeap + "m");
+    rtn.add("-XX:+ExitOnOutOfMemoryError");
+    for (final String option : jvmOptions.trim().split("\\s+")) {
+      if (!option.isEmpty()) {
+        rtn.add(option);
+      }
+    }
+    final String classpath = System.getProperty("java.class.path");
+    rtn.add("-cp");
+    rtn.add(classpath);
+    if (isBootJar(classpath)) {
+      rtn.add("-Dloader.main=" + CompileWorkerMain.class.getName());
+      rtn.add(BOOT_LAUNCHER);
+    } else {
+      rtn.add(CompileWorkerMain.class.getName());
+    }
+    return rtn;
+  }
+
+  private static boolean isBootJar(final String classpath) {
+    if (classpath.contains(File.pathSeparator) || !classpath.endsWith(".jar")) {
+      return false;
+    }
+    try (JarFile jar = new JarFile(classpath)) {
+      return jar.getEntry("BOOT-INF/classes/") != null;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /** Start the workers ahead of the first job. */
+  @PostConstruct
+  public void init() {
+    if (!enabled) {
+      return;
+    }
+    getLogger()
+        .info(String.format("Starting %d forked compile workers: %s", size, command.toString()));
+    for (int i = 0; i < size; i++) {
+      replenish();
+    }
+  }
+
+  /**
+   * Getter for {@code enabled}.
+   *
+   * @return True if jobs should run in forked workers.
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Run {@code DNACompiler} in a worker, blocking until it finishes. If the calling thread is
+   * interrupted, the worker is killed.
+   *
+   * @param args The {@code DNACompiler} arguments.
+   * @param outputDir The project directory, to which the job log is written.
+   * @return The peak resident set size, in bytes, of the worker during the job, or -1 if unknown.
+   * @throws CelloWebException The compile failed, the worker died, or the wait was interrupted.
+   */
+  public long execute(final String[] args, final String outputDir) throws CelloWebException {
+    final ForkedCompileWorker worker = borrow();
+    final CompileWorkerMessage request = new CompileWorkerMessage();
+    request.setArgs(args);
+    request.setOutputDir(outputDir);
+    boolean healthy = false;
+    try {
+      final CompileWorkerMessage reply = worker.call(request);
+      healthy = true;
+      if (!CompileWorkerMessage.SUCCEEDED.equals(reply.getStatus())) {
+        throw new CelloWebException(reply.getMessage());
+      }
+      return reply.getPeakRss() == null ? -1 : reply.getPeakRss();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CelloWebException("The compile worker was stopped.", e);
+    } catch (final IOException e) {
+      throw new CelloWebException(
+          "The compile worker exited unexpectedly, possibly after running out of heap.", e);
+    } finally {
+      release(worker, healthy);
+    }
+  }
+
+  private ForkedCompileWorker borrow() throws CelloWebException {
+    ForkedCompileWorker rtn = idle.poll();
+    while (rtn != null && !rtn.isAlive()) {
+      rtn.destroy();
+      replenish();
+      rtn = idle.poll();
+    }
+    if (rtn == null) {
+      try {
+        rtn = new ForkedCompileWorker(command);
+      } catch (final IOException e) {
+        throw new CelloWebException("Unable to start a compile worker.", e);
+      }
+    }
+    return rtn;
+  }
+
+  private void release(final ForkedCompileWorker worker, final boolean healthy) {
+    if (healthy
+        && !shutdown
+        && worker.isAlive()
+        && worker.getJobs() < maxJobsPerWorker
+        && idle.size() < size) {
+      idle.offer(worker);
+      return;
+    }
+    worker.destroy();
+    replenish();
+  }
+
+  /** Start a replacement worker in the background, keeping the pool warm. */
+  private void replenish() {
+    if (shutdown) {
+      return;
+    }
+    spawner.execute(
+        () -> {
+          if (shutdown || idle.size() >= size) {
+            return;
+          }
+          try {
+            idle.offer(new ForkedCompileWorker(command));
+          } catch (final IOException e) {
+            getLogger().error("Unable to start a compile worker.", e);
+          }
+        });
+  }
+
+  /** Stop all idle workers. */
+  @PreDestroy
+  public void shutdown() {
+    shutdown = true;
+    spawner.shutdownNow();
+    ForkedCompileWorker worker = null;
+    while ((worker = idle.poll()) != null) {
+      worker.destroy();
+    }
+  }
+}
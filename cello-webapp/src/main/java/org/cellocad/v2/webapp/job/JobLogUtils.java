@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.job;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.cellocad.v2.webapp.common.CompressionUtils;
+
+/**
+ * Utilities for reading the progress of a job from its log.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class JobLogUtils {
+
+  /** The name of the log file written to each project directory. */
+  public static final String LOG_FILE = "log.log";
+
+  /** The number of bytes at the end of the log that are searched for the current stage. */
+  private static final int TAIL_SIZE = 64 * 1024;
+
+  private static final Pattern STAGE =
+      Pattern.compile(
+          "\\b(logicSynthesis|logicOptimization|clustering|partitioning|technologyMapping"
+              + "|placing|export)\\b");
+
+  private static final Pattern SCORE =
+      Pattern.compile(
+          "\\bscore\\b\\s*[:=]?\\s*([-+]?\\d+(?:\\.\\d+)?(?:[eE][-+]?\\d+)?)",
+          Pattern.CASE_INSENSITIVE);
+
+  /**
+   * Get the DNACompiler stage most recently mentioned in the log of a project.
+   *
+   * @param projectDirectory The project directory.
+   * @return The name of the stage, or null if the log does not exist or mentions no stage.
+   * @throws IOException Unable to read the log.
+   */
+  public static String getCurrentStage(final String projectDirectory) throws IOException {
+    final File file = new File(projectDirectory, LOG_FILE);
+    if (!file.isFile()) {
+      return null;
+    }
+    if (CompressionUtils.isCompressed(file.toPath())) {
+      // compressed once the job finished, so it must be read from the start
+      return findLast(file, STAGE);
+    }
+    String rtn = null;
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+      final long length = raf.length();
+      final int size = (int) Math.min(length, TAIL_SIZE);
+      final byte[] bytes = new byte[size];
+      raf.seek(length - size);
+      raf.readFully(bytes);
+      final Matcher m = STAGE.matcher(new String(bytes, StandardCharsets.UTF_8));
+      while (m.find()) {
+        rtn = m.group(1);
+      }
+    }
+    return rtn;
+  }
+
+  /**
+   * Get the circuit score most recently reported in the log of a project.
+   *
+   * @param projectDirectory The project directory.
+   * @return The score, or null if the log does not exist or reports no score.
+   * @throws IOException Unable to read the log.
+   */
+  public static Double getScore(final String projectDirectory) throws IOException {
+    final File file = new File(projectDirectory, LOG_FILE);
+    if (!file.isFile()) {
+      return null;
+    }
+    final String rtn = findLast(file, SCORE);
+    return rtn != null ? Double.valueOf(rtn) : null;
+  }
+
+  /** Find the first group of the last match of a pattern in a log, which may be compressed. */
+  private static String findLast(final File file, final Pattern pattern) throws IOException {
+    String rtn = null;
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(
+                CompressionUtils.newInputStream(file.toPath()), StandardCharsets.UTF_8))) {
+      String line = null;
+      while ((line = reader.readLine()) != null) {
+        final Matcher m = pattern.matcher(line);
+        while (m.find()) {
+          rtn = m.group(1);
+        }
+      }
+    }
+    return rtn;
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.job;
+
+import java.util.Date;
+
+/**
+ * The progress of a job: its status together with the compiler stage it has reached.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class JobProgress {
+
+  private final JobStatus status;
+  private final String stage;
+
+  /**
+   * Initialize the progress of a job.
+   *
+   * @param status The job status.
+   * @param stage The current compiler stage, or null if unknown.
+   */
+  public JobProgress(final JobStatus status, final String stage) {
+    this.status = status;
+    this.stage = stage;
+  }
+
+  public String getId() {
+    return status.getId();
+  }
+
+  public JobState getState() {
+    return status.getState();
+  }
+
+  public Date getEnqueued() {
+    return status.getEnqueued();
+  }
+
+  public Date getStarted() {
+    return status.getStarted();
+  }
+
+  public Date getFinished() {
+    return status.getFinished();
+  }
+
+  public String getMessage() {
+    return status.getMessage();
+  }
+
+  public Long getPeakRss() {
+    return status.getPeakRss();
+  }
+
+  public String getNode() {
+    return status.getNode();
+  }
+
+  /**
+   * Getter for {@code stage}.
+   *
+   * @return The value of {@code stage}.
+   */
+  public String getStage() {
+    return stage;
+  }
+}
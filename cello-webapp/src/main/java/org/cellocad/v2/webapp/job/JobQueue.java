@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.job;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * The durable queue of compile jobs, kept in the {@code jobs} collection. Every state change is a
+ * single conditional update, so that a job is claimed, requeued, or finished exactly once even when
+ * several nodes share the queue.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+@Component
+public class JobQueue {
+
+  private static final String ID = "_id";
+  private static final String STATE = "state";
+  private static final String ENQUEUED = "enqueued";
+  private static final String FINISHED = "finished";
+  private static final String ATTEMPTS = "attempts";
+  private static final String OWNER = "owner";
+  private static final String LEASE_EXPIRES = "leaseExpires";
+  private static final String CANCEL_REQUESTED = "cancelRequested";
+
+  private final MongoTemplate mongoTemplate;
+  private final String nodeId;
+  private final long lease;
+
+  /**
+   * Initialize the queue.
+   *
+   * @param mongoTemplate The Mongo template.
+   * @param nodeId The id of this node. Defaults to the process id and host name if empty.
+   * @param leaseSeconds The time for which a claim is held without being renewed.
+   */
+  public JobQueue(
+      final MongoTemplate mongoTemplate,
+      @Value("${cello.jobs.node-id:}") final String nodeId,
+      @Value("${cello.jobs.lease-seconds:60}") final long leaseSeconds) {
+    this.mongoTemplate = mongoTemplate;
+    this.nodeId = nodeId.isEmpty() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+    this.lease = leaseSeconds * 1000;
+  }
+
+  /**
+   * Getter for {@code nodeId}.
+   *
+   * @return The id of this node.
+   */
+  public String getNodeId() {
+    return nodeId;
+  }
+
+  /**
+   * Getter for {@code lease}.
+   *
+   * @return The lease duration in milliseconds.
+   */
+  public long getLease() {
+    return lease;
+  }
+
+  private static Query byId(final String id) {
+    return new Query(Criteria.where(ID).is(id));
+  }
+
+  private Date getLeaseExpiry() {
+    return new Date(System.currentTimeMillis() + lease);
+  }
+
+  /**
+   * Add a job to the queue.
+   *
+   * @param job The job.
+   */
+  public void add(final CompileJob job) {
+    mongoTemplate.insert(job);
+  }
+
+  /**
+   * Count the jobs waiting to be claimed.
+   *
+   * @return The number of queued jobs.
+   */
+  public long countQueued() {
+    final Query query = new Query(Criteria.where(STATE).is(JobState.QUEUED));
+    return mongoTemplate.count(query, CompileJob.class);
+  }
+
+  /**
+   * Claim the oldest queued job for this node.
+   *
+   * @return The claimed job, or null if the queue is empty.
+   */
+  public CompileJob claim() {
+    final Query query =
+        new Query(Criteria.where(STATE).is(JobState.QUEUED))
+            .with(Sort.by(Sort.Direction.ASC, ENQUEUED));
+    final Update update =
+        new Update()
+            .set(STATE, JobState.RUNNING)
+            .set(OWNER, nodeId)
+            .set(LEASE_EXPIRES, getLeaseExpiry())
+            .inc(ATTEMPTS, 1);
+    return mongoTemplate.findAndModify(
+        query, update, FindAndModifyOptions.options().returnNew(true), CompileJob.class);
+  }
+
+  /**
+   * Return a job claimed by this node to the queue without counting the attempt.
+   *
+   * @param id The job id.
+   */
+  public void release(final String id) {
+    final Query query = byId(id).addCriteria(Criteria.where(OWNER).is(nodeId));
+    final Update update =
+        new Update()
+            .set(STATE, JobState.QUEUED)
+            .unset(OWNER)
+            .unset(LEASE_EXPIRES)
+            .inc(ATTEMPTS, -1);
+    mongoTemplate.updateFirst(query, update, CompileJob.class);
+  }
+
+  /**
+   * Renew the leases of jobs running on this node.
+   *
+   * @param ids The job ids.
+   */
+  public void renew(final Collection<String> ids) {
+    if (ids.isEmpty()) {
+      return;
+    }
+    final Query query =
+        new Query(
+            Criteria.where(ID).in(ids).and(OWNER).is(nodeId).and(STATE).is(JobState.RUNNING));
+    mongoTemplate.updateMulti(
+        query, new Update().set(LEASE_EXPIRES, getLeaseExpiry()), CompileJob.class);
+  }
+
+  /**
+   * Record the final state of a job running on this node, unless another node has since recovered
+   * it, e.g. after the lease of this node expired.
+   *
+   * @param id The job id.
+   * @param state The final state.
+   * @return True if this node still held the job and its state was recorded.
+   */
+  public boolean complete(final String id, final JobState state) {
+    final Query query =
+        byId(id).addCriteria(Criteria.where(OWNER).is(nodeId).and(STATE).is(JobState.RUNNING));
+    final Update update =
+        new Update().set(STATE, state).set(FINISHED, new Date()).unset(LEASE_EXPIRES);
+    return mongoTemplate.updateFirst(query, update, CompileJob.class).getModifiedCount() > 0;
+  }
+
+  /**
+   * Cancel a job if it has not been claimed.
+   *
+   * @param id The job id.
+   * @return True if the job was cancelled, false if it had been claimed or had finished.
+   */
+  public boolean cancelQueued(final String id) {
+    final Query query = byId(id).addCriteria(Criteria.where(STATE).is(JobState.QUEUED));
+    final Update update = new Update().set(STATE, JobState.CANCELLED).set(FINISHED, new Date());
+    return mongoTemplate.updateFirst(query, update, CompileJob.class).getModifiedCount() > 0;
+  }
+
+  /**
+   * Ask the node running a job to cancel it.
+   *
+   * @param id The job id.
+   * @return True if the job is running and the request was recorded.
+   */
+  public boolean requestCancel(final String id) {
+    final Query query = byId(id).addCriteria(Criteria.where(STATE).is(JobState.RUNNING));
+    final Update update = new Update().set(CANCEL_REQUESTED, true);
+    return mongoTemplate.updateFirst(query, update, CompileJob.class).getModifiedCount() > 0;
+  }
+
+  /**
+   * Find the jobs running on this node that another node has asked to cancel.
+   *
+   * @param ids The ids of the jobs running on this node.
+   * @return The jobs to cancel.
+   */
+  public List<CompileJob> findCancelRequested(final Collection<String> ids) {
+    if (ids.isEmpty()) {
+      return Collections.emptyList();
+    }
+    final Query query = new Query(Criteria.where(ID).in(ids).and(CANCEL_REQUESTED).is(true));
+    return mongoTemplate.find(query, CompileJob.class);
+  }
+
+  /**
+   * Find running jobs whose lease has expired, i.e. whose node stopped or lost contact.
+   *
+   * @return The orphaned jobs.
+   */
+  public List<CompileJob> findExpired() {
+    final Query query =
+        new Query(Criteria.where(STATE).is(JobState.RUNNING).and(LEASE_EXPIRES).lt(new Date()));
+    return mongoTemplate.find(query, CompileJob.class);
+  }
+
+  private static Query expired(final CompileJob job) {
+    return byId(job.getId())
+        .addCriteria(
+            Criteria.where(STATE)
+                .is(JobState.RUNNING)
+                .and(OWNER)
+                .is(job.getOwner())
+                .and(LEASE_EXPIRES)
+                .lt(new Date()));
+  }
+
+  /**
+   * Return an orphaned job to the queue, unless it was renewed or recovered in the meantime, or
+   * its cancellation was requested. A job whose cancellation was requested is never run again.
+   *
+   * @param job The orphaned job.
+   * @return True if the job was requeued.
+   */
+  public boolean requeue(final CompileJob job) {
+    final Query query = expired(job).addCriteria(Criteria.where(CANCEL_REQUESTED).ne(true));
+    final Update update =
+        new Update().set(STATE, JobState.QUEUED).unset(OWNER).unset(LEASE_EXPIRES);
+    return mongoTemplate.updateFirst(query, update, CompileJob.class).getModifiedCount() > 0;
+  }
+
+  /**
+   * Fail an orphaned job, unless it was renewed or recovered in the meantime.
+   *
+   * @param job The orphaned job.
+   * @return True if the job was failed.
+   */
+  public boolean abandon(final CompileJob job) {
+    final Update update =
+        new Update().set(STATE, JobState.FAILED).set(FINISHED, new Date()).unset(LEASE_EXPIRES);
+    return mongoTemplate.updateFirst(expired(job), update, CompileJob.class).getModifiedCount() > 0;
+  }
+}
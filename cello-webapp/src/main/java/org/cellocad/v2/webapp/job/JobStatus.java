@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.job;
+
+import java.util.Date;
+import org.bson.types.ObjectId;
+
+/**
+ * The status of the compile job associated with a project. Stored on the project document.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class JobStatus {
+
+  private String id;
+  private JobState state;
+  private Date enqueued;
+  private Date started;
+  private Date finished;
+  private String message;
+  private Long peakRss;
+  private String node;
+  private Double score;
+
+  public JobStatus() {}
+
+  /**
+   * Create the status of a newly queued job.
+   *
+   * @return The status of a new job.
+   */
+  public static JobStatus queued() {
+    final JobStatus rtn = new JobStatus();
+    rtn.setId(new ObjectId().toHexString());
+    rtn.setState(JobState.QUEUED);
+    rtn.setEnqueued(new Date());
+    return rtn;
+  }
+
+  /**
+   * Getter for {@code id}.
+   *
+   * @return The value of {@code id}.
+   */
+  public String getId() {
+    return id;
+  }
+
+  /**
+   * Setter for {@code id}.
+   *
+   * @param id The value to set {@code id}.
+   */
+  public void setId(final String id) {
+    this.id = id;
+  }
+
+  /**
+   * Getter for {@code state}.
+   *
+   * @return The value of {@code state}.
+   */
+  public JobState getState() {
+    return state;
+  }
+
+  /**
+   * Setter for {@code state}.
+   *
+   * @param state The value to set {@code state}.
+   */
+  public void setState(final JobState state) {
+    this.state = state;
+  }
+
+  /**
+   * Getter for {@code enqueued}.
+   *
+   * @return The value of {@code enqueued}.
+   */
+  public Date getEnqueued() {
+    return enqueued;
+  }
+
+  /**
+   * Setter for {@code enqueued}.
+   *
+   * @param enqueued The value to set {@code enqueued}.
+   */
+  public void setEnqueued(final Date enqueued) {
+    this.enqueued = enqueued;
+  }
+
+  /**
+   * Getter for {@code started}.
+   *
+   * @return The value of {@code started}.
+   */
+  public Date getStarted() {
+    return started;
+  }
+
+  /**
+   * Setter for {@code started}.
+   *
+   * @param started The value to set {@code started}.
+   */
+  public void setStarted(final Date started) {
+    this.started = started;
+  }
+
+  /**
+   * Getter for {@code finished}.
+   *
+   * @return The value of {@code finished}.
+   */
+  public Date getFinished() {
+    return finished;
+  }
+
+  /**
+   * Setter for {@code finished}.
+   *
+   * @param finished The value to set {@code finished}.
+   */
+  public void setFinished(final Date finished) {
+    this.finished = finished;
+  }
+
+  /**
+   * Getter for {@code message}.
+   *
+   * @return The value of {@code message}.
+   */
+  public String getMessage() {
+    return message;
+  }
+
+  /**
+   * Setter for {@code message}.
+   *
+   * @param message The value to set {@code message}.
+   */
+  public void setMessage(final String message) {
+    this.message = message;
+  }
+
+  /**
+   * Getter for {@code peakRss}.
+   *
+   * @return The peak resident set size, in bytes, of the forked worker that ran the job, or null if
+   *     the job ran in-process.
+   */
+  public Long getPeakRss() {
+    return peakRss;
+  }
+
+  /**
+   * Setter for {@code peakRss}.
+   *
+   * @param peakRss The value to set {@code peakRss}.
+   */
+  public void setPeakRss(final Long peakRss) {
+    this.peakRss = peakRss;
+  }
+
+  /**
+   * Getter for {@code node}.
+   *
+   * @return The id of the node that ran the job, or null if it has not run.
+   */
+  public String getNode() {
+    return node;
+  }
+
+  /**
+   * Setter for {@code node}.
+   *
+   * @param node The value to set {@code node}.
+   */
+  public void setNode(final String node) {
+    this.node = node;
+  }
+
+  /**
+   * Getter for {@code score}.
+   *
+   * @return The circuit score reported by the compiler, read once the job succeeded, or null if
+   *     none was reported.
+   */
+  public Double getScore() {
+    return score;
+  }
+
+  /**
+   * Setter for {@code score}.
+   *
+   * @param score The value to set {@code score}.
+   */
+  public void setScore(final Double score) {
+    this.score = score;
+  }
+}
@@ -0,0 +1,587 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.job;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cellocad.v2.webapp.exception.CelloWebException;
+import org.cellocad.v2.webapp.project.DNACompiler.DNACompilerProject;
+import org.cellocad.v2.webapp.project.Project;
+import org.cellocad.v2.webapp.project.ProjectResultsCache;
+import org.cellocad.v2.webapp.project.ProjectUtils;
+import org.cellocad.v2.webapp.user.ApplicationUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+/**
+ * A server-wide queue of compile jobs. Jobs are kept in the durable {@link JobQueue}, from which
+ * this node claims as many as the {@link CompileExecutor} has workers for, and the state of each
+ * job is recorded on the project document.
+ *
+ * <p>A claimed job is leased to this node, and the lease is renewed while the job runs. If a node
+ * stops, e.g. because it was restarted, its leases expire and its jobs are requeued, or failed once
+ * they have been attempted too many times or if their cancellation was requested. On a clean
+ * shutdown, running jobs are returned to the queue at once.
+ *
+ * <p>A watchdog enforces a wall-clock timeout on each running job. A job over the limit is
+ * cancelled and marked failed with the reason.
+ *
+ * <p>If the {@link ForkedCompileWorkerPool} is enabled, {@code DNACompiler} projects run in a child
+ * JVM instead, whose maximum heap ({@code -Xmx}) is the heap budget. This is the only way the
+ * budget is enforced. Cancelling such a job kills its worker.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+@Service
+public class ProjectJobService {
+
+  private final MongoTemplate mongoTemplate;
+  private final JobQueue queue;
+  private final CompileExecutor executor;
+  private final ForkedCompileWorkerPool workerPool;
+  private final CompileCache compileCache;
+  private final ProjectResultsCache resultsCache;
+  private final long maxWait;
+  private final long timeout;
+  private final int maxAttempts;
+  private final boolean prebuildArchives;
+  private final boolean storeCompressedOutputs;
+  private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService scheduler;
+  private final ExecutorService archiver;
+
+  /**
+   * Initialize the job service.
+   *
+   * @param mongoTemplate The Mongo template, used to load and update the projects of jobs.
+   * @param queue The durable job queue.
+   * @param executor The executor on which jobs run.
+   * @param workerPool The pool of forked workers.
+   * @param compileCache The cache of compile outputs.
+   * @param resultsCache The cache of project results.
+   * @param maxWaitSeconds The longest a job may wait in the queue before it is failed.
+   * @param timeoutSeconds The longest a job may run. Not enforced if not positive.
+   * @param heapBudget The heap, in megabytes, a job may use. Enforced only in forked workers, as
+   *     their maximum heap, since the heap of jobs that share this JVM cannot be told apart.
+   * @param watchdogInterval The interval, in seconds, at which limits are checked.
+   * @param maxAttempts The number of times a job is claimed before it is abandoned.
+   * @param pollInterval The interval, in milliseconds, at which the queue is polled.
+   * @param prebuildArchives Whether to build the archive of a project once its job succeeds, rather
+   *     than on its first download.
+   * @param storeCompressedOutputs Whether to store outputs that are compressed already, such as
+   *     images, in project archives without deflating them again.
+   */
+  public ProjectJobService(
+      final MongoTemplate mongoTemplate,
+      final JobQueue queue,
+      final CompileExecutor executor,
+      final ForkedCompileWorkerPool workerPool,
+      final CompileCache compileCache,
+      final ProjectResultsCache resultsCache,
+      @Value("${cello.jobs.max-wait-seconds:3600}") final long maxWaitSeconds,
+      @Value("${cello.jobs.timeout-seconds:0}") final long timeoutSeconds,
+      @Value("${cello.jobs.heap-budget-mb:0}") final long heapBudget,
+      @Value("${cello.jobs.watchdog-interval-seconds:5}") final long watchdogInterval,
+      @Value("${cello.jobs.max-attempts:3}") final int maxAttempts,
+      @Value("${cello.jobs.poll-interval-ms:1000}") final long pollInterval,
+      @Value("${cello.projects.archive.prebuild:true}") final boolean prebuildArchives,
+      @Value("${cello.projects.archive.store-compressed:true}")
+          final boolean storeCompressedOutputs) {
+    this.mongoTemplate = mongoTemplate;
+    this.queue = queue;
+    this.executor = executor;
+    this.workerPool = workerPool;
+    this.compileCache = compileCache;
+    this.resultsCache = resultsCache;
+    this.maxWait = TimeUnit.SECONDS.toMillis(maxWaitSeconds);
+    this.timeout = TimeUnit.SECONDS.toNanos(timeoutSeconds);
+    this.maxAttempts = maxAttempts;
+    this.prebuildArchives = prebuildArchives;
+    this.storeCompressedOutputs = storeCompressedOutputs;
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              final Thread rtn = new Thread(r, "cello-job-scheduler");
+              rtn.setDaemon(true);
+              return rtn;
+            });
+    this.archiver =
+        Executors.newSingleThreadExecutor(
+            r -> {
+              final Thread rtn = new Thread(r, "cello-project-archiver");
+              rtn.setDaemon(true);
+              rtn.setPriority(Thread.MIN_PRIORITY);
+              return rtn;
+            });
+    if (heapBudget > 0 && !workerPool.isEnabled()) {
+      getLogger().warn("The heap budget of jobs is enforced only in forked workers.");
+    }
+    if (timeout > 0) {
+      scheduler.scheduleWithFixedDelay(
+          this::enforceLimits, watchdogInterval, watchdogInterval, TimeUnit.SECONDS);
+    }
+    final long renewInterval = Math.max(1, queue.getLease() / 3);
+    scheduler.scheduleWithFixedDelay(this::maintain, 0, renewInterval, TimeUnit.MILLISECONDS);
+    scheduler.scheduleWithFixedDelay(
+        this::dispatch, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+  }
+
+  private static Logger getLogger() {
+    return LogManager.getLogger(ProjectJobService.class);
+  }
+
+  /**
+   * Complete a persisted project from the compile cache, if its outputs are cached.
+   *
+   * @param project The project, with its cache key set.
+   * @return The status of the completed job, or null if the project must be compiled.
+   */
+  public JobStatus restore(final Project project) {
+    try {
+      if (!compileCache.restore(project.getCacheKey(), project)) {
+        return null;
+      }
+    } catch (final IOException e) {
+      getLogger().warn("Unable to restore cached outputs, compiling instead.", e);
+      return null;
+    }
+    final JobStatus status = JobStatus.queued();
+    status.setStarted(status.getEnqueued());
+    project.setJob(status);
+    finish(project, JobState.SUCCEEDED, "The outputs were restored from the compile cache.");
+    getLogger()
+        .info(
+            String.format(
+                "Restored project '%s' from cached outputs '%s'.",
+                project.getName(), project.getCacheKey()));
+    return status;
+  }
+
+  /**
+   * Queue a persisted project for execution.
+   *
+   * @param user The user to whom the project belongs.
+   * @param project The project.
+   * @return The status of the queued job.
+   * @throws CelloWebException The queue is full.
+   */
+  public JobStatus submit(final ApplicationUser user, final Project project)
+      throws CelloWebException {
+    final JobStatus status = JobStatus.queued();
+    project.setJob(status);
+    if (queue.countQueued() >= executor.getStats().getQueueCapacity()) {
+      finish(project, JobState.FAILED, "The job queue is full.");
+      throw new CelloWebException("The job queue is full.");
+    }
+    saveJob(project);
+    queue.add(new CompileJob(status, project.getId(), user.getUsername()));
+    scheduler.execute(this::dispatch);
+    getLogger()
+        .info(
+            String.format(
+                "Queued job '%s' for project '%s' of user '%s'.",
+                status.getId(), project.getName(), user.getUsername()));
+    return status;
+  }
+
+  /**
+   * Cancel a queued or running job. A job running on this node is interrupted and its worker is
+   * released. A job running on another node is cancelled by that node shortly after.
+   *
+   * <p>A forked worker running the job is killed. A job running in this JVM is only interrupted,
+   * which {@code DNACompiler} may not heed, so it may run on until it finishes; its worker thread
+   * is then busy, but its result is discarded.
+   *
+   * @param project The project whose job should be cancelled.
+   * @return True if the job was cancelled or cancellation was requested, false if it had already
+   *     finished.
+   */
+  public boolean cancel(final Project project) {
+    final JobStatus status = project.getJob();
+    if (status == null || status.getState().isFinished()) {
+      return false;
+    }
+    final Job job = jobs.get(status.getId());
+    if (job != null) {
+      return cancel(job);
+    }
+    if (queue.cancelQueued(status.getId())) {
+      finish(project, JobState.CANCELLED, "The job was cancelled.");
+      getLogger().info(String.format("Cancelled job '%s'.", status.getId()));
+      return true;
+    }
+    // running on another node, which cancels it when it next renews its lease
+    return queue.requestCancel(status.getId());
+  }
+
+  private boolean cancel(final Job job) {
+    if (!job.markDone()) {
+      return false;
+    }
+    final String id = job.project.getJob().getId();
+    job.task.cancel(true);
+    // a task cancelled before it started never removes itself
+    jobs.remove(id);
+    executor.purge();
+    complete(job.project, JobState.CANCELLED, "The job was cancelled.");
+    getLogger().info(String.format("Cancelled job '%s'.", id));
+    return true;
+  }
+
+  /** Claim queued jobs while this node has idle workers. */
+  private void dispatch() {
+    try {
+      final int workers = executor.getStats().getWorkers();
+      while (jobs.size() < workers) {
+        final CompileJob claimed = queue.claim();
+        if (claimed == null || !start(claimed)) {
+          return;
+        }
+      }
+    } catch (final RuntimeException e) {
+      getLogger().error("Unable to dispatch jobs.", e);
+    }
+  }
+
+  /**
+   * Start a claimed job on the executor.
+   *
+   * @param claimed The claimed job.
+   * @return False if the executor rejected the job, which is returned to the queue.
+   */
+  private boolean start(final CompileJob claimed) {
+    final Project project = mongoTemplate.findById(claimed.getProjectId(), Project.class);
+    final JobStatus status = project == null ? null : project.getJob();
+    if (status == null || !claimed.getId().equals(status.getId())) {
+      // the project was deleted
+      queue.complete(claimed.getId(), JobState.CANCELLED);
+      return true;
+    }
+    if (status.getState().isFinished()) {
+      queue.complete(claimed.getId(), status.getState());
+      return true;
+    }
+    if (claimed.isCancelRequested()) {
+      // asked to cancel before the node that ran it returned it to the queue
+      complete(project, JobState.CANCELLED, "The job was cancelled.");
+      return true;
+    }
+    final Job job = new Job(project, claimed.getUsername(), claimed.getAttempts());
+    job.task = new FutureTask<>(() -> run(job), null);
+    jobs.put(claimed.getId(), job);
+    try {
+      executor.execute(job.task);
+    } catch (final RejectedExecutionException e) {
+      jobs.remove(claimed.getId());
+      queue.release(claimed.getId());
+      return false;
+    }
+    return true;
+  }
+
+  /** Renew the leases of running jobs, and recover the jobs of nodes that have stopped. */
+  private void maintain() {
+    try {
+      queue.renew(jobs.keySet());
+      for (final CompileJob cancelled : queue.findCancelRequested(jobs.keySet())) {
+        final Job job = jobs.get(cancelled.getId());
+        if (job != null) {
+          cancel(job);
+        }
+      }
+      for (final CompileJob orphan : queue.findExpired()) {
+        if (!jobs.containsKey(orphan.getId())) {
+          recover(orphan);
+        }
+      }
+    } catch (final RuntimeException e) {
+      getLogger().error("Unable to maintain the job queue.", e);
+    }
+  }
+
+  private void recover(final CompileJob orphan) {
+    final Project project = mongoTemplate.findById(orphan.getProjectId(), Project.class);
+    final boolean current =
+        project != null
+            && project.getJob() != null
+            && orphan.getId().equals(project.getJob().getId());
+    if (!orphan.isCancelRequested() && orphan.getAttempts() < maxAttempts) {
+      if (!queue.requeue(orphan)) {
+        // renewed, recovered, or asked to cancel since it was found
+        return;
+      }
+      if (current) {
+        final JobStatus status = project.getJob();
+        status.setState(JobState.QUEUED);
+        status.setStarted(null);
+        status.setMessage(
+            String.format("Requeued after node '%s' stopped responding.", orphan.getOwner()));
+        saveJob(project);
+      }
+      getLogger()
+          .warn(
+              String.format(
+                  "Requeued job '%s' orphaned by node '%s'.", orphan.getId(), orphan.getOwner()));
+    } else if (queue.abandon(orphan)) {
+      final String message =
+          orphan.isCancelRequested()
+              ? String.format(
+                  "The job was cancelled, and node '%s' stopped responding.", orphan.getOwner())
+              : String.format("The job was abandoned after %d attempts.", orphan.getAttempts());
+      if (current) {
+        finish(project, JobState.FAILED, message);
+      }
+      getLogger().warn(String.format("Failed job '%s': %s", orphan.getId(), message));
+    }
+  }
+
+  private void enforceLimits() {
+    final String reason =
+        String.format(
+            "The job exceeded the wall-clock limit of %d seconds.",
+            TimeUnit.NANOSECONDS.toSeconds(timeout));
+    for (final Job job : jobs.values()) {
+      synchronized (job) {
+        if (job.done || job.thread == null || System.nanoTime() - job.startNanos <= timeout) {
+          continue;
+        }
+        job.done = true;
+      }
+      job.task.cancel(true);
+      jobs.remove(job.project.getJob().getId());
+      complete(job.project, JobState.FAILED, reason);
+      getLogger()
+          .warn(String.format("Stopped job '%s': %s", job.project.getJob().getId(), reason));
+    }
+  }
+
+  private void run(final Job job) {
+    final Project project = job.project;
+    final String username = job.username;
+    final JobStatus status = project.getJob();
+    try {
+      final long waited = System.currentTimeMillis() - status.getEnqueued().getTime();
+      // a requeued job has already waited its turn
+      if (job.attempts <= 1 && waited > maxWait) {
+        if (job.markDone()) {
+          complete(project, JobState.FAILED, "The job exceeded the maximum queue wait.");
+        }
+        return;
+      }
+      synchronized (job) {
+        if (job.done) {
+          return;
+        }
+        status.setState(JobState.RUNNING);
+        status.setStarted(new Date());
+        status.setNode(queue.getNodeId());
+        saveJob(project);
+        job.thread = Thread.currentThread();
+        job.startNanos = System.nanoTime();
+      }
+      getLogger()
+          .info(String.format("Executing job '%s' for user '%s'.", project.getName(), username));
+      try {
+        execute(project);
+        if (job.markDone()) {
+          store(project);
+          if (complete(project, JobState.SUCCEEDED, null)) {
+            getLogger()
+                .info(
+                    String.format(
+                        "Completed job '%s' for user '%s'.", project.getName(), username));
+            archive(project);
+          }
+        }
+      } catch (final CelloWebException | RuntimeException e) {
+        if (job.markDone() && complete(project, JobState.FAILED, e.getMessage())) {
+          getLogger()
+              .error(
+                  String.format(
+                      "Failed job '%s' for user '%s'.", project.getName(), username),
+                  e);
+        }
+      }
+    } finally {
+      jobs.remove(status.getId());
+    }
+  }
+
+  private void execute(final Project project) throws CelloWebException {
+    if (workerPool.isEnabled() && project instanceof DNACompilerProject) {
+      final DNACompilerProject p = (DNACompilerProject) project;
+      File inputs = null;
+      try {
+        inputs = Files.createTempDirectory("cello-inputs").toFile();
+        final long peakRss = workerPool.execute(p.buildArguments(inputs), p.getFilepath());
+        project.getJob().setPeakRss(peakRss);
+      } catch (final IOException e) {
+        throw new CelloWebException(e);
+      } finally {
+        FileUtils.deleteQuietly(inputs);
+      }
+    } else {
+      project.execute();
+    }
+  }
+
+  private void store(final Project project) {
+    try {
+      ProjectUtils.compressOutputs(project);
+    } catch (final IOException e) {
+      getLogger().warn("Unable to compress the outputs of project " + project.getName() + ".", e);
+    }
+    try {
+      compileCache.store(project.getCacheKey(), project);
+    } catch (final IOException e) {
+      getLogger().warn("Unable to cache the outputs of project " + project.getName() + ".", e);
+    }
+  }
+
+  /**
+   * Build the archive of a finished project, after its job is reported complete, in the background
+   * so that the worker is free for the next job.
+   */
+  private void archive(final Project project) {
+    if (!prebuildArchives) {
+      return;
+    }
+    archiver.execute(
+        () -> {
+          try {
+            ProjectUtils.getArchive(project, storeCompressedOutputs);
+          } catch (final IOException e) {
+            getLogger().warn("Unable to archive project " + project.getName() + ".", e);
+          }
+        });
+  }
+
+  /**
+   * Write the job of a project, leaving the rest of the project, which may have changed since this
+   * copy was read, as it is.
+   */
+  private void saveJob(final Project project) {
+    final Query query = new Query(Criteria.where("id").is(project.getId()));
+    mongoTemplate.updateFirst(query, new Update().set("job", project.getJob()), Project.class);
+  }
+
+  /**
+   * Record the final state of a job that is not running on this node, e.g. one that never left the
+   * queue, or whose final state was already recorded in the queue.
+   */
+  private void finish(final Project project, final JobState state, final String message) {
+    final JobStatus status = project.getJob();
+    status.setState(state);
+    status.setFinished(new Date());
+    status.setMessage(message);
+    if (state == JobState.SUCCEEDED) {
+      // read once, so that the score is not looked for in the log each time it is reported
+      try {
+        status.setScore(JobLogUtils.getScore(project.getFilepath()));
+      } catch (final IOException e) {
+        getLogger().warn("Unable to read the score of project " + project.getName() + ".", e);
+      }
+    }
+    saveJob(project);
+    resultsCache.invalidate(project);
+  }
+
+  /**
+   * Record the final state of a job running on this node, unless another node has recovered it
+   * since, and so owns its state.
+   *
+   * @return Whether the state was recorded.
+   */
+  private boolean complete(final Project project, final JobState state, final String message) {
+    final String id = project.getJob().getId();
+    if (!queue.complete(id, state)) {
+      getLogger()
+          .warn(String.format("Discarding the result of job '%s', recovered by another node.", id));
+      return false;
+    }
+    finish(project, state, message);
+    return true;
+  }
+
+  /** Stop claiming jobs, and return the jobs running on this node to the queue. */
+  @PreDestroy
+  public void shutdown() {
+    scheduler.shutdownNow();
+    // an archive not built is built on its first download
+    archiver.shutdownNow();
+    for (final Job job : jobs.values()) {
+      if (!job.markDone()) {
+        continue;
+      }
+      job.task.cancel(true);
+      final JobStatus status = job.project.getJob();
+      queue.release(status.getId());
+      status.setState(JobState.QUEUED);
+      status.setStarted(null);
+      saveJob(job.project);
+      getLogger().info(String.format("Returned job '%s' to the queue.", status.getId()));
+    }
+  }
+
+  /** A job known to this service. Whoever marks the job done records its final state. */
+  private static class Job {
+
+    private final Project project;
+    private final String username;
+    private final int attempts;
+    private FutureTask<Void> task;
+    private boolean done;
+    private Thread thread;
+    private long startNanos;
+
+    private Job(final Project project, final String username, final int attempts) {
+      this.project = project;
+      this.username = username;
+      this.attempts = attempts;
+    }
+
+    private synchronized boolean markDone() {
+      if (done) {
+        return false;
+      }
+      done = true;
+      return true;
+    }
+  }
+}
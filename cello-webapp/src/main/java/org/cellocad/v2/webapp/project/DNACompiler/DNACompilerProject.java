@@ -22,18 +22,19 @@
 
 package org.cellocad.v2.webapp.project.DNACompiler;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.ThreadContext;
 import org.cellocad.v2.DNACompiler.runtime.Main;
 import org.cellocad.v2.common.exception.CelloException;
 import org.cellocad.v2.common.runtime.environment.ArgString;
+import org.cellocad.v2.webapp.common.CompressionUtils;
 import org.cellocad.v2.webapp.exception.CelloWebException;
 import org.cellocad.v2.webapp.exception.ProjectException;
 import org.cellocad.v2.webapp.project.Project;
@@ -70,7 +71,11 @@ public class DNACompilerProject extends Project {
     @Override
     public Void call() throws CelloException {
       ThreadContext.put("logFilepath", outputDir);
-      Main.main(args);
+      try {
+        Main.main(args);
+      } finally {
+        ThreadContext.remove("logFilepath");
+      }
       return null;
     }
   }
@@ -107,22 +112,54 @@ public class DNACompilerProject extends Project {
     super(user, specification);
   }
 
-  /*
-   * (non-Javadoc)
+  /**
+   * Initialize a {@code DNACompiler} project that may share its Verilog and netlist constraint
+   * files with other projects.
    *
-   * @see org.cellocad.v2.webapp.project.Project#execute()
+   * @param user The user to whom the project belongs.
+   * @param specification The project specification.
+   * @param verilogFile The path to a shared Verilog file, or null to write one.
+   * @param netlistConstraintFile The path to a shared netlist constraint file, or null to write
+   *     one.
+   * @throws ProjectException Unable to initialize project.
    */
-  @Override
-  public void execute() throws CelloWebException {
+  public DNACompilerProject(
+      final ApplicationUser user,
+      final Specification specification,
+      final String verilogFile,
+      final String netlistConstraintFile)
+      throws ProjectException {
+    super(user, specification, verilogFile, netlistConstraintFile);
+  }
+
+  /**
+   * Build the {@code DNACompiler} command line arguments for this project, with any target data
+   * file that is stored compressed decompressed into the given directory for {@code DNACompiler}
+   * to read. Each kind of file is decompressed into its own subdirectory, since files of different
+   * kinds may have the same name. The caller deletes the directory once the project has run.
+   *
+   * @param directory The directory into which to decompress target data files.
+   * @return The arguments.
+   * @throws IOException Unable to decompress a target data file.
+   */
+  public String[] buildArguments(final File directory) throws IOException {
+    return buildArguments(
+        CompressionUtils.inflate(getTargetDataFile(), new File(directory, "ucf")),
+        CompressionUtils.inflate(getInputSensorFile(), new File(directory, "input")),
+        CompressionUtils.inflate(getOutputDeviceFile(), new File(directory, "output")));
+  }
+
+  private String[] buildArguments(
+      final String targetDataFile, final String inputSensorFile, final String outputDeviceFile) {
     final List<String> args = new ArrayList<>();
     args.add("-" + ArgString.INPUTNETLIST);
     args.add(getVerilogFile());
     args.add("-" + ArgString.USERCONSTRAINTSFILE);
-    args.add(getTargetDataFile());
+    args.add(targetDataFile);
     args.add("-" + ArgString.INPUTSENSORFILE);
-    args.add(getInputSensorFile());
+    args.add(inputSensorFile);
     args.add("-" + ArgString.OUTPUTDEVICEFILE);
-    args.add(getOutputDeviceFile());
+    args.add(outputDeviceFile);
     args.add("-" + ArgString.NETLISTCONSTRAINTFILE);
     args.add(getNetlistConstraintFile());
     args.add("-" + ArgString.OPTIONS);
@@ -132,16 +169,32 @@ public class DNACompilerProject extends Project {
     args.add("-" + ArgString.PYTHONENV);
     // FIXME
     args.add("python");
-    // main
-    final DNACompilerMainCallable main =
-        new DNACompilerMainCallable(args.toArray(new String[1]), getFilepath().toString());
-    final ExecutorService executor = new ScheduledThreadPoolExecutor(5);
-    final Future<Void> future = executor.submit(main);
+    return args.toArray(new String[1]);
+  }
+
+  @Override
+  public String getApplication() {
+    return "DNACompiler";
+  }
+
+  /*
+   * (non-Javadoc)
+   *
+   * @see org.cellocad.v2.webapp.project.Project#execute()
+   */
+  @Override
+  public void execute() throws CelloWebException {
+    File inputs = null;
     try {
-      future.get();
-    } catch (ExecutionException | InterruptedException e) {
-      throw new CelloWebException(e.getCause());
+      inputs = Files.createTempDirectory("cello-inputs").toFile();
+      // main, run on the calling thread, a worker of the shared compile executor
+      final DNACompilerMainCallable main =
+          new DNACompilerMainCallable(buildArguments(inputs), getFilepath().toString());
+      main.call();
+    } catch (CelloException | IOException e) {
+      throw new CelloWebException(e);
+    } finally {
+      FileUtils.deleteQuietly(inputs);
     }
-    executor.shutdown();
   }
 }
@@ -22,10 +22,12 @@
 
 package org.cellocad.v2.webapp.project;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
@@ -36,6 +38,7 @@ import org.cellocad.v2.results.common.Result;
 import org.cellocad.v2.webapp.common.Utils;
 import org.cellocad.v2.webapp.exception.CelloWebException;
 import org.cellocad.v2.webapp.exception.ProjectException;
+import org.cellocad.v2.webapp.job.JobStatus;
 import org.cellocad.v2.webapp.specification.Specification;
 import org.cellocad.v2.webapp.specification.library.SynBioHubLibraryResource;
 import org.cellocad.v2.webapp.specification.library.TargetDataLibraryResource;
@@ -54,6 +57,12 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @TypeAlias("project")
 public abstract class Project {
 
+  /** The name of the file listing the results of a project, in the project directory. */
+  public static final String RESULTS_FILE = "results.json";
+
+  private static final ObjectReader RESULTS_READER =
+      new ObjectMapper().readerFor(new TypeReference<Collection<Result>>() {});
+
   @Id private ObjectId id;
   private String name;
   private String filepath;
@@ -66,6 +75,9 @@ public abstract class Project {
   private String inputSensorFile;
   private String outputDeviceFile;
 
+  private JobStatus job;
+  private String cacheKey;
+
   public Project() {}
 
   /**
@@ -105,47 +117,54 @@ public abstract class Project {
    */
   public Project(final ApplicationUser user, final Specification specification)
       throws ProjectException {
+    this(user, specification, null, null);
+  }
+
+  /**
+   * Initialize a new project that may share its Verilog and netlist constraint files with other
+   * projects, as the points of a parameter sweep do. The options file is always written to the
+   * project directory.
+   *
+   * @param user The user the project belongs to.
+   * @param specification The project specification.
+   * @param verilogFile The path to a shared Verilog file, or null to write one for this project.
+   * @param netlistConstraintFile The path to a shared netlist constraint file, or null to write one
+   *     for this project.
+   * @throws ProjectException Unable to initialize project.
+   */
+  public Project(
+      final ApplicationUser user,
+      final Specification specification,
+      final String verilogFile,
+      final String netlistConstraintFile)
+      throws ProjectException {
     this.name = specification.getName();
-    final ObjectMapper mapper = new ObjectMapper();
     ProjectUtils.initUserProjectDirectory(user, name);
     id = new ObjectId();
     filepath = new File(ProjectUtils.getUserProjectDirectory(user, name)).getAbsolutePath();
     created = new Date();
     // verilog
-    final String verilogFilepath = filepath.toString() + Utils.getFileSeparator() + name + ".v";
-    try {
-      Utils.createFile(verilogFilepath);
-    } catch (final IOException e) {
-      throw new ProjectException(e);
+    if (verilogFile == null) {
+      final String verilogFilepath = filepath.toString() + Utils.getFileSeparator() + name + ".v";
+      ProjectUtils.writeVerilogFile(specification, verilogFilepath);
+      this.verilogFile = verilogFilepath;
+    } else {
+      this.verilogFile = verilogFile;
     }
-    Utils.writeToFile(specification.getVerilog(), verilogFilepath);
-    verilogFile = verilogFilepath;
     // options
     final String optionsFilepath =
         filepath.toString() + Utils.getFileSeparator() + name + "_options.csv";
-    try {
-      Utils.createFile(optionsFilepath);
-    } catch (final IOException e) {
-      throw new ProjectException(e);
-    }
-    Utils.writeToFile(specification.getSettings().toCSV(), optionsFilepath);
+    ProjectUtils.writeOptionsFile(specification, optionsFilepath);
     optionsFile = optionsFilepath;
     // netlist constraint
-    final String netlistConstraintFilepath =
-        filepath.toString() + Utils.getFileSeparator() + name + "_netlistconstraints.json";
-    try {
-      Utils.createFile(netlistConstraintFilepath);
-    } catch (final IOException e) {
-      throw new ProjectException(e);
-    }
-    try {
-      mapper
-          .writerWithDefaultPrettyPrinter()
-          .writeValue(new File(netlistConstraintFilepath), specification.getConstraints());
-    } catch (final IOException e) {
-      throw new ProjectException(e);
+    if (netlistConstraintFile == null) {
+      final String netlistConstraintFilepath =
+          filepath.toString() + Utils.getFileSeparator() + name + "_netlistconstraints.json";
+      ProjectUtils.writeNetlistConstraintFile(specification, netlistConstraintFilepath);
+      this.netlistConstraintFile = netlistConstraintFilepath;
+    } else {
+      this.netlistConstraintFile = netlistConstraintFile;
     }
-    netlistConstraintFile = netlistConstraintFilepath;
 
     if (specification.getLibraryResource() instanceof TargetDataLibraryResource) {
       final TargetDataLibraryResource library =
@@ -168,6 +187,14 @@ public abstract class Project {
 
   public abstract void execute() throws CelloWebException;
 
+  /**
+   * Get the name of the application that compiles this project, e.g. {@code DNACompiler}.
+   *
+   * @return The name of the application.
+   */
+  @JsonIgnore
+  public abstract String getApplication();
+
   public void delete() throws IOException {
     FileUtils.deleteDirectory(new File(getFilepath()));
   }
@@ -352,6 +379,42 @@ public abstract class Project {
     this.outputDeviceFile = outputDeviceFile;
   }
 
+  /**
+   * Getter for {@code job}.
+   *
+   * @return The value of {@code job}.
+   */
+  public JobStatus getJob() {
+    return job;
+  }
+
+  /**
+   * Setter for {@code job}.
+   *
+   * @param job The value to set {@code job}.
+   */
+  public void setJob(final JobStatus job) {
+    this.job = job;
+  }
+
+  /**
+   * Getter for {@code cacheKey}.
+   *
+   * @return The key of this project's outputs in the compile cache, or null if not cacheable.
+   */
+  public String getCacheKey() {
+    return cacheKey;
+  }
+
+  /**
+   * Setter for {@code cacheKey}.
+   *
+   * @param cacheKey The value to set {@code cacheKey}.
+   */
+  public void setCacheKey(final String cacheKey) {
+    this.cacheKey = cacheKey;
+  }
+
   /**
    * Getter for {@code results}.
    *
@@ -362,10 +425,8 @@ public abstract class Project {
    */
   public Collection<Result> getResults()
       throws JsonParseException, JsonMappingException, IOException {
-    ObjectMapper mapper = new ObjectMapper();
-    final File resultsPath = new File(getFilepath(), "results.json");
-    final Collection<Result> results =
-        mapper.readValue(resultsPath, new TypeReference<Collection<Result>>() {});
+    final File resultsPath = new File(getFilepath(), RESULTS_FILE);
+    final Collection<Result> results = RESULTS_READER.readValue(resultsPath);
     // Results are serialized with a base filename only. Add the full path back in.
     for (final Result result : results) {
       result.setFile(new File(this.getFilepath(), result.getFile().getName()));
@@ -53,4 +53,28 @@ public class ProjectFactory extends CObject {
     }
     return rtn;
   }
+
+  /**
+   * Create a new project of the specified type that shares its Verilog and netlist constraint
+   * files with other projects.
+   *
+   * @param user The user the project belongs to.
+   * @param specification The project specification.
+   * @param verilogFile The path to the shared Verilog file.
+   * @param netlistConstraintFile The path to the shared netlist constraint file.
+   * @return A new project.
+   * @throws ProjectException Unable to generate the project.
+   */
+  public Project getProject(
+      final ApplicationUser user,
+      final Specification specification,
+      final String verilogFile,
+      final String netlistConstraintFile)
+      throws ProjectException {
+    Project rtn = null;
+    if (specification.getSettings().getApplication().equals("DNACompiler")) {
+      rtn = new DNACompilerProject(user, specification, verilogFile, netlistConstraintFile);
+    }
+    return rtn;
+  }
 }
@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.project;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.cellocad.v2.results.common.Result;
+import org.cellocad.v2.webapp.results.ResultFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * A cache of the results of projects, parsed once from the results metadata of each project,
+ * indexed by file name, and classified by the result categories of the project's application.
+ * Projects are evicted least recently used first once the estimated size of their results, taken
+ * as the size of their metadata, exceeds the maximum.
+ *
+ * <p>The results of a project are invalidated when its job finishes or it is deleted, and are
+ * reloaded if the metadata changes otherwise, e.g. on another node.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+@Component
+public class ProjectResultsCache {
+
+  /** The results of a project, valid while its metadata keeps the same modification time. */
+  private static class Entry {
+
+    private final long modified;
+    private final long length;
+    private final Collection<Result> results;
+    private final Map<String, Result> index;
+    private final Map<String, List<Result>> categories;
+
+    private Entry(
+        final long modified,
+        final long length,
+        final Collection<Result> results,
+        final List<ResultFilter> filters) {
+      this.modified = modified;
+      this.length = length;
+      this.results = Collections.unmodifiableCollection(results);
+      this.index = new HashMap<>();
+      this.categories = new HashMap<>();
+      for (final ResultFilter filter : filters) {
+        categories.put(filter.getName(), new ArrayList<>());
+      }
+      for (final Result r : results) {
+        final String name = r.getFile().getName();
+        index.putIfAbsent(name, r);
+        for (final ResultFilter filter : filters) {
+          if (filter.matches(name)) {
+            categories.get(filter.getName()).add(r);
+          }
+        }
+      }
+    }
+  }
+
+  private final long maxSize;
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long size;
+
+  /**
+   * Initialize the cache.
+   *
+   * @param maxSize The estimated size, in megabytes, above which projects are evicted.
+   */
+  public ProjectResultsCache(
+      @Value("${cello.cache.project-results.max-size-mb:16}") final long maxSize) {
+    this.maxSize = maxSize * 1024 * 1024;
+  }
+
+  private Entry getEntry(final Project project) throws IOException {
+    final String key = project.getFilepath();
+    final File file = new File(key, Project.RESULTS_FILE);
+    final long modified = file.lastModified();
+    final long length = file.length();
+    synchronized (this) {
+      final Entry rtn = entries.get(key);
+      if (rtn != null && rtn.modified == modified && rtn.length == length) {
+        return rtn;
+      }
+    }
+    // parse outside the lock; results parsed twice concurrently are cached once
+    final Entry rtn =
+        new Entry(
+            modified,
+            length,
+            project.getResults(),
+            ResultFilter.getFilters(project.getApplication()));
+    synchronized (this) {
+      if (rtn.length <= maxSize) {
+        final Entry old = entries.put(key, rtn);
+        size += rtn.length - (old == null ? 0 : old.length);
+        evict();
+      }
+    }
+    return rtn;
+  }
+
+  /**
+   * Get the results of a project.
+   *
+   * @param project The project.
+   * @return The results, in the order of the results metadata.
+   * @throws IOException Unable to read or parse the results metadata.
+   */
+  public Collection<Result> getResults(final Project project) throws IOException {
+    return getEntry(project).results;
+  }
+
+  /**
+   * Get the results of a project in a category, e.g. {@code structure}.
+   *
+   * @param project The project.
+   * @param category The name of the category.
+   * @return The results in the category, in the order of the results metadata, or null if the
+   *     application of the project has no such category.
+   * @throws IOException Unable to read or parse the results metadata.
+   */
+  public Collection<Result> getResults(final Project project, final String category)
+      throws IOException {
+    final List<Result> rtn = getEntry(project).categories.get(category);
+    return rtn == null ? null : Collections.unmodifiableList(rtn);
+  }
+
+  /**
+   * Get the result of a project with the given file name.
+   *
+   * @param project The project.
+   * @param fileName The file name of the result.
+   * @return The result, or null if the project has no result with the name.
+   * @throws IOException Unable to read or parse the results metadata.
+   */
+  public Result getResult(final Project project, final String fileName) throws IOException {
+    return getEntry(project).index.get(fileName);
+  }
+
+  /**
+   * Forget the results of a project, e.g. after its job finishes or it is deleted.
+   *
+   * @param project The project.
+   */
+  public synchronized void invalidate(final Project project) {
+    final Entry old = entries.remove(project.getFilepath());
+    if (old != null) {
+      size -= old.length;
+    }
+  }
+
+  private void evict() {
+    final Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+    while (size > maxSize && it.hasNext()) {
+      size -= it.next().getValue().length;
+      it.remove();
+    }
+  }
+}
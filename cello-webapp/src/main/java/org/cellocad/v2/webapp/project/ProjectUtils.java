@@ -22,7 +22,38 @@
 
 package org.cellocad.v2.webapp.project;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.cellocad.v2.webapp.common.CompressionUtils;
+import org.cellocad.v2.webapp.common.HashUtils;
 import org.cellocad.v2.webapp.common.Utils;
+import org.cellocad.v2.webapp.exception.ProjectException;
+import org.cellocad.v2.webapp.specification.Specification;
 import org.cellocad.v2.webapp.user.ApplicationUser;
 import org.cellocad.v2.webapp.user.UserUtils;
 
@@ -34,6 +65,22 @@ import org.cellocad.v2.webapp.user.UserUtils;
  */
 public class ProjectUtils {
 
+  /** Extensions of outputs whose content is compressed already. */
+  private static final Set<String> COMPRESSED_EXTENSIONS =
+      new HashSet<>(Arrays.asList("gif", "gz", "jpeg", "jpg", "pdf", "png", "svgz", "zip"));
+
+  /**
+   * Prefix of the name of the cached archive of a project, and of its temporary files, kept in the
+   * project directory and left out of the archive itself.
+   */
+  public static final String ARCHIVE_PREFIX = ".archive-";
+
+  /**
+   * The time, in milliseconds, for which an archive of earlier contents is kept after it was last
+   * served, since a download may not have opened it yet.
+   */
+  private static final long ARCHIVE_GRACE = TimeUnit.MINUTES.toMillis(10);
+
   /**
    * Get the projects directory of a user.
    *
@@ -88,4 +135,270 @@ public class ProjectUtils {
   public static void initUserProjectDirectory(final ApplicationUser user, final String name) {
     createUserProjectDirectory(user, name);
   }
+
+  /**
+   * Get the directory holding the inputs shared by the projects of a parameter sweep.
+   *
+   * @param user The user.
+   * @param id The id of the sweep.
+   * @return The sweep directory.
+   */
+  public static String getUserSweepDirectory(final ApplicationUser user, final String id) {
+    String rtn = "";
+    rtn += UserUtils.getUserDirectory(user);
+    rtn += Utils.getFileSeparator();
+    rtn += "sweeps";
+    rtn += Utils.getFileSeparator();
+    rtn += id;
+    return rtn;
+  }
+
+  /**
+   * Create the directory holding the inputs shared by the projects of a parameter sweep.
+   *
+   * @param user The user.
+   * @param id The id of the sweep.
+   * @return The directory created.
+   */
+  public static String initUserSweepDirectory(final ApplicationUser user, final String id) {
+    final String rtn = getUserSweepDirectory(user, id);
+    new File(rtn).mkdirs();
+    return rtn;
+  }
+
+  /**
+   * Delete the directory of the inputs shared by the projects of a parameter sweep, once a project
+   * of the sweep has been deleted and no other project of the user uses it.
+   *
+   * @param user The user, whose projects no longer include the deleted project.
+   * @param project The deleted project.
+   * @throws IOException Unable to delete the directory.
+   */
+  public static void deleteUnusedSweepDirectory(final ApplicationUser user, final Project project)
+      throws IOException {
+    if (project.getVerilogFile() == null) {
+      return;
+    }
+    final Path dir = Paths.get(project.getVerilogFile()).getParent();
+    final Path sweeps = Paths.get(UserUtils.getUserDirectory(user), "sweeps");
+    if (dir == null || !sweeps.equals(dir.getParent())) {
+      return;
+    }
+    for (final Project p : user.getProjects()) {
+      if (p.getVerilogFile() != null && Paths.get(p.getVerilogFile()).startsWith(dir)) {
+        return;
+      }
+    }
+    FileUtils.deleteDirectory(dir.toFile());
+  }
+
+  /**
+   * Write the Verilog of a specification to a file.
+   *
+   * @param specification The project specification.
+   * @param filepath The path of the file to write.
+   * @throws ProjectException Unable to write the file.
+   */
+  public static void writeVerilogFile(final Specification specification, final String filepath)
+      throws ProjectException {
+    try {
+      Utils.createFile(filepath);
+    } catch (final IOException e) {
+      throw new ProjectException(e);
+    }
+    Utils.writeToFile(specification.getVerilog(), filepath);
+  }
+
+  /**
+   * Write the settings of a specification to an options file.
+   *
+   * @param specification The project specification.
+   * @param filepath The path of the file to write.
+   * @throws ProjectException Unable to write the file.
+   */
+  public static void writeOptionsFile(final Specification specification, final String filepath)
+      throws ProjectException {
+    try {
+      Utils.createFile(filepath);
+    } catch (final IOException e) {
+      throw new ProjectException(e);
+    }
+    Utils.writeToFile(specification.getSettings().toCSV(), filepath);
+  }
+
+  /**
+   * Write the constraints of a specification to a netlist constraint file.
+   *
+   * @param specification The project specification.
+   * @param filepath The path of the file to write.
+   * @throws ProjectException Unable to write the file.
+   */
+  public static void writeNetlistConstraintFile(
+      final Specification specification, final String filepath) throws ProjectException {
+    final ObjectMapper mapper = new ObjectMapper();
+    try {
+      Utils.createFile(filepath);
+      mapper
+          .writerWithDefaultPrettyPrinter()
+          .writeValue(new File(filepath), specification.getConstraints());
+    } catch (final IOException e) {
+      throw new ProjectException(e);
+    }
+  }
+
+  /**
+   * Compress the outputs of a finished project with the codec in use, if any. Its input files, and
+   * the descriptor of its results, are left as they are.
+   *
+   * @param project The project.
+   * @throws IOException Unable to compress an output.
+   */
+  public static void compressOutputs(final Project project) throws IOException {
+    final Set<String> excluded = new HashSet<>();
+    excluded.add(Project.RESULTS_FILE);
+    for (final String input :
+        new String[] {
+          project.getVerilogFile(), project.getOptionsFile(), project.getNetlistConstraintFile()
+        }) {
+      if (input != null) {
+        excluded.add(new File(input).getName());
+      }
+    }
+    CompressionUtils.compressDirectory(new File(project.getFilepath()), excluded);
+  }
+
+  private static boolean isCompressedFormat(final Path file) {
+    final String name = file.getFileName().toString();
+    final int i = name.lastIndexOf('.');
+    return i >= 0 && COMPRESSED_EXTENSIONS.contains(name.substring(i + 1).toLowerCase(Locale.ROOT));
+  }
+
+  private static long crc32(final Path file) throws IOException {
+    final CRC32 rtn = new CRC32();
+    final byte[] buffer = new byte[64 * 1024];
+    try (InputStream is = Files.newInputStream(file)) {
+      int n = 0;
+      while ((n = is.read(buffer)) != -1) {
+        rtn.update(buffer, 0, n);
+      }
+    }
+    return rtn.getValue();
+  }
+
+  /**
+   * Whether a file is the cached archive of a project, or a temporary file of one.
+   *
+   * @param file The file.
+   * @return Whether the file is an archive.
+   */
+  public static boolean isArchive(final File file) {
+    return file.getName().startsWith(ARCHIVE_PREFIX);
+  }
+
+  private static List<Path> listFiles(final Path dir) throws IOException {
+    final List<Path> rtn = new ArrayList<>();
+    try (Stream<Path> stream = Files.walk(dir)) {
+      stream
+          .filter(Files::isRegularFile)
+          .filter(p -> !isArchive(p.toFile()))
+          .sorted()
+          .forEach(rtn::add);
+    }
+    return rtn;
+  }
+
+  /**
+   * Get a fingerprint of the files of a project, from the path, size, and modification time of
+   * each. It changes whenever a file is added, removed, or rewritten, and reads no file.
+   *
+   * @param project The project.
+   * @return The fingerprint, as lowercase hexadecimal.
+   * @throws IOException Unable to list the files.
+   */
+  public static String getFingerprint(final Project project) throws IOException {
+    final Path dir = Paths.get(project.getFilepath());
+    final MessageDigest digest = HashUtils.getSha256Digest();
+    for (final Path file : listFiles(dir)) {
+      HashUtils.update(digest, dir.relativize(file).toString().replace('\\', '/'));
+      HashUtils.update(digest, Long.toString(Files.size(file)));
+      HashUtils.update(digest, Long.toString(Files.getLastModifiedTime(file).toMillis()));
+    }
+    return HashUtils.toHex(digest.digest());
+  }
+
+  /**
+   * Get the cached zip archive of the files of a project, building it first if the files have
+   * changed since it was last built. The archive is named by the fingerprint of the files, so a
+   * stale archive is never served, and is removed once a newer archive is built and it has not been
+   * served for a while.
+   *
+   * @param project The project.
+   * @param storeCompressed Whether to store outputs whose format is compressed already without
+   *     deflating them again.
+   * @return The archive.
+   * @throws IOException Unable to read a file or write the archive.
+   */
+  public static File getArchive(final Project project, final boolean storeCompressed)
+      throws IOException {
+    final Path dir = Paths.get(project.getFilepath());
+    final String suffix = storeCompressed ? ".stored.zip" : ".zip";
+    final Path rtn = dir.resolve(ARCHIVE_PREFIX + getFingerprint(project) + suffix);
+    if (Files.isRegularFile(rtn)) {
+      // the time it was last served, from which stale archives are kept for a grace period
+      Files.setLastModifiedTime(rtn, FileTime.fromMillis(System.currentTimeMillis()));
+      return rtn.toFile();
+    }
+    final Path tmp = dir.resolve(ARCHIVE_PREFIX + UUID.randomUUID() + ".tmp");
+    try {
+      try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+        writeArchive(project, os, storeCompressed);
+      }
+      Files.move(tmp, rtn, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+    // remove archives of earlier contents, leaving those still being built or recently served
+    final long stale = System.currentTimeMillis() - ARCHIVE_GRACE;
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, ARCHIVE_PREFIX + "*.zip")) {
+      for (final Path p : stream) {
+        if (!p.equals(rtn) && Files.getLastModifiedTime(p).toMillis() < stale) {
+          Files.deleteIfExists(p);
+        }
+      }
+    }
+    return rtn.toFile();
+  }
+
+  /**
+   * Write a zip archive of the files of a project, one file at a time, so that the archive is
+   * never held in memory. Files stored compressed are added uncompressed.
+   *
+   * @param project The project.
+   * @param os The stream to which to write the archive.
+   * @param storeCompressed Whether to store outputs whose format is compressed already, such as
+   *     images and PDFs, without deflating them again. Such files are read twice, once to compute
+   *     the checksum the zip format requires ahead of a stored entry.
+   * @throws IOException Unable to read a file or write the archive.
+   */
+  public static void writeArchive(
+      final Project project, final OutputStream os, final boolean storeCompressed)
+      throws IOException {
+    final Path dir = Paths.get(project.getFilepath());
+    final List<Path> files = listFiles(dir);
+    final ZipOutputStream zos = new ZipOutputStream(os);
+    for (final Path file : files) {
+      final ZipEntry entry = new ZipEntry(dir.relativize(file).toString().replace('\\', '/'));
+      if (storeCompressed && isCompressedFormat(file) && !CompressionUtils.isCompressed(file)) {
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(Files.size(file));
+        entry.setCrc(crc32(file));
+      }
+      zos.putNextEntry(entry);
+      try (InputStream is = CompressionUtils.newInputStream(file)) {
+        IOUtils.copy(is, zos);
+      }
+      zos.closeEntry();
+    }
+    zos.finish();
+  }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.project.batch;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A batch of projects submitted together.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+@Document(collection = "batches")
+public class ProjectBatch {
+
+  @Id private ObjectId id;
+  private String owner;
+  private Date created;
+  private List<ProjectBatchItem> items = new ArrayList<>();
+
+  public ProjectBatch() {}
+
+  /**
+   * Initialize a new batch.
+   *
+   * @param owner The name of the user who submitted the batch.
+   */
+  public ProjectBatch(final String owner) {
+    this.id = new ObjectId();
+    this.owner = owner;
+    this.created = new Date();
+  }
+
+  @JsonIgnore
+  public ObjectId getObjectId() {
+    return id;
+  }
+
+  /**
+   * Getter for {@code id}.
+   *
+   * @return The value of {@code id}, as a hexadecimal string.
+   */
+  public String getId() {
+    return id.toHexString();
+  }
+
+  /**
+   * Getter for {@code owner}.
+   *
+   * @return The value of {@code owner}.
+   */
+  @JsonIgnore
+  public String getOwner() {
+    return owner;
+  }
+
+  /**
+   * Getter for {@code created}.
+   *
+   * @return The value of {@code created}.
+   */
+  public Date getCreated() {
+    return created;
+  }
+
+  /**
+   * Getter for {@code items}.
+   *
+   * @return The value of {@code items}.
+   */
+  public List<ProjectBatchItem> getItems() {
+    return items;
+  }
+
+  /**
+   * Setter for {@code items}.
+   *
+   * @param items The value to set {@code items}.
+   */
+  public void setItems(final List<ProjectBatchItem> items) {
+    this.items = items;
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.project.batch;
+
+import java.util.Map;
+import org.cellocad.v2.webapp.job.JobStatus;
+
+/**
+ * One specification in a batch: the project it created and the status of its job, or the reason no
+ * project was created.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class ProjectBatchItem {
+
+  private String name;
+  private JobStatus job;
+  private String message;
+  private Map<String, String> parameters;
+
+  public ProjectBatchItem() {}
+
+  public ProjectBatchItem(final String name) {
+    this.name = name;
+  }
+
+  /**
+   * Getter for {@code name}.
+   *
+   * @return The value of {@code name}.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Setter for {@code name}.
+   *
+   * @param name The value to set {@code name}.
+   */
+  public void setName(final String name) {
+    this.name = name;
+  }
+
+  /**
+   * Getter for {@code job}.
+   *
+   * @return The value of {@code job}, or null if no project was created.
+   */
+  public JobStatus getJob() {
+    return job;
+  }
+
+  /**
+   * Setter for {@code job}.
+   *
+   * @param job The value to set {@code job}.
+   */
+  public void setJob(final JobStatus job) {
+    this.job = job;
+  }
+
+  /**
+   * Getter for {@code message}.
+   *
+   * @return The value of {@code message}.
+   */
+  public String getMessage() {
+    return message;
+  }
+
+  /**
+   * Setter for {@code message}.
+   *
+   * @param message The value to set {@code message}.
+   */
+  public void setMessage(final String message) {
+    this.message = message;
+  }
+
+  /**
+   * Getter for {@code parameters}.
+   *
+   * @return The settings swept to this item, or null if the item is not part of a sweep.
+   */
+  public Map<String, String> getParameters() {
+    return parameters;
+  }
+
+  /**
+   * Setter for {@code parameters}.
+   *
+   * @param parameters The value to set {@code parameters}.
+   */
+  public void setParameters(final Map<String, String> parameters) {
+    this.parameters = parameters;
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.project.batch;
+
+import java.util.Map;
+import org.cellocad.v2.webapp.job.JobState;
+
+/**
+ * One row of the summary of a parameter sweep.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class SweepRun {
+
+  private final String name;
+  private final Map<String, String> parameters;
+  private final JobState state;
+  private final Double score;
+  private final Long runtime;
+  private final String message;
+
+  /**
+   * Initialize a row.
+   *
+   * @param name The project name.
+   * @param parameters The settings swept to this run.
+   * @param state The state of the job, or null if no project was created.
+   * @param score The circuit score reported by the compiler, or null if none.
+   * @param runtime The time, in milliseconds, the job ran, or null if it has not finished.
+   * @param message A message about the run, e.g. why it failed.
+   */
+  public SweepRun(
+      final String name,
+      final Map<String, String> parameters,
+      final JobState state,
+      final Double score,
+      final Long runtime,
+      final String message) {
+    this.name = name;
+    this.parameters = parameters;
+    this.state = state;
+    this.score = score;
+    this.runtime = runtime;
+    this.message = message;
+  }
+
+  /**
+   * Getter for {@code name}.
+   *
+   * @return The value of {@code name}.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Getter for {@code parameters}.
+   *
+   * @return The value of {@code parameters}.
+   */
+  public Map<String, String> getParameters() {
+    return parameters;
+  }
+
+  /**
+   * Getter for {@code state}.
+   *
+   * @return The value of {@code state}.
+   */
+  public JobState getState() {
+    return state;
+  }
+
+  /**
+   * Getter for {@code score}.
+   *
+   * @return The value of {@code score}.
+   */
+  public Double getScore() {
+    return score;
+  }
+
+  /**
+   * Getter for {@code runtime}.
+   *
+   * @return The value of {@code runtime}.
+   */
+  public Long getRuntime() {
+    return runtime;
+  }
+
+  /**
+   * Getter for {@code message}.
+   *
+   * @return The value of {@code message}.
+   */
+  public String getMessage() {
+    return message;
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.project.batch;
+
+import java.util.Map;
+import org.cellocad.v2.webapp.specification.Specification;
+
+/**
+ * A parameter sweep: a base specification and the values to try for some of its settings. Each
+ * setting key is a stage name or a {@code stage.parameter} pair, as in {@link
+ * org.cellocad.v2.webapp.specification.settings.Settings}.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class SweepSpecification {
+
+  private Specification specification;
+  private Map<String, String[]> grid;
+  private Integer samples;
+  private Long seed;
+
+  /**
+   * Getter for {@code specification}.
+   *
+   * @return The value of {@code specification}.
+   */
+  public Specification getSpecification() {
+    return specification;
+  }
+
+  /**
+   * Setter for {@code specification}.
+   *
+   * @param specification The value to set {@code specification}.
+   */
+  public void setSpecification(final Specification specification) {
+    this.specification = specification;
+  }
+
+  /**
+   * Getter for {@code grid}.
+   *
+   * @return The values to try for each setting key.
+   */
+  public Map<String, String[]> getGrid() {
+    return grid;
+  }
+
+  /**
+   * Setter for {@code grid}.
+   *
+   * @param grid The value to set {@code grid}.
+   */
+  public void setGrid(final Map<String, String[]> grid) {
+    this.grid = grid;
+  }
+
+  /**
+   * Getter for {@code samples}.
+   *
+   * @return The number of grid points to sample at random, or null to run every point.
+   */
+  public Integer getSamples() {
+    return samples;
+  }
+
+  /**
+   * Setter for {@code samples}.
+   *
+   * @param samples The value to set {@code samples}.
+   */
+  public void setSamples(final Integer samples) {
+    this.samples = samples;
+  }
+
+  /**
+   * Getter for {@code seed}.
+   *
+   * @return The seed of the random sample, or null for a random seed.
+   */
+  public Long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Setter for {@code seed}.
+   *
+   * @param seed The value to set {@code seed}.
+   */
+  public void setSeed(final Long seed) {
+    this.seed = seed;
+  }
+}
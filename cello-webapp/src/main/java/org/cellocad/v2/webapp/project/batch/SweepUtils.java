@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.project.batch;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Utility methods for parameter sweeps.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public final class SweepUtils {
+
+  private SweepUtils() {}
+
+  /**
+   * Get the points of a sweep. Every point of the grid is returned, in order, unless a sample size
+   * smaller than the grid is given, in which case that many distinct points are drawn at random.
+   *
+   * @param grid The values to try for each setting key.
+   * @param samples The number of points to sample, or null for every point.
+   * @param seed The seed of the random sample.
+   * @param maxPoints The largest number of points allowed.
+   * @return The settings of each point.
+   * @throws IllegalArgumentException The grid is empty or has more than {@code maxPoints} points.
+   */
+  public static List<Map<String, String>> getPoints(
+      final Map<String, String[]> grid,
+      final Integer samples,
+      final long seed,
+      final int maxPoints) {
+    if (grid == null || grid.isEmpty()) {
+      throw new IllegalArgumentException("The sweep grid is empty.");
+    }
+    // sorted, so that point indices do not depend on the order of the request
+    final Map<String, String[]> sorted = new TreeMap<>(grid);
+    long size = 1;
+    for (final Map.Entry<String, String[]> e : sorted.entrySet()) {
+      if (e.getValue() == null || e.getValue().length == 0) {
+        throw new IllegalArgumentException("No values for setting " + e.getKey() + ".");
+      }
+      size = Math.min(size * e.getValue().length, Integer.MAX_VALUE);
+    }
+    final boolean sample = samples != null && samples > 0 && samples < size;
+    // checked before any index is drawn, so that a large sample costs nothing
+    if ((sample ? samples : size) > maxPoints) {
+      throw new IllegalArgumentException(
+          String.format("The sweep has more than %d points.", maxPoints));
+    }
+    final Set<Long> indices = new TreeSet<>();
+    if (sample) {
+      final Random random = new Random(seed);
+      while (indices.size() < samples) {
+        indices.add((long) (random.nextDouble() * size));
+      }
+    } else {
+      for (long i = 0; i < size; i++) {
+        indices.add(i);
+      }
+    }
+    final List<Map<String, String>> rtn = new ArrayList<>();
+    for (final long index : indices) {
+      rtn.add(getPoint(sorted, index));
+    }
+    return rtn;
+  }
+
+  /** Decode a point index, the last key varying fastest. */
+  private static Map<String, String> getPoint(final Map<String, String[]> grid, final long index) {
+    final List<String> keys = new ArrayList<>(grid.keySet());
+    final Map<String, String> rtn = new LinkedHashMap<>();
+    long rest = index;
+    for (int i = keys.size() - 1; i >= 0; i--) {
+      final String[] values = grid.get(keys.get(i));
+      rtn.put(keys.get(i), values[(int) (rest % values.length)]);
+      rest /= values.length;
+    }
+    final Map<String, String> ordered = new LinkedHashMap<>();
+    for (final String key : keys) {
+      ordered.put(key, rtn.get(key));
+    }
+    return ordered;
+  }
+}
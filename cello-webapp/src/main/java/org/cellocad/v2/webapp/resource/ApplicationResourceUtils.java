@@ -19,11 +19,8 @@
 
 package org.cellocad.v2.webapp.resource;
 
-import com.fasterxml.jackson.core.JsonGenerationException;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
-import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
@@ -32,20 +29,31 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import org.apache.commons.io.FileUtils;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.cellocad.v2.DNACompiler.runtime.environment.DNACompilerRuntimeEnv;
 import org.cellocad.v2.webapp.ApplicationUtils;
+import org.cellocad.v2.webapp.common.HashUtils;
 import org.cellocad.v2.webapp.common.Utils;
 import org.cellocad.v2.webapp.resource.library.InputSensorFileDescriptor;
 import org.cellocad.v2.webapp.resource.library.OutputDeviceFileDescriptor;
+import org.cellocad.v2.webapp.resource.library.TargetDataFileDescriptor;
 import org.cellocad.v2.webapp.resource.library.UserConstraintsFileDescriptor;
-import org.cellocad.v2.webapp.specification.library.serialization.HeaderSerializationConstants;
-import org.cellocad.v2.webapp.specification.library.serialization.LibrarySerializationConstants;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 
@@ -84,18 +92,15 @@ public class ApplicationResourceUtils {
   /**
    * Get the descriptors of the available user constraints files.
    *
-   * @return A collection of descriptors.
+   * @param store The store of target data descriptors.
+   * @return An unmodifiable collection of descriptors.
    * @throws JsonProcessingException Unable to deserialize descriptors.
    * @throws IOException Unable to read metadata file.
    */
-  public static Collection<UserConstraintsFileDescriptor> getUserConstraintsFileDescriptors()
-      throws JsonProcessingException, IOException {
+  public static Collection<UserConstraintsFileDescriptor> getUserConstraintsFileDescriptors(
+      final DescriptorStore store) throws JsonProcessingException, IOException {
     Collection<UserConstraintsFileDescriptor> rtn = null;
-    final ObjectMapper mapper = new ObjectMapper();
-    final String filepath = getUserConstraintsFileMetaDataFile();
-    rtn =
-        mapper.readValue(
-            new File(filepath), new TypeReference<List<UserConstraintsFileDescriptor>>() {});
+    rtn = store.getDescriptors(null, TargetDataKind.USER_CONSTRAINTS);
     return rtn;
   }
 
@@ -130,18 +135,15 @@ public class ApplicationResourceUtils {
   /**
    * Get the descriptors of the available input sensor files.
    *
-   * @return A collection of descriptors.
+   * @param store The store of target data descriptors.
+   * @return An unmodifiable collection of descriptors.
    * @throws JsonProcessingException Unable to deserialize descriptors.
    * @throws IOException Unable to read metadata file.
    */
-  public static Collection<InputSensorFileDescriptor> getInputSensorFileDescriptors()
-      throws JsonProcessingException, IOException {
+  public static Collection<InputSensorFileDescriptor> getInputSensorFileDescriptors(
+      final DescriptorStore store) throws JsonProcessingException, IOException {
     Collection<InputSensorFileDescriptor> rtn = null;
-    final ObjectMapper mapper = new ObjectMapper();
-    final String filepath = getInputSensorFileMetaDataFile();
-    rtn =
-        mapper.readValue(
-            new File(filepath), new TypeReference<List<InputSensorFileDescriptor>>() {});
+    rtn = store.getDescriptors(null, TargetDataKind.INPUT_SENSOR);
     return rtn;
   }
 
@@ -176,18 +178,15 @@ public class ApplicationResourceUtils {
   /**
    * Get the descriptors of the available output device files.
    *
-   * @return A collection of descriptors.
+   * @param store The store of target data descriptors.
+   * @return An unmodifiable collection of descriptors.
    * @throws JsonProcessingException Unable to deserialize descriptors.
    * @throws IOException Unable to read metadata file.
    */
-  public static Collection<OutputDeviceFileDescriptor> getOutputDeviceFileDescriptors()
-      throws JsonProcessingException, IOException {
+  public static Collection<OutputDeviceFileDescriptor> getOutputDeviceFileDescriptors(
+      final DescriptorStore store) throws JsonProcessingException, IOException {
     Collection<OutputDeviceFileDescriptor> rtn = null;
-    final ObjectMapper mapper = new ObjectMapper();
-    final String filepath = getOutputDeviceFileMetaDataFile();
-    rtn =
-        mapper.readValue(
-            new File(filepath), new TypeReference<List<OutputDeviceFileDescriptor>>() {});
+    rtn = store.getDescriptors(null, TargetDataKind.OUTPUT_DEVICE);
     return rtn;
   }
 
@@ -230,60 +229,113 @@ public class ApplicationResourceUtils {
     return rtn;
   }
 
-  private static void initMetaDataFile(final String filepath) throws IOException {
-    Utils.createFile(filepath);
-    // write empty array
-    final ObjectMapper mapper = new ObjectMapper();
-    final ArrayNode arr = mapper.createArrayNode();
-    Utils.writeToFile(arr.toString(), filepath);
-  }
-
-  // TODO use a descriptor class
-  private static void appendToMetaDataFile(
-      final String filepath, final File resource, final JsonNode header)
-      throws JsonGenerationException, JsonMappingException, IOException {
-    final ObjectMapper mapper = new ObjectMapper();
-    ArrayNode node = null;
-    try {
-      node = (ArrayNode) mapper.readTree(new File(filepath));
-    } catch (final IOException e) {
-      throw new RuntimeException("Error with file.");
+  /**
+   * Copy a bundled target data file to disk, unless the copy on disk, as recorded by its existing
+   * descriptor, has the same content. The blob of a replaced copy is released.
+   *
+   * @param kind The kind of file.
+   * @param resource The bundled file.
+   * @param existing The existing descriptor of the file, or null.
+   * @return The descriptor of the file.
+   * @throws IOException Unable to read or write the file.
+   */
+  private static TargetDataFileDescriptor initTargetDataFile(
+      final TargetDataKind kind, final Resource resource, final TargetDataFileDescriptor existing)
+      throws IOException {
+    final Path path = Paths.get(kind.getApplicationDirectory(), resource.getFilename());
+    if (existing != null && existing.getHash() != null && Files.isRegularFile(path)) {
+      try (InputStream is = resource.getInputStream()) {
+        if (existing.getHash().equals(HashUtils.sha256Hex(is))) {
+          return existing;
+        }
+      }
     }
-    final ObjectNode obj = mapper.createObjectNode();
-    obj.put("file", resource.getName());
-    obj.set("header", header);
-    obj.put("isPrivate", false);
-    node.add(obj);
-    final ObjectWriter writer = mapper.writer(new DefaultPrettyPrinter());
-    writer.writeValue(new File(filepath), node);
-    node = (ArrayNode) mapper.readTree(new File(filepath));
+    final TargetDataFileDescriptor rtn = kind.newDescriptor();
+    try (InputStream is = resource.getInputStream()) {
+      ResourceUtils.writeTargetDataFile(is, path, rtn, true);
+    }
+    // the replaced copy no longer holds the old blob
+    if (existing != null
+        && existing.getHash() != null
+        && !existing.getHash().equals(rtn.getHash())) {
+      BlobUtils.release(existing.getHash());
+    }
+    rtn.setFile(resource.getFilename());
+    rtn.setIsPrivate(false);
+    return rtn;
   }
 
   private static void initTargetDataResources(
-      final String dir, final String filepath, final String pattern) throws IOException {
+      final DescriptorStore store,
+      final TargetDataKind kind,
+      final String pattern,
+      final ExecutorService executor)
+      throws IOException {
+    final String dir = kind.getApplicationDirectory();
     Utils.makeDirectory(dir);
-    ApplicationResourceUtils.initMetaDataFile(filepath);
     final PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
     final Resource[] resources = resolver.getResources(pattern);
-    final ObjectMapper mapper = new ObjectMapper();
+    final Map<String, TargetDataFileDescriptor> existing = new HashMap<>();
+    for (final TargetDataFileDescriptor d : store.getDescriptors(null, kind)) {
+      existing.put(d.getFile(), d);
+    }
+    final List<Future<TargetDataFileDescriptor>> futures = new ArrayList<>();
     for (final Resource r : resources) {
-      final File f = new File(dir + Utils.getFileSeparator() + r.getFilename());
-      FileUtils.copyInputStreamToFile(r.getInputStream(), f);
-      final JsonNode node = mapper.readTree(f);
-      JsonNode collection = null;
-      for (final JsonNode n : node) {
-        if (n.get(LibrarySerializationConstants.S_UCF_COLLECTION)
-            .asText()
-            .equals(HeaderSerializationConstants.S_UCF_COLLECTION)) {
-          collection = n;
-          break;
+      final TargetDataFileDescriptor d = existing.get(r.getFilename());
+      futures.add(executor.submit(() -> initTargetDataFile(kind, r, d)));
+    }
+    final List<TargetDataFileDescriptor> descriptors = new ArrayList<>();
+    int copied = 0;
+    for (final Future<TargetDataFileDescriptor> f : futures) {
+      final TargetDataFileDescriptor d;
+      try {
+        d = f.get();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      } catch (final ExecutionException e) {
+        if (e.getCause() instanceof IOException) {
+          throw (IOException) e.getCause();
         }
+        throw new IOException(e.getCause());
+      }
+      if (d != existing.get(d.getFile())) {
+        copied++;
       }
-      ApplicationResourceUtils.appendToMetaDataFile(filepath, f, collection);
+      descriptors.add(d);
+    }
+    getLogger()
+        .info(
+            String.format(
+                "Copied %d of %d bundled %s resources.",
+                copied, descriptors.size(), kind.getLabel().toLowerCase(Locale.ROOT)));
+    // the metadata is written once, and only if it changed
+    final boolean removed =
+        descriptors.size() != existing.size()
+            || !descriptors.stream().allMatch(d -> existing.containsKey(d.getFile()));
+    if (copied > 0 || removed) {
+      store.setDescriptors(null, kind, descriptors);
+    }
+  }
+
+  private static void initTargetDataResources(final DescriptorStore store) throws IOException {
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            r -> {
+              final Thread rtn = new Thread(r, "cello-resource-init");
+              rtn.setDaemon(true);
+              return rtn;
+            });
+    try {
+      initTargetDataResources(store, executor);
+    } finally {
+      executor.shutdownNow();
     }
   }
 
-  private static void initTargetDataResources() throws IOException {
+  private static void initTargetDataResources(
+      final DescriptorStore store, final ExecutorService executor) throws IOException {
     // Create directory
     String baseDir = ApplicationResourceUtils.getTargetDataResourcesDirectory();
     getLogger().debug(String.format("Creating target data resources directory at %s.", baseDir));
@@ -301,7 +353,10 @@ public class ApplicationResourceUtils {
             String.format(
                 "Initializing user constraints file resources metadata at %s.", metadata));
     ApplicationResourceUtils.initTargetDataResources(
-        dir, metadata, "classpath:/lib/files/v2/ucf/**/*.UCF.json");
+        store,
+        TargetDataKind.USER_CONSTRAINTS,
+        "classpath:/lib/files/v2/ucf/**/*.UCF.json",
+        executor);
     // input sensor
     dir = ApplicationResourceUtils.getInputSensorFileResourcesDirectory();
     getLogger().debug(String.format("Creating input sensor file resources directory at %s.", dir));
@@ -309,7 +364,10 @@ public class ApplicationResourceUtils {
     getLogger()
         .debug(String.format("Initializing input sensor file resources metadata at %s.", metadata));
     ApplicationResourceUtils.initTargetDataResources(
-        dir, metadata, "classpath:/lib/files/v2/input/**/*.input.json");
+        store,
+        TargetDataKind.INPUT_SENSOR,
+        "classpath:/lib/files/v2/input/**/*.input.json",
+        executor);
     // output device
     dir = ApplicationResourceUtils.getOutputDeviceFileResourcesDirectory();
     getLogger().debug(String.format("Creating output device file resources directory at %s.", dir));
@@ -318,7 +376,10 @@ public class ApplicationResourceUtils {
         .debug(
             String.format("Initializing output device file resources metadata at %s.", metadata));
     ApplicationResourceUtils.initTargetDataResources(
-        dir, metadata, "classpath:/lib/files/v2/output/**/*.output.json");
+        store,
+        TargetDataKind.OUTPUT_DEVICE,
+        "classpath:/lib/files/v2/output/**/*.output.json",
+        executor);
   }
 
   private static ObjectNode getStageNode(final String name, final ArrayNode stages) {
@@ -390,16 +451,17 @@ public class ApplicationResourceUtils {
   /**
    * Initialize all resources.
    *
+   * @param store The store of target data descriptors.
    * @throws IOException Unable to read or write resources.
    */
-  public static void initApplicationResources() throws IOException {
+  public static void initApplicationResources(final DescriptorStore store) throws IOException {
     // Create directory
     String dir = ApplicationUtils.getResourcesDirectory();
     getLogger().debug(String.format("Creating resource directory at %s.", dir));
     Utils.makeDirectory(ApplicationUtils.getResourcesDirectory());
     // Initialize target data resources
     getLogger().debug("Initializing target data resources.");
-    ApplicationResourceUtils.initTargetDataResources();
+    ApplicationResourceUtils.initTargetDataResources(store);
     // Initialize settings description for webapp
     getLogger().debug("Initializing settings description.");
     ApplicationResourceUtils.initSettingsResources();
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.resource;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cellocad.v2.webapp.ApplicationUtils;
+
+/**
+ * A content-addressed store of target data files. Each distinct content is kept once, as a blob
+ * named by its SHA-256 hash, and every public or private copy of it is a hard link to that blob.
+ * The link count of the blob is its reference count: a blob whose only link is its own is no longer
+ * used, and is removed when the last copy is deleted. Where hard links are not supported the
+ * content is copied instead, and nothing is shared.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class BlobUtils {
+
+  private static final String NLINK = "unix:nlink";
+
+  private static volatile String blobsDirectory;
+
+  private static Logger getLogger() {
+    return LogManager.getLogger(BlobUtils.class);
+  }
+
+  /**
+   * Get the directory containing the blobs.
+   *
+   * @return The directory containing the blobs.
+   */
+  public static String getBlobsDirectory() {
+    final String rtn = blobsDirectory;
+    if (rtn != null) {
+      return rtn;
+    }
+    return Paths.get(ApplicationUtils.getResourcesDirectory(), "blobs").toString();
+  }
+
+  /**
+   * Set the directory containing the blobs, in place of the one in the resources directory.
+   *
+   * @param directory The directory containing the blobs, or null to use the resources directory.
+   */
+  static void setBlobsDirectory(final String directory) {
+    blobsDirectory = directory;
+  }
+
+  /**
+   * Get the path of the blob with the given hash.
+   *
+   * @param hash The SHA-256 hash of the content, as lowercase hexadecimal.
+   * @return The path of the blob.
+   */
+  public static Path getBlob(final String hash) {
+    return Paths.get(getBlobsDirectory(), hash.substring(0, 2), hash);
+  }
+
+  private static void linkOrCopy(final Path link, final Path target) throws IOException {
+    try {
+      Files.createLink(link, target);
+    } catch (final FileAlreadyExistsException | NoSuchFileException e) {
+      throw e;
+    } catch (final UnsupportedOperationException | FileSystemException e) {
+      Files.copy(target, link);
+    }
+  }
+
+  /**
+   * Store content as a blob, if no blob with its hash exists, and link a path to the blob.
+   *
+   * @param content A file holding the content, which is left in place.
+   * @param hash The SHA-256 hash of the content.
+   * @param path The path to link to the blob.
+   * @param replace Whether to replace an existing file at the path.
+   * @throws FileAlreadyExistsException A file exists at the path, and is not to be replaced.
+   * @throws IOException Unable to store the blob or link to it.
+   */
+  public static void link(
+      final Path content, final String hash, final Path path, final boolean replace)
+      throws FileAlreadyExistsException, IOException {
+    final Path blob = getBlob(hash);
+    // a blob may be removed between storing and linking, so try twice
+    for (int i = 0; ; i++) {
+      if (!Files.exists(blob)) {
+        Files.createDirectories(blob.getParent());
+        try {
+          linkOrCopy(blob, content);
+        } catch (final FileAlreadyExistsException e) {
+          // stored concurrently
+        }
+      }
+      try {
+        if (replace) {
+          final Path tmp = path.resolveSibling(path.getFileName() + "." + hash + ".tmp");
+          Files.deleteIfExists(tmp);
+          linkOrCopy(tmp, blob);
+          Files.move(
+              tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } else {
+          linkOrCopy(path, blob);
+        }
+        return;
+      } catch (final NoSuchFileException e) {
+        if (i > 0) {
+          throw e;
+        }
+      }
+    }
+  }
+
+  /**
+   * Release a reference to a blob, after a copy of it has been deleted. The blob is removed if no
+   * copies remain.
+   *
+   * @param hash The SHA-256 hash of the content.
+   */
+  public static void release(final String hash) {
+    final Path blob = getBlob(hash);
+    try {
+      if (Files.exists(blob) && ((Number) Files.getAttribute(blob, NLINK)).intValue() <= 1) {
+        Files.delete(blob);
+        getLogger().debug(String.format("Removed unused blob %s.", hash));
+      }
+    } catch (final UnsupportedOperationException | IllegalArgumentException e) {
+      // link counts unavailable, so keep the blob
+    } catch (final IOException e) {
+      getLogger().warn(String.format("Unable to release blob %s.", hash), e);
+    }
+  }
+}
@@ -0,0 +1,445 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.resource;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cellocad.v2.webapp.resource.library.TargetDataFileDescriptor;
+
+/**
+ * An in-memory registry of the descriptor lists held in target data {@code metadata.json} files.
+ * Each file is parsed once and kept until it is changed through the registry or its modification
+ * time, size, or file key changes on disk. Every snapshot is written to a temporary file and
+ * renamed into place, so a rewrite is seen through its new file key even within the resolution of
+ * the modification time. The disk check is throttled so that a burst of listings costs at most one
+ * {@code stat} per file per interval.
+ *
+ * <p>A metadata file is a snapshot plus an append-only log of the additions and removals made
+ * since, held in a sibling file with the suffix {@code .log}. A mutation holds the lock stripe of
+ * its metadata file, so uploads by different users proceed in parallel, and appends one line to
+ * the log under a file lock rather than rewriting the snapshot. Once a log holds enough records it
+ * is folded into a new snapshot in the background, and the snapshot is replaced with an atomic
+ * rename. Replaying a record is idempotent, so a log that outlives its compaction is harmless.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+class DescriptorRegistry {
+
+  static final long CHECK_INTERVAL_MS = 1000;
+  private static final int COMPACT_THRESHOLD = 32;
+  private static final int STRIPES = 64;
+
+  private static final String ADD = "add";
+  private static final String REMOVE = "remove";
+
+  private static final ObjectMapper mapper = new ObjectMapper();
+  private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private static final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+  private static final Set<String> compacting = ConcurrentHashMap.newKeySet();
+  private static volatile long checkInterval = CHECK_INTERVAL_MS;
+  private static final ExecutorService compactor =
+      Executors.newSingleThreadExecutor(
+          r -> {
+            final Thread t = new Thread(r, "cello-metadata-compactor");
+            t.setDaemon(true);
+            return t;
+          });
+
+  static {
+    for (int i = 0; i < STRIPES; i++) {
+      locks[i] = new ReentrantLock();
+    }
+  }
+
+  private static Logger getLogger() {
+    return LogManager.getLogger(DescriptorRegistry.class);
+  }
+
+  /**
+   * Get the attributes of a file.
+   *
+   * @return The attributes of the file, or null if it does not exist.
+   */
+  private static BasicFileAttributes getAttributes(final File file) {
+    try {
+      return Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+    } catch (final IOException e) {
+      return null;
+    }
+  }
+
+  private static class Entry {
+
+    private final List<?> descriptors;
+    private final FileTime modified;
+    private final long length;
+    private final Object key;
+    private final long logLength;
+    private final int logRecords;
+    private volatile long checked;
+
+    private Entry(
+        final List<?> descriptors, final File file, final File log, final int logRecords) {
+      final BasicFileAttributes attributes = getAttributes(file);
+      this.descriptors = Collections.unmodifiableList(descriptors);
+      this.modified = attributes == null ? null : attributes.lastModifiedTime();
+      this.length = attributes == null ? 0 : attributes.size();
+      this.key = attributes == null ? null : attributes.fileKey();
+      this.logLength = log.length();
+      this.logRecords = logRecords;
+      this.checked = System.currentTimeMillis();
+    }
+
+    private boolean matches(final File file, final File log) {
+      final BasicFileAttributes attributes = getAttributes(file);
+      if (attributes == null) {
+        return modified == null && log.length() == logLength;
+      }
+      return attributes.lastModifiedTime().equals(modified)
+          && attributes.size() == length
+          && Objects.equals(attributes.fileKey(), key)
+          && log.length() == logLength;
+    }
+
+    private boolean isCurrent(final File file, final File log) {
+      final long now = System.currentTimeMillis();
+      if (now - checked < checkInterval) {
+        return true;
+      }
+      if (!matches(file, log)) {
+        return false;
+      }
+      checked = now;
+      return true;
+    }
+  }
+
+  /**
+   * Get the log file of a metadata file.
+   *
+   * @param filepath The metadata file.
+   * @return The log file.
+   */
+  static String getLogFile(final String filepath) {
+    return filepath + ".log";
+  }
+
+  /**
+   * Set the least interval between checks of a metadata file on disk.
+   *
+   * @param interval The interval, in milliseconds.
+   */
+  static void setCheckInterval(final long interval) {
+    checkInterval = interval;
+  }
+
+  /**
+   * Wait for the compactions already scheduled to finish.
+   *
+   * @throws InterruptedException Interrupted while waiting.
+   */
+  static void awaitCompaction() throws InterruptedException {
+    try {
+      compactor.submit(() -> {}).get();
+    } catch (final ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private static ReentrantLock getLock(final String filepath) {
+    return locks[(filepath.hashCode() & 0x7fffffff) % STRIPES];
+  }
+
+  private static String getName(final TargetDataFileDescriptor descriptor) {
+    return Paths.get(descriptor.getFile()).getFileName().toString();
+  }
+
+  /**
+   * Apply a log record to a list of descriptors.
+   *
+   * @return Whether a descriptor was removed from the list.
+   */
+  private static <T extends TargetDataFileDescriptor> boolean apply(
+      final List<T> descriptors, final JsonNode record, final Class<T> type) throws IOException {
+    final String op = record.get("op").asText();
+    final String name = record.get("file").asText();
+    boolean rtn = false;
+    final Iterator<T> it = descriptors.iterator();
+    while (it.hasNext()) {
+      if (getName(it.next()).equals(name)) {
+        it.remove();
+        rtn = true;
+      }
+    }
+    if (op.equals(ADD)) {
+      descriptors.add(mapper.treeToValue(record.get("descriptor"), type));
+    }
+    return rtn;
+  }
+
+  private static <T extends TargetDataFileDescriptor> Entry load(
+      final String filepath, final Class<T> type) throws IOException {
+    final File file = new File(filepath);
+    final File log = new File(getLogFile(filepath));
+    final JavaType listType = mapper.getTypeFactory().constructCollectionType(List.class, type);
+    // a metadata file not yet written, e.g. on a new storage root, lists no descriptors
+    final List<T> descriptors =
+        file.exists() ? mapper.readValue(file, listType) : new ArrayList<>();
+    int records = 0;
+    if (log.exists()) {
+      for (final String line : Files.readAllLines(log.toPath(), StandardCharsets.UTF_8)) {
+        if (line.isEmpty()) {
+          continue;
+        }
+        try {
+          apply(descriptors, mapper.readTree(line), type);
+          records++;
+        } catch (final IOException | RuntimeException e) {
+          // a torn final line from an interrupted append
+          getLogger().warn(String.format("Skipping malformed record in %s.", log.getPath()));
+        }
+      }
+    }
+    return new Entry(descriptors, file, log, records);
+  }
+
+  /**
+   * Get the descriptors listed in a metadata file.
+   *
+   * @param <T> The descriptor type.
+   * @param filepath The metadata file.
+   * @param type The descriptor class.
+   * @return An unmodifiable list of descriptors, empty if the metadata file does not exist.
+   * @throws IOException Unable to read the metadata file.
+   */
+  @SuppressWarnings("unchecked")
+  static <T extends TargetDataFileDescriptor> List<T> get(
+      final String filepath, final Class<T> type) throws IOException {
+    Entry entry = entries.get(filepath);
+    if (entry == null || !entry.isCurrent(new File(filepath), new File(getLogFile(filepath)))) {
+      entry = load(filepath, type);
+      entries.put(filepath, entry);
+    }
+    return (List<T>) entry.descriptors;
+  }
+
+  /**
+   * Apply a log record to the descriptors of a metadata file and append it to the log. A removal
+   * that matches no descriptor is not logged.
+   *
+   * @return Whether a descriptor was removed.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T extends TargetDataFileDescriptor> boolean append(
+      final String filepath, final Class<T> type, final ObjectNode record) throws IOException {
+    final File file = new File(filepath);
+    final File log = new File(getLogFile(filepath));
+    final ReentrantLock lock = getLock(filepath);
+    lock.lock();
+    try (FileChannel channel =
+            FileChannel.open(
+                log.toPath(),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        FileLock fileLock = channel.lock()) {
+      Entry entry = entries.get(filepath);
+      if (entry == null || !entry.matches(file, log)) {
+        // another process has changed the file since it was read
+        entry = load(filepath, type);
+      }
+      final List<T> descriptors = new ArrayList<>((List<T>) entry.descriptors);
+      final boolean rtn = apply(descriptors, record, type);
+      if (!rtn && record.get("op").asText().equals(REMOVE)) {
+        return rtn;
+      }
+      final String line = mapper.writeValueAsString(record) + "\n";
+      channel.write(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+      channel.force(false);
+      final int records = entry.logRecords + 1;
+      entries.put(filepath, new Entry(descriptors, file, log, records));
+      if (records >= COMPACT_THRESHOLD && compacting.add(filepath)) {
+        compactor.execute(() -> compact(filepath, type));
+      }
+      return rtn;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Add a descriptor to a metadata file, replacing any descriptor of a file with the same name.
+   *
+   * @param <T> The descriptor type.
+   * @param filepath The metadata file.
+   * @param type The descriptor class.
+   * @param descriptor The descriptor.
+   * @throws IOException Unable to read or write the metadata file.
+   */
+  static <T extends TargetDataFileDescriptor> void add(
+      final String filepath, final Class<T> type, final T descriptor) throws IOException {
+    final ObjectNode record = mapper.createObjectNode();
+    record.put("op", ADD);
+    record.put("file", getName(descriptor));
+    record.set("descriptor", mapper.valueToTree(descriptor));
+    append(filepath, type, record);
+  }
+
+  /**
+   * Remove the descriptor of a file from a metadata file.
+   *
+   * @param <T> The descriptor type.
+   * @param filepath The metadata file.
+   * @param type The descriptor class.
+   * @param fileName The file name.
+   * @return Whether the metadata file held a descriptor of the file.
+   * @throws IOException Unable to read or write the metadata file.
+   */
+  static <T extends TargetDataFileDescriptor> boolean remove(
+      final String filepath, final Class<T> type, final String fileName) throws IOException {
+    final ObjectNode record = mapper.createObjectNode();
+    record.put("op", REMOVE);
+    record.put("file", fileName);
+    return append(filepath, type, record);
+  }
+
+  private static void writeSnapshot(final String filepath, final Collection<?> descriptors)
+      throws IOException {
+    final Path snapshot = Paths.get(filepath);
+    final Path tmp = Files.createTempFile(snapshot.getParent(), "metadata", ".tmp");
+    try {
+      final ByteBuffer buffer = ByteBuffer.wrap(mapper.writeValueAsBytes(descriptors));
+      try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        // the content must be durable before the rename makes it visible
+        channel.force(true);
+      }
+      Files.move(
+          tmp, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+  }
+
+  /**
+   * Fold the log of a metadata file into a new snapshot. The snapshot is written to a temporary
+   * file and renamed over the old one, and the log is truncated while its file lock is held, so
+   * that appends from other processes are neither lost nor applied twice.
+   *
+   * @param <T> The descriptor type.
+   * @param filepath The metadata file.
+   * @param type The descriptor class.
+   */
+  private static <T extends TargetDataFileDescriptor> void compact(
+      final String filepath, final Class<T> type) {
+    final ReentrantLock lock = getLock(filepath);
+    lock.lock();
+    try (FileChannel channel =
+            FileChannel.open(
+                Paths.get(getLogFile(filepath)),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        FileLock fileLock = channel.lock()) {
+      final Entry entry = load(filepath, type);
+      writeSnapshot(filepath, entry.descriptors);
+      channel.truncate(0);
+      channel.force(true);
+      entries.put(
+          filepath,
+          new Entry(
+              new ArrayList<>(entry.descriptors),
+              new File(filepath),
+              new File(getLogFile(filepath)),
+              0));
+    } catch (final IOException e) {
+      getLogger().warn(String.format("Unable to compact %s.", filepath), e);
+    } finally {
+      compacting.remove(filepath);
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Drop the registry entry for a metadata file, so that the next read goes to disk.
+   *
+   * @param filepath The metadata file.
+   */
+  static void invalidate(final String filepath) {
+    entries.remove(filepath);
+  }
+
+  /**
+   * Replace the descriptors of a metadata file, discarding its log.
+   *
+   * @param filepath The metadata file.
+   * @param descriptors The descriptors.
+   * @throws IOException Unable to write the metadata file.
+   */
+  static void put(final String filepath, final Collection<?> descriptors) throws IOException {
+    final ReentrantLock lock = getLock(filepath);
+    lock.lock();
+    try (FileChannel channel =
+            FileChannel.open(
+                Paths.get(getLogFile(filepath)),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        FileLock fileLock = channel.lock()) {
+      writeSnapshot(filepath, descriptors);
+      channel.truncate(0);
+      channel.force(true);
+      entries.remove(filepath);
+    } finally {
+      lock.unlock();
+    }
+  }
+}
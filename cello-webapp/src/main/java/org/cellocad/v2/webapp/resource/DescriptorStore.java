@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.resource;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import org.cellocad.v2.webapp.resource.library.TargetDataFileDescriptor;
+import org.cellocad.v2.webapp.user.ApplicationUser;
+
+/**
+ * Storage for the descriptors of target data files. The descriptors of a kind are kept per owner,
+ * where the owner is a user or, if null, the application itself for the public files.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public interface DescriptorStore {
+
+  /**
+   * Get the descriptors of an owner's files of a kind.
+   *
+   * @param <T> The descriptor type of the kind.
+   * @param user The owner, or null for the public files.
+   * @param kind The kind of file.
+   * @return An unmodifiable list of descriptors.
+   * @throws IOException Unable to read descriptors.
+   */
+  <T extends TargetDataFileDescriptor> List<T> getDescriptors(
+      ApplicationUser user, TargetDataKind kind) throws IOException;
+
+  /**
+   * Get the descriptor of one of an owner's files.
+   *
+   * @param user The owner, or null for the public files.
+   * @param kind The kind of file.
+   * @param fileName The file name.
+   * @return The descriptor, or null if the owner has no such file.
+   * @throws IOException Unable to read descriptors.
+   */
+  TargetDataFileDescriptor getDescriptor(ApplicationUser user, TargetDataKind kind, String fileName)
+      throws IOException;
+
+  /**
+   * Add a descriptor, replacing any descriptor of the owner's file with the same name.
+   *
+   * @param user The owner, or null for the public files.
+   * @param kind The kind of file.
+   * @param descriptor The descriptor.
+   * @throws IOException Unable to write descriptors.
+   */
+  void addDescriptor(ApplicationUser user, TargetDataKind kind, TargetDataFileDescriptor descriptor)
+      throws IOException;
+
+  /**
+   * Remove the descriptor of one of an owner's files.
+   *
+   * @param user The owner, or null for the public files.
+   * @param kind The kind of file.
+   * @param fileName The file name.
+   * @return Whether the owner had a descriptor of the file.
+   * @throws IOException Unable to write descriptors.
+   */
+  boolean removeDescriptor(ApplicationUser user, TargetDataKind kind, String fileName)
+      throws IOException;
+
+  /**
+   * Replace all the descriptors of an owner's files of a kind.
+   *
+   * @param user The owner, or null for the public files.
+   * @param kind The kind of file.
+   * @param descriptors The descriptors.
+   * @throws IOException Unable to write descriptors.
+   */
+  void setDescriptors(
+      ApplicationUser user,
+      TargetDataKind kind,
+      Collection<? extends TargetDataFileDescriptor> descriptors)
+      throws IOException;
+}
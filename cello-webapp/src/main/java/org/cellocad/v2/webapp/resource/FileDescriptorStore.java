@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.resource;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.cellocad.v2.webapp.resource.library.TargetDataFileDescriptor;
+import org.cellocad.v2.webapp.user.ApplicationUser;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * A descriptor store that keeps the descriptors of each owner and kind in a {@code metadata.json}
+ * file beside the files themselves, read through the {@link DescriptorRegistry}. Each metadata
+ * file gets a hash index from file name to descriptor, rebuilt only when the registry reloads it.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+@Component
+@ConditionalOnProperty(
+    name = "cello.resources.descriptor-store",
+    havingValue = "file",
+    matchIfMissing = true)
+public class FileDescriptorStore implements DescriptorStore {
+
+  private final Map<String, Index> indexes = new ConcurrentHashMap<>();
+
+  private static class Index {
+
+    private final List<?> descriptors;
+    private final Map<String, TargetDataFileDescriptor> names;
+
+    private Index(final List<? extends TargetDataFileDescriptor> descriptors) {
+      this.descriptors = descriptors;
+      this.names = new HashMap<>();
+      for (final TargetDataFileDescriptor d : descriptors) {
+        names.putIfAbsent(Paths.get(d.getFile()).getFileName().toString(), d);
+      }
+    }
+  }
+
+  private static String getMetaDataFile(final ApplicationUser user, final TargetDataKind kind) {
+    return user == null ? kind.getApplicationMetaDataFile() : kind.getUserMetaDataFile(user);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T extends TargetDataFileDescriptor> List<T> getDescriptors(
+      final ApplicationUser user, final TargetDataKind kind) throws IOException {
+    return (List<T>) DescriptorRegistry.get(getMetaDataFile(user, kind), kind.getDescriptorClass());
+  }
+
+  @Override
+  public TargetDataFileDescriptor getDescriptor(
+      final ApplicationUser user, final TargetDataKind kind, final String fileName)
+      throws IOException {
+    final String filepath = getMetaDataFile(user, kind);
+    final List<? extends TargetDataFileDescriptor> descriptors =
+        DescriptorRegistry.get(filepath, kind.getDescriptorClass());
+    Index index = indexes.get(filepath);
+    if (index == null || index.descriptors != descriptors) {
+      index = new Index(descriptors);
+      indexes.put(filepath, index);
+    }
+    return index.names.get(fileName);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void addDescriptor(
+      final ApplicationUser user,
+      final TargetDataKind kind,
+      final TargetDataFileDescriptor descriptor)
+      throws IOException {
+    DescriptorRegistry.add(
+        getMetaDataFile(user, kind),
+        (Class<TargetDataFileDescriptor>) kind.getDescriptorClass(),
+        descriptor);
+  }
+
+  @Override
+  public boolean removeDescriptor(
+      final ApplicationUser user, final TargetDataKind kind, final String fileName)
+      throws IOException {
+    return DescriptorRegistry.remove(
+        getMetaDataFile(user, kind), kind.getDescriptorClass(), fileName);
+  }
+
+  @Override
+  public void setDescriptors(
+      final ApplicationUser user,
+      final TargetDataKind kind,
+      final Collection<? extends TargetDataFileDescriptor> descriptors)
+      throws IOException {
+    DescriptorRegistry.put(getMetaDataFile(user, kind), descriptors);
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.resource;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.cellocad.v2.webapp.resource.library.TargetDataFileDescriptor;
+import org.cellocad.v2.webapp.user.ApplicationUser;
+
+/**
+ * A descriptor store that remembers the descriptors it has looked up in another store, so that a
+ * batch of requests naming the same files reads each descriptor once. It is meant to live for one
+ * batch and is not thread safe; any write goes through to the other store and forgets what was
+ * remembered.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class MemoizedDescriptorStore implements DescriptorStore {
+
+  private final DescriptorStore store;
+  private final Map<String, TargetDataFileDescriptor> descriptors = new HashMap<>();
+
+  /**
+   * Create a store that remembers the descriptors looked up in another.
+   *
+   * @param store The store to look descriptors up in.
+   */
+  public MemoizedDescriptorStore(final DescriptorStore store) {
+    this.store = store;
+  }
+
+  private static String getKey(
+      final ApplicationUser user, final TargetDataKind kind, final String fileName) {
+    final String owner = user == null ? "" : user.getUsername();
+    return owner + "/" + kind.name() + "/" + fileName;
+  }
+
+  @Override
+  public <T extends TargetDataFileDescriptor> List<T> getDescriptors(
+      final ApplicationUser user, final TargetDataKind kind) throws IOException {
+    return store.getDescriptors(user, kind);
+  }
+
+  @Override
+  public TargetDataFileDescriptor getDescriptor(
+      final ApplicationUser user, final TargetDataKind kind, final String fileName)
+      throws IOException {
+    final String key = getKey(user, kind, fileName);
+    if (descriptors.containsKey(key)) {
+      return descriptors.get(key);
+    }
+    final TargetDataFileDescriptor descriptor = store.getDescriptor(user, kind, fileName);
+    descriptors.put(key, descriptor);
+    return descriptor;
+  }
+
+  @Override
+  public void addDescriptor(
+      final ApplicationUser user,
+      final TargetDataKind kind,
+      final TargetDataFileDescriptor descriptor)
+      throws IOException {
+    descriptors.clear();
+    store.addDescriptor(user, kind, descriptor);
+  }
+
+  @Override
+  public boolean removeDescriptor(
+      final ApplicationUser user, final TargetDataKind kind, final String fileName)
+      throws IOException {
+    descriptors.clear();
+    return store.removeDescriptor(user, kind, fileName);
+  }
+
+  @Override
+  public void setDescriptors(
+      final ApplicationUser user,
+      final TargetDataKind kind,
+      final Collection<? extends TargetDataFileDescriptor> descriptors)
+      throws IOException {
+    this.descriptors.clear();
+    store.setDescriptors(user, kind, descriptors);
+  }
+}
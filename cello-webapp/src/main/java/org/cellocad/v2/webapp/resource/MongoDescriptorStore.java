@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.PostConstruct;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cellocad.v2.webapp.resource.library.TargetDataFileDescriptor;
+import org.cellocad.v2.webapp.user.ApplicationUser;
+import org.cellocad.v2.webapp.user.UserUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * A descriptor store backed by the {@code descriptors} collection, so that every node of a
+ * deployment sees the same descriptors. Listings and name lookups are served by the compound
+ * indexes of {@link TargetDataFileRecord}, and every change is a single upsert or delete.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+@Component
+@ConditionalOnProperty(name = "cello.resources.descriptor-store", havingValue = "mongo")
+public class MongoDescriptorStore implements DescriptorStore {
+
+  private static final String OWNER = "owner";
+  private static final String KIND = "kind";
+  private static final String NAME = "name";
+  private static final String FILE = "file";
+  private static final String HEADER = "header";
+  private static final String HASH = "hash";
+  private static final String IS_PRIVATE = "isPrivate";
+  private static final String IMPORTED_SUFFIX = ".imported";
+
+  private final MongoTemplate mongoTemplate;
+
+  private static Logger getLogger() {
+    return LogManager.getLogger(MongoDescriptorStore.class);
+  }
+
+  /**
+   * Initialize the store.
+   *
+   * @param mongoTemplate The Mongo template.
+   */
+  public MongoDescriptorStore(final MongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  /**
+   * Import the descriptors of user files from the metadata files of a file-backed deployment. A
+   * marker file beside each imported metadata file prevents it being imported twice.
+   *
+   * @throws IOException Unable to read a metadata file.
+   */
+  @PostConstruct
+  void init() throws IOException {
+    final File[] dirs = new File(UserUtils.getUsersDirectory()).listFiles(File::isDirectory);
+    if (dirs == null) {
+      return;
+    }
+    for (final File dir : dirs) {
+      final ApplicationUser user = new ApplicationUser();
+      user.setUsername(dir.getName());
+      for (final TargetDataKind kind : TargetDataKind.values()) {
+        final String filepath = kind.getUserMetaDataFile(user);
+        final File marker = new File(filepath + IMPORTED_SUFFIX);
+        if (!new File(filepath).exists() || marker.exists()) {
+          continue;
+        }
+        final List<? extends TargetDataFileDescriptor> descriptors =
+            DescriptorRegistry.get(filepath, kind.getDescriptorClass());
+        for (final TargetDataFileDescriptor d : descriptors) {
+          addDescriptor(user, kind, d);
+        }
+        marker.createNewFile();
+        getLogger()
+            .info(String.format("Imported %d descriptors from %s.", descriptors.size(), filepath));
+      }
+    }
+  }
+
+  private static String getName(final String file) {
+    return Paths.get(file).getFileName().toString();
+  }
+
+  private static Criteria byOwner(final ApplicationUser user, final TargetDataKind kind) {
+    return Criteria.where(OWNER).is(user == null ? null : user.getUsername()).and(KIND).is(kind);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T extends TargetDataFileDescriptor> List<T> getDescriptors(
+      final ApplicationUser user, final TargetDataKind kind) throws IOException {
+    final Query query =
+        new Query(byOwner(user, kind))
+            .with(Sort.by(HEADER + ".organism", HEADER + ".version", NAME));
+    final List<T> rtn = new ArrayList<>();
+    for (final TargetDataFileRecord r : mongoTemplate.find(query, TargetDataFileRecord.class)) {
+      rtn.add((T) r.toDescriptor());
+    }
+    return Collections.unmodifiableList(rtn);
+  }
+
+  @Override
+  public TargetDataFileDescriptor getDescriptor(
+      final ApplicationUser user, final TargetDataKind kind, final String fileName)
+      throws IOException {
+    final Query query = new Query(byOwner(user, kind).and(NAME).is(fileName));
+    final TargetDataFileRecord record = mongoTemplate.findOne(query, TargetDataFileRecord.class);
+    return record == null ? null : record.toDescriptor();
+  }
+
+  @Override
+  public void addDescriptor(
+      final ApplicationUser user,
+      final TargetDataKind kind,
+      final TargetDataFileDescriptor descriptor)
+      throws IOException {
+    final String name = getName(descriptor.getFile());
+    final Query query = new Query(byOwner(user, kind).and(NAME).is(name));
+    final Update update =
+        new Update()
+            .set(FILE, descriptor.getFile())
+            .set(HEADER, descriptor.getHeader())
+            .set(HASH, descriptor.getHash())
+            .set(IS_PRIVATE, descriptor.getIsPrivate());
+    mongoTemplate.upsert(query, update, TargetDataFileRecord.class);
+  }
+
+  @Override
+  public boolean removeDescriptor(
+      final ApplicationUser user, final TargetDataKind kind, final String fileName)
+      throws IOException {
+    final Query query = new Query(byOwner(user, kind).and(NAME).is(fileName));
+    return mongoTemplate.remove(query, TargetDataFileRecord.class).getDeletedCount() > 0;
+  }
+
+  @Override
+  public void setDescriptors(
+      final ApplicationUser user,
+      final TargetDataKind kind,
+      final Collection<? extends TargetDataFileDescriptor> descriptors)
+      throws IOException {
+    final List<String> names = new ArrayList<>();
+    for (final TargetDataFileDescriptor d : descriptors) {
+      addDescriptor(user, kind, d);
+      names.add(getName(d.getFile()));
+    }
+    final Query query = new Query(byOwner(user, kind).and(NAME).nin(names));
+    mongoTemplate.remove(query, TargetDataFileRecord.class);
+  }
+}
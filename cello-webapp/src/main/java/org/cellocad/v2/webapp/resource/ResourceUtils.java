@@ -22,10 +22,29 @@
 
 package org.cellocad.v2.webapp.resource;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
-import org.cellocad.v2.webapp.common.Utils;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.TeeInputStream;
+import org.apache.commons.io.output.NullOutputStream;
+import org.cellocad.v2.webapp.common.CompressionUtils;
+import org.cellocad.v2.webapp.common.HashUtils;
+import org.cellocad.v2.webapp.exception.CelloWebException;
+import org.cellocad.v2.webapp.resource.library.Header;
+import org.cellocad.v2.webapp.resource.library.TargetDataFileDescriptor;
 
 /**
  * General utilities for resources.
@@ -35,11 +54,129 @@ import org.cellocad.v2.webapp.common.Utils;
  */
 public class ResourceUtils {
 
-  static void initMetaDataFile(final String filepath) throws IOException {
-    Utils.createFile(filepath);
-    // write empty array
-    final ObjectMapper mapper = new ObjectMapper();
-    final ArrayNode arr = mapper.createArrayNode();
-    Utils.writeToFile(arr.toString(), filepath);
+  private static final String COLLECTION = "collection";
+  private static final String HEADER = "header";
+  private static final ObjectMapper mapper = new ObjectMapper();
+
+  /**
+   * Copy a target data file to disk while validating it as a JSON array of collections. The bytes
+   * are written to a temporary file and hashed as they are parsed, and only the fields of the
+   * header collection are kept in memory; any other collection is skipped once its name has been
+   * read. The file is stored compressed if compression is in use, though its hash is that of the
+   * uncompressed bytes. On success the content is stored in the blob store, if it is not there
+   * already, and the path is linked to the blob.
+   *
+   * @param is The contents of the file.
+   * @param path The path to which to copy the file.
+   * @param descriptor The descriptor in which to set the header and hash of the file.
+   * @param replace Whether to replace an existing file at the path.
+   * @throws JsonProcessingException The file is not a JSON array of collections.
+   * @throws FileAlreadyExistsException The file already exists, and is not to be replaced.
+   * @throws IOException Unable to read or write the file.
+   */
+  static void writeTargetDataFile(
+      final InputStream is,
+      final Path path,
+      final TargetDataFileDescriptor descriptor,
+      final boolean replace)
+      throws JsonProcessingException, FileAlreadyExistsException, IOException {
+    writeTargetDataFile(is, path, descriptor, replace, false);
+  }
+
+  /**
+   * Copy a user constraints file to disk as {@link #writeTargetDataFile(InputStream, Path,
+   * TargetDataFileDescriptor, boolean)} does, but only if it has a header collection. A file with
+   * no header is rejected before anything is linked at the path.
+   *
+   * @param is The contents of the file.
+   * @param path The path to which to copy the file.
+   * @param descriptor The descriptor in which to set the header and hash of the file.
+   * @throws JsonProcessingException The file is not a JSON array of collections.
+   * @throws FileAlreadyExistsException The file already exists.
+   * @throws IOException Unable to read or write the file.
+   * @throws CelloWebException The file has no header collection.
+   */
+  static void writeUserConstraintsFile(
+      final InputStream is, final Path path, final TargetDataFileDescriptor descriptor)
+      throws JsonProcessingException, FileAlreadyExistsException, IOException, CelloWebException {
+    if (!writeTargetDataFile(is, path, descriptor, false, true)) {
+      throw new CelloWebException("No header found in user constraints file.");
+    }
+  }
+
+  /**
+   * Copy a target data file to disk, as {@link #writeTargetDataFile(InputStream, Path,
+   * TargetDataFileDescriptor, boolean)} does.
+   *
+   * @return False if a header is required and the file has none, in which case nothing is linked.
+   */
+  private static boolean writeTargetDataFile(
+      final InputStream is,
+      final Path path,
+      final TargetDataFileDescriptor descriptor,
+      final boolean replace,
+      final boolean requireHeader)
+      throws JsonProcessingException, FileAlreadyExistsException, IOException {
+    Header header = null;
+    final MessageDigest digest = HashUtils.getSha256Digest();
+    final Path tmp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+    try {
+      try (OutputStream os =
+              new DigestOutputStream(
+                  CompressionUtils.newOutputStream(
+                      new BufferedOutputStream(Files.newOutputStream(tmp)),
+                      CompressionUtils.getCodec()),
+                  digest);
+          InputStream tee = new TeeInputStream(is, os);
+          JsonParser parser = mapper.getFactory().createParser(tee)) {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+          throw new JsonParseException(parser, "Expected an array of collections.");
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+          final ObjectNode collection = readCollection(parser);
+          if (collection != null) {
+            header = mapper.treeToValue(collection, Header.class);
+          }
+        }
+        if (parser.currentToken() != JsonToken.END_ARRAY || parser.nextToken() != null) {
+          throw new JsonParseException(parser, "Expected an array of collections.");
+        }
+        IOUtils.copy(tee, NullOutputStream.NULL_OUTPUT_STREAM);
+      }
+      if (requireHeader && header == null) {
+        return false;
+      }
+      final String hash = HashUtils.toHex(digest.digest());
+      BlobUtils.link(tmp, hash, path, replace);
+      descriptor.setHeader(header);
+      descriptor.setHash(hash);
+      return true;
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+  }
+
+  /**
+   * Read the collection at the current position of a parser.
+   *
+   * @return The collection if it is the header, otherwise null.
+   */
+  private static ObjectNode readCollection(final JsonParser parser) throws IOException {
+    final ObjectNode rtn = mapper.createObjectNode();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String field = parser.getCurrentName();
+      parser.nextToken();
+      if (field.equals(COLLECTION) && !parser.getText().equals(HEADER)) {
+        // skip the rest of the collection
+        JsonToken token = parser.currentToken();
+        while (token != JsonToken.END_OBJECT && token != null) {
+          parser.skipChildren();
+          token = parser.nextToken();
+        }
+        return null;
+      }
+      rtn.set(field, mapper.readTree(parser));
+    }
+    return rtn.has(COLLECTION) ? rtn : null;
   }
 }
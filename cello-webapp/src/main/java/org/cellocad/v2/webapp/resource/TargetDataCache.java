@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.cellocad.v2.webapp.common.CompressionUtils;
+import org.cellocad.v2.webapp.common.HashUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * A cache of parsed target data files, keyed by the SHA-256 hash of their content, so that a file
+ * shared by many users and projects is parsed once. Documents are evicted least recently used first
+ * once their estimated size exceeds the maximum.
+ *
+ * <p>The hash of a file is taken from its descriptor where one is given. Otherwise it is computed
+ * from the file, and remembered for as long as the file keeps the same modification time and
+ * length.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+@Component
+public class TargetDataCache {
+
+  /** A hash, valid while the file keeps the same modification time and length. */
+  private static class Tag {
+
+    private final long modified;
+    private final long length;
+    private final String hash;
+
+    private Tag(final long modified, final long length, final String hash) {
+      this.modified = modified;
+      this.length = length;
+      this.hash = hash;
+    }
+  }
+
+  private final long maxSize;
+  private final LinkedHashMap<String, TargetDataDocument> documents =
+      new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<Path, Tag> tags = new ConcurrentHashMap<>();
+  private long size;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  /**
+   * Initialize the cache.
+   *
+   * @param maxSize The estimated size, in megabytes, above which documents are evicted.
+   */
+  public TargetDataCache(@Value("${cello.cache.target-data.max-size-mb:64}") final long maxSize) {
+    this.maxSize = maxSize * 1024 * 1024;
+  }
+
+  /**
+   * Get the SHA-256 hash of the uncompressed content of a file.
+   *
+   * @param path The path of the file.
+   * @return The hash, as lowercase hexadecimal.
+   * @throws IOException Unable to read the file.
+   */
+  public String getHash(final Path path) throws IOException {
+    final long modified = Files.getLastModifiedTime(path).toMillis();
+    final long length = Files.size(path);
+    Tag tag = tags.get(path);
+    if (tag == null || tag.modified != modified || tag.length != length) {
+      final MessageDigest digest = HashUtils.getSha256Digest();
+      try (InputStream is = new DigestInputStream(CompressionUtils.newInputStream(path), digest)) {
+        IOUtils.copy(is, NullOutputStream.NULL_OUTPUT_STREAM);
+      }
+      tag = new Tag(modified, length, HashUtils.toHex(digest.digest()));
+      tags.put(path, tag);
+    }
+    return tag.hash;
+  }
+
+  /**
+   * Get a parsed target data file.
+   *
+   * @param path The path of the file.
+   * @return The document.
+   * @throws IOException Unable to read or parse the file.
+   */
+  public TargetDataDocument get(final Path path) throws IOException {
+    return get(path, getHash(path));
+  }
+
+  /**
+   * Get a parsed target data file whose hash is known, e.g. from its descriptor.
+   *
+   * @param path The path of the file.
+   * @param hash The SHA-256 hash of the uncompressed content of the file.
+   * @return The document.
+   * @throws IOException Unable to read or parse the file.
+   */
+  public TargetDataDocument get(final Path path, final String hash) throws IOException {
+    synchronized (this) {
+      final TargetDataDocument rtn = documents.get(hash);
+      if (rtn != null) {
+        hits++;
+        return rtn;
+      }
+      misses++;
+    }
+    // parse outside the lock; a file parsed twice concurrently is cached once
+    final TargetDataDocument rtn;
+    try (InputStream is = CompressionUtils.newInputStream(path)) {
+      rtn = TargetDataDocument.parse(is, hash);
+    }
+    synchronized (this) {
+      if (rtn.getSize() <= maxSize && documents.putIfAbsent(hash, rtn) == null) {
+        size += rtn.getSize();
+        evict();
+      }
+    }
+    return rtn;
+  }
+
+  /**
+   * Get a snapshot of the cache.
+   *
+   * @return The cache statistics.
+   */
+  public synchronized TargetDataCacheStats getStats() {
+    return new TargetDataCacheStats(documents.size(), size, maxSize, hits, misses, evictions);
+  }
+
+  private void evict() {
+    final Iterator<Map.Entry<String, TargetDataDocument>> it = documents.entrySet().iterator();
+    while (size > maxSize && it.hasNext()) {
+      final Map.Entry<String, TargetDataDocument> e = it.next();
+      size -= e.getValue().getSize();
+      it.remove();
+      evictions++;
+    }
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.resource;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A parsed target data file, indexed by collection and by the names of the objects in each
+ * collection, so that e.g. a gate, a part, or the response function of a gate can be looked up
+ * without reading the file again.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class TargetDataDocument {
+
+  static final String COLLECTION = "collection";
+
+  /** Fields whose JSON text is longer than this, in bytes, are parsed when they are read. */
+  private static final int LAZY_SIZE = 512;
+
+  private static final ObjectMapper mapper = new ObjectMapper();
+
+  private final String hash;
+  private final Map<String, List<TargetDataEntry>> collections = new LinkedHashMap<>();
+  private final Map<String, Map<String, TargetDataEntry>> names = new HashMap<>();
+  private long size;
+
+  private TargetDataDocument(final String hash) {
+    this.hash = hash;
+  }
+
+  /**
+   * Getter for {@code hash}, the SHA-256 hash of the file.
+   *
+   * @return The value of {@code hash}.
+   */
+  public String getHash() {
+    return hash;
+  }
+
+  /**
+   * Get the names of the collections in the file.
+   *
+   * @return The names of the collections, in the order they first appear.
+   */
+  public Set<String> getCollections() {
+    return Collections.unmodifiableSet(collections.keySet());
+  }
+
+  /**
+   * Get the objects of a collection.
+   *
+   * @param collection The name of the collection, e.g. {@code gates}.
+   * @return The objects of the collection, in the order they appear, empty if there are none.
+   */
+  public List<TargetDataEntry> getEntries(final String collection) {
+    final List<TargetDataEntry> rtn = collections.get(collection);
+    return rtn != null ? Collections.unmodifiableList(rtn) : Collections.emptyList();
+  }
+
+  /**
+   * Get an object of a collection by name.
+   *
+   * @param collection The name of the collection, e.g. {@code gates}.
+   * @param name The name of the object, e.g. {@code P1_PhlF}.
+   * @return The first object with the name, or null if there is none.
+   */
+  public TargetDataEntry getEntry(final String collection, final String name) {
+    final Map<String, TargetDataEntry> entries = names.get(collection);
+    return entries != null ? entries.get(name) : null;
+  }
+
+  /**
+   * Estimate the heap used by the document.
+   *
+   * @return The estimated size, in bytes.
+   */
+  public long getSize() {
+    return size;
+  }
+
+  private void add(final TargetDataEntry entry) {
+    collections.computeIfAbsent(entry.getCollection(), k -> new ArrayList<>()).add(entry);
+    if (entry.getName() != null) {
+      names
+          .computeIfAbsent(entry.getCollection(), k -> new HashMap<>())
+          .putIfAbsent(entry.getName(), entry);
+    }
+    size += entry.getSize();
+  }
+
+  /**
+   * Parse a target data file: a JSON array of objects, each with a {@code collection} field.
+   * Objects without one are ignored.
+   *
+   * @param is The contents of the file.
+   * @param hash The SHA-256 hash of the file.
+   * @return The document.
+   * @throws JsonParseException The file is not a JSON array of objects.
+   * @throws IOException Unable to read the file.
+   */
+  public static TargetDataDocument parse(final InputStream is, final String hash)
+      throws JsonParseException, IOException {
+    final TargetDataDocument rtn = new TargetDataDocument(hash);
+    try (JsonParser parser = mapper.getFactory().createParser(is)) {
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        throw new JsonParseException(parser, "Expected an array of collections.");
+      }
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        final TargetDataEntry entry = readEntry(parser);
+        if (entry.getCollection() != null) {
+          rtn.add(entry);
+        }
+      }
+      if (parser.currentToken() != JsonToken.END_ARRAY) {
+        throw new JsonParseException(parser, "Expected an array of collections.");
+      }
+    }
+    return rtn;
+  }
+
+  private static TargetDataEntry readEntry(final JsonParser parser) throws IOException {
+    final ObjectNode values = mapper.createObjectNode();
+    final Map<String, byte[]> lazyValues = new HashMap<>();
+    final List<String> fields = new ArrayList<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String field = parser.getCurrentName();
+      fields.add(field);
+      if (parser.nextToken().isStructStart()) {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(baos)) {
+          generator.copyCurrentStructure(parser);
+        }
+        if (baos.size() > LAZY_SIZE) {
+          lazyValues.put(field, baos.toByteArray());
+        } else {
+          values.set(field, mapper.readTree(baos.toByteArray()));
+        }
+      } else {
+        values.set(field, mapper.readTree(parser));
+      }
+    }
+    return TargetDataEntry.of(values, lazyValues, fields);
+  }
+}
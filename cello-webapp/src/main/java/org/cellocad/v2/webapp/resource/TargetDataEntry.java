@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.resource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An object of a parsed target data file, e.g. a gate or a part. Small fields are parsed up front.
+ * Large fields, such as the parameters of a response function or the table of a model, are kept
+ * as their JSON text and parsed each time they are read, so that a cached file holds little more
+ * than its size on disk.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class TargetDataEntry {
+
+  private static final ObjectMapper mapper = new ObjectMapper();
+
+  private final String collection;
+  private final String name;
+  private final List<String> fields;
+  private final ObjectNode values;
+  private final Map<String, byte[]> lazyValues;
+
+  TargetDataEntry(
+      final String collection,
+      final String name,
+      final List<String> fields,
+      final ObjectNode values,
+      final Map<String, byte[]> lazyValues) {
+    this.collection = collection;
+    this.name = name;
+    this.fields = fields;
+    this.values = values;
+    this.lazyValues = lazyValues;
+  }
+
+  /**
+   * Getter for {@code collection}.
+   *
+   * @return The value of {@code collection}.
+   */
+  public String getCollection() {
+    return collection;
+  }
+
+  /**
+   * Getter for {@code name}, the value of the {@code name} field, or of the {@code gate_name}
+   * field of objects that describe a gate.
+   *
+   * @return The value of {@code name}, or null if the object has no name.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Get the names of the fields of the object, in the order they were given.
+   *
+   * @return The names of the fields.
+   */
+  public List<String> getFields() {
+    return Collections.unmodifiableList(fields);
+  }
+
+  /**
+   * Get the value of a field, parsing it if it was deferred. The entry is shared by every reader
+   * of a cached file, so the value is a copy that the caller may change.
+   *
+   * @param field The name of the field.
+   * @return The value of the field, or null if the object has no such field.
+   */
+  public JsonNode get(final String field) {
+    final byte[] bytes = lazyValues.get(field);
+    if (bytes == null) {
+      final JsonNode rtn = values.get(field);
+      return rtn != null ? rtn.deepCopy() : null;
+    }
+    try {
+      return mapper.readTree(bytes);
+    } catch (final IOException e) {
+      // the bytes were written by a generator from valid JSON
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Get the whole object, parsing any deferred fields.
+   *
+   * @return The object.
+   */
+  public ObjectNode toJson() {
+    final ObjectNode rtn = mapper.createObjectNode();
+    for (final String field : fields) {
+      rtn.set(field, get(field));
+    }
+    return rtn;
+  }
+
+  /**
+   * Estimate the heap used by the object.
+   *
+   * @return The estimated size, in bytes.
+   */
+  long getSize() {
+    long rtn = 0;
+    for (final byte[] bytes : lazyValues.values()) {
+      rtn += bytes.length;
+    }
+    // parsed nodes take several times the size of their text
+    return rtn + values.toString().length() * 4L;
+  }
+
+  /**
+   * Create an entry from the fields of an object.
+   *
+   * @param values The parsed fields.
+   * @param lazyValues The JSON text of the deferred fields.
+   * @param fields The names of all the fields, in order.
+   * @return The entry.
+   */
+  static TargetDataEntry of(
+      final ObjectNode values, final Map<String, byte[]> lazyValues, final List<String> fields) {
+    final JsonNode collection = values.get(TargetDataDocument.COLLECTION);
+    JsonNode name = values.get("name");
+    if (name == null || !name.isTextual()) {
+      name = values.get("gate_name");
+    }
+    return new TargetDataEntry(
+        collection != null ? collection.asText() : null,
+        name != null && name.isTextual() ? name.asText() : null,
+        new ArrayList<>(fields),
+        values,
+        lazyValues);
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.resource;
+
+import org.bson.types.ObjectId;
+import org.cellocad.v2.webapp.resource.library.Header;
+import org.cellocad.v2.webapp.resource.library.TargetDataFileDescriptor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * The descriptor of a target data file as kept in the {@code descriptors} collection. Public files
+ * have no owner.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+@Document(collection = "descriptors")
+@CompoundIndexes({
+  @CompoundIndex(
+      name = "owner_kind_name",
+      def = "{'owner': 1, 'kind': 1, 'name': 1}",
+      unique = true),
+  @CompoundIndex(
+      name = "owner_kind_organism_version",
+      def = "{'owner': 1, 'kind': 1, 'header.organism': 1, 'header.version': 1}")
+})
+public class TargetDataFileRecord {
+
+  @Id private ObjectId id;
+  private String owner;
+  private TargetDataKind kind;
+  private String name;
+  private String file;
+  private Header header;
+  private String hash;
+  private Boolean isPrivate;
+
+  /**
+   * Getter for {@code owner}.
+   *
+   * @return The value of {@code owner}.
+   */
+  public String getOwner() {
+    return owner;
+  }
+
+  /**
+   * Getter for {@code kind}.
+   *
+   * @return The value of {@code kind}.
+   */
+  public TargetDataKind getKind() {
+    return kind;
+  }
+
+  /**
+   * Getter for {@code name}.
+   *
+   * @return The value of {@code name}.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Get the descriptor held in this record.
+   *
+   * @return A new descriptor of the class of the kind of this record.
+   */
+  public TargetDataFileDescriptor toDescriptor() {
+    final TargetDataFileDescriptor rtn = kind.newDescriptor();
+    rtn.setFile(file);
+    rtn.setHeader(header);
+    rtn.setHash(hash);
+    rtn.setIsPrivate(isPrivate);
+    return rtn;
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.resource;
+
+import org.cellocad.v2.webapp.resource.library.InputSensorFileDescriptor;
+import org.cellocad.v2.webapp.resource.library.OutputDeviceFileDescriptor;
+import org.cellocad.v2.webapp.resource.library.TargetDataFileDescriptor;
+import org.cellocad.v2.webapp.resource.library.UserConstraintsFileDescriptor;
+import org.cellocad.v2.webapp.user.ApplicationUser;
+
+/**
+ * The kinds of target data file.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public enum TargetDataKind {
+  USER_CONSTRAINTS("User constraints file", UserConstraintsFileDescriptor.class),
+  INPUT_SENSOR("Input sensor file", InputSensorFileDescriptor.class),
+  OUTPUT_DEVICE("Output device file", OutputDeviceFileDescriptor.class);
+
+  private final String label;
+  private final Class<? extends TargetDataFileDescriptor> descriptorClass;
+
+  TargetDataKind(
+      final String label, final Class<? extends TargetDataFileDescriptor> descriptorClass) {
+    this.label = label;
+    this.descriptorClass = descriptorClass;
+  }
+
+  /**
+   * Getter for {@code label}.
+   *
+   * @return The value of {@code label}.
+   */
+  public String getLabel() {
+    return label;
+  }
+
+  /**
+   * Getter for {@code descriptorClass}.
+   *
+   * @return The value of {@code descriptorClass}.
+   */
+  public Class<? extends TargetDataFileDescriptor> getDescriptorClass() {
+    return descriptorClass;
+  }
+
+  /**
+   * Create an empty descriptor of this kind.
+   *
+   * @return A new descriptor.
+   */
+  public TargetDataFileDescriptor newDescriptor() {
+    switch (this) {
+      case USER_CONSTRAINTS:
+        return new UserConstraintsFileDescriptor();
+      case INPUT_SENSOR:
+        return new InputSensorFileDescriptor();
+      default:
+        return new OutputDeviceFileDescriptor();
+    }
+  }
+
+  /**
+   * Get the directory containing the public files of this kind.
+   *
+   * @return The directory containing the public files of this kind.
+   */
+  public String getApplicationDirectory() {
+    switch (this) {
+      case USER_CONSTRAINTS:
+        return ApplicationResourceUtils.getUserConstraintsFileResourcesDirectory();
+      case INPUT_SENSOR:
+        return ApplicationResourceUtils.getInputSensorFileResourcesDirectory();
+      default:
+        return ApplicationResourceUtils.getOutputDeviceFileResourcesDirectory();
+    }
+  }
+
+  /**
+   * Get the metadata file listing the public files of this kind.
+   *
+   * @return The metadata file listing the public files of this kind.
+   */
+  public String getApplicationMetaDataFile() {
+    switch (this) {
+      case USER_CONSTRAINTS:
+        return ApplicationResourceUtils.getUserConstraintsFileMetaDataFile();
+      case INPUT_SENSOR:
+        return ApplicationResourceUtils.getInputSensorFileMetaDataFile();
+      default:
+        return ApplicationResourceUtils.getOutputDeviceFileMetaDataFile();
+    }
+  }
+
+  /**
+   * Get the directory containing a user's private files of this kind.
+   *
+   * @param user The user.
+   * @return The directory containing the user's private files of this kind.
+   */
+  public String getUserDirectory(final ApplicationUser user) {
+    switch (this) {
+      case USER_CONSTRAINTS:
+        return UserResourceUtils.getUserConstraintsFileResourcesDirectory(user);
+      case INPUT_SENSOR:
+        return UserResourceUtils.getInputSensorFileResourcesDirectory(user);
+      default:
+        return UserResourceUtils.getOutputDeviceFileResourcesDirectory(user);
+    }
+  }
+
+  /**
+   * Get the metadata file listing a user's private files of this kind.
+   *
+   * @param user The user.
+   * @return The metadata file listing the user's private files of this kind.
+   */
+  public String getUserMetaDataFile(final ApplicationUser user) {
+    switch (this) {
+      case USER_CONSTRAINTS:
+        return UserResourceUtils.getUserConstraintsFileMetaDataFile(user);
+      case INPUT_SENSOR:
+        return UserResourceUtils.getInputSensorFileMetaDataFile(user);
+      default:
+        return UserResourceUtils.getOutputDeviceFileMetaDataFile(user);
+    }
+  }
+}
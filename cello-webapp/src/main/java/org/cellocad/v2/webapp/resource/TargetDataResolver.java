@@ -0,0 +1,293 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import org.cellocad.v2.webapp.exception.LibraryException;
+import org.cellocad.v2.webapp.exception.ResourceNotFoundException;
+import org.cellocad.v2.webapp.resource.library.TargetDataFileDescriptor;
+import org.cellocad.v2.webapp.specification.constraints.Constraints;
+import org.cellocad.v2.webapp.specification.library.TargetDataLibraryResource;
+import org.cellocad.v2.webapp.user.ApplicationUser;
+
+/**
+ * Resolves target data file names to paths through the descriptor store. A lookup checks the
+ * public files of a kind and then the user's private files.
+ *
+ * <p>The names a specification refers to in its files can also be checked; a file without the
+ * collection that would define a name is not checked.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class TargetDataResolver {
+
+  private static final String[] INPUT_SENSOR_COLLECTIONS = {"input_sensors"};
+  private static final String[] OUTPUT_DEVICE_COLLECTIONS = {"output_devices", "output_reporters"};
+
+  /** A file visible to a user, and its descriptor. */
+  private static class Match {
+
+    private final Path path;
+    private final TargetDataFileDescriptor descriptor;
+
+    private Match(final Path path, final TargetDataFileDescriptor descriptor) {
+      this.path = path;
+      this.descriptor = descriptor;
+    }
+  }
+
+  private static Match find(
+      final DescriptorStore store,
+      final ApplicationUser user,
+      final TargetDataKind kind,
+      final String fileName)
+      throws IOException {
+    TargetDataFileDescriptor descriptor = store.getDescriptor(null, kind, fileName);
+    if (descriptor != null) {
+      return new Match(Paths.get(kind.getApplicationDirectory(), descriptor.getFile()), descriptor);
+    }
+    descriptor = store.getDescriptor(user, kind, fileName);
+    if (descriptor != null) {
+      return new Match(Paths.get(kind.getUserDirectory(user), descriptor.getFile()), descriptor);
+    }
+    return null;
+  }
+
+  /**
+   * Resolve the name of a target data file visible to a user.
+   *
+   * @param store The store of target data descriptors.
+   * @param user The user.
+   * @param kind The kind of file.
+   * @param fileName The file name.
+   * @return The path to the file, or null if no such file is visible to the user.
+   * @throws IOException Unable to read target data metadata.
+   */
+  public static Path resolve(
+      final DescriptorStore store,
+      final ApplicationUser user,
+      final TargetDataKind kind,
+      final String fileName)
+      throws IOException {
+    final Match match = find(store, user, kind, fileName);
+    return match != null ? match.path : null;
+  }
+
+  /**
+   * Get a parsed target data file visible to a user from the cache, by the hash in its
+   * descriptor, so that the file is only read if it is not cached. A file uploaded before hashes
+   * were recorded is hashed from its content.
+   *
+   * @param store The store of target data descriptors.
+   * @param cache The cache of parsed target data files.
+   * @param user The user.
+   * @param kind The kind of file.
+   * @param fileName The file name.
+   * @return The document, or null if no such file is visible to the user.
+   * @throws IOException Unable to read target data metadata, or to read or parse the file.
+   */
+  public static TargetDataDocument getDocument(
+      final DescriptorStore store,
+      final TargetDataCache cache,
+      final ApplicationUser user,
+      final TargetDataKind kind,
+      final String fileName)
+      throws IOException {
+    final Match match = find(store, user, kind, fileName);
+    if (match == null) {
+      return null;
+    }
+    final String hash = match.descriptor.getHash();
+    return hash != null ? cache.get(match.path, hash) : cache.get(match.path);
+  }
+
+  private static Path resolveOrThrow(
+      final DescriptorStore store,
+      final ApplicationUser user,
+      final TargetDataKind kind,
+      final String fileName)
+      throws IOException, ResourceNotFoundException {
+    final Path rtn = resolve(store, user, kind, fileName);
+    if (rtn == null) {
+      throw new ResourceNotFoundException(kind.getLabel() + " not found.");
+    }
+    return rtn;
+  }
+
+  /**
+   * Replace the file names in a library resource with the paths of the files they refer to.
+   *
+   * @param store The store of target data descriptors.
+   * @param user The user.
+   * @param library The library resource.
+   * @throws IOException Unable to read target data metadata.
+   * @throws ResourceNotFoundException A file is not visible to the user.
+   */
+  public static void resolve(
+      final DescriptorStore store,
+      final ApplicationUser user,
+      final TargetDataLibraryResource library)
+      throws IOException, ResourceNotFoundException {
+    final Path isf =
+        resolveOrThrow(
+            store, user, TargetDataKind.INPUT_SENSOR, library.getInputSensorFile().getName());
+    final Path odf =
+        resolveOrThrow(
+            store, user, TargetDataKind.OUTPUT_DEVICE, library.getOutputDeviceFile().getName());
+    final Path ucf =
+        resolveOrThrow(
+            store,
+            user,
+            TargetDataKind.USER_CONSTRAINTS,
+            library.getUserConstraintsFile().getName());
+    library.setInputSensorFile(isf.toFile());
+    library.setOutputDeviceFile(odf.toFile());
+    library.setUserConstraintsFile(ucf.toFile());
+  }
+
+  private static String getResolvedHash(
+      final DescriptorStore store,
+      final TargetDataCache cache,
+      final ApplicationUser user,
+      final TargetDataKind kind,
+      final File file)
+      throws IOException {
+    final Path path = file.toPath();
+    final Match match = find(store, user, kind, path.getFileName().toString());
+    if (match != null && match.path.equals(path) && match.descriptor.getHash() != null) {
+      return match.descriptor.getHash();
+    }
+    return cache.getHash(path);
+  }
+
+  /**
+   * Get the hashes of the uncompressed content of the files of a resolved library resource, from
+   * their descriptors, so that a file is only read if its descriptor records no hash.
+   *
+   * @param store The store of target data descriptors.
+   * @param cache The cache of parsed target data files, which hashes files without a hash.
+   * @param user The user to whom the library resource was resolved.
+   * @param library The resolved library resource.
+   * @return The hashes of the user constraints, input sensor, and output device files, in order.
+   * @throws IOException Unable to read target data metadata, or to read a file.
+   */
+  public static List<String> getHashes(
+      final DescriptorStore store,
+      final TargetDataCache cache,
+      final ApplicationUser user,
+      final TargetDataLibraryResource library)
+      throws IOException {
+    return Arrays.asList(
+        getResolvedHash(
+            store, cache, user, TargetDataKind.USER_CONSTRAINTS, library.getUserConstraintsFile()),
+        getResolvedHash(
+            store, cache, user, TargetDataKind.INPUT_SENSOR, library.getInputSensorFile()),
+        getResolvedHash(
+            store, cache, user, TargetDataKind.OUTPUT_DEVICE, library.getOutputDeviceFile()));
+  }
+
+  private static void checkNames(
+      final TargetDataDocument document,
+      final String[] collections,
+      final Collection<String> names,
+      final String label)
+      throws LibraryException {
+    for (final String collection : collections) {
+      if (document.getEntries(collection).isEmpty()) {
+        continue;
+      }
+      for (final String name : names) {
+        if (document.getEntry(collection, name) == null) {
+          throw new LibraryException(String.format("%s '%s' not found.", label, name));
+        }
+      }
+      return;
+    }
+  }
+
+  /**
+   * Check that the sensors and reporters named in a set of constraints are defined in the input
+   * sensor and output device files of a resolved library resource. The files are read through the
+   * cache, by the hashes in their descriptors, so this seldom touches the disk.
+   *
+   * @param store The store of target data descriptors.
+   * @param cache The cache of parsed target data files.
+   * @param user The user to whom the library resource was resolved.
+   * @param library The resolved library resource.
+   * @param constraints The constraints, or null.
+   * @throws IOException Unable to read a target data file.
+   * @throws LibraryException A sensor or reporter is not defined.
+   */
+  public static void validate(
+      final DescriptorStore store,
+      final TargetDataCache cache,
+      final ApplicationUser user,
+      final TargetDataLibraryResource library,
+      final Constraints constraints)
+      throws IOException, LibraryException {
+    if (constraints == null) {
+      return;
+    }
+    if (constraints.getSensors() != null) {
+      checkNames(
+          getResolvedDocument(
+              store,
+              cache,
+              user,
+              TargetDataKind.INPUT_SENSOR,
+              library.getInputSensorFile().toPath()),
+          INPUT_SENSOR_COLLECTIONS,
+          constraints.getSensors().values(),
+          "Input sensor");
+    }
+    if (constraints.getReporters() != null) {
+      checkNames(
+          getResolvedDocument(
+              store,
+              cache,
+              user,
+              TargetDataKind.OUTPUT_DEVICE,
+              library.getOutputDeviceFile().toPath()),
+          OUTPUT_DEVICE_COLLECTIONS,
+          constraints.getReporters().values(),
+          "Output device");
+    }
+  }
+
+  private static TargetDataDocument getResolvedDocument(
+      final DescriptorStore store,
+      final TargetDataCache cache,
+      final ApplicationUser user,
+      final TargetDataKind kind,
+      final Path path)
+      throws IOException {
+    final TargetDataDocument rtn =
+        getDocument(store, cache, user, kind, path.getFileName().toString());
+    // resolved to a path whose descriptor has since been removed
+    return rtn != null ? rtn : cache.get(path);
+  }
+}
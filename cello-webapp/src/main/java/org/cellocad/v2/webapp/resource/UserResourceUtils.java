@@ -24,27 +24,27 @@ package org.cellocad.v2.webapp.resource;
 
 import com.fasterxml.jackson.core.JsonGenerationException;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
+import java.util.Collections;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cellocad.v2.webapp.common.CompressionUtils;
+import org.cellocad.v2.webapp.common.HashUtils;
 import org.cellocad.v2.webapp.common.Utils;
 import org.cellocad.v2.webapp.exception.CelloWebException;
-import org.cellocad.v2.webapp.resource.library.Header;
 import org.cellocad.v2.webapp.resource.library.InputSensorFileDescriptor;
 import org.cellocad.v2.webapp.resource.library.OutputDeviceFileDescriptor;
+import org.cellocad.v2.webapp.resource.library.TargetDataFileDescriptor;
 import org.cellocad.v2.webapp.resource.library.UserConstraintsFileDescriptor;
 import org.cellocad.v2.webapp.user.ApplicationUser;
 import org.cellocad.v2.webapp.user.UserUtils;
@@ -58,6 +58,10 @@ import org.springframework.web.multipart.MultipartFile;
  */
 public class UserResourceUtils {
 
+  private static Logger getLogger() {
+    return LogManager.getLogger(UserResourceUtils.class);
+  }
+
   /**
    * Get the resources directory of a user.
    *
@@ -82,16 +86,18 @@ public class UserResourceUtils {
     Utils.makeDirectory(path);
   }
 
-  private static void initTargetDataResources(final ApplicationUser user) throws IOException {
+  private static void initTargetDataResources(
+      final DescriptorStore store, final ApplicationUser user) throws IOException {
     createTargetDataResourcesDirectory(user);
-    initUserConstraintsFileResources(user);
-    initInputSesorFileResources(user);
-    initOutputDeviceFileResources(user);
+    initUserConstraintsFileResources(store, user);
+    initInputSesorFileResources(store, user);
+    initOutputDeviceFileResources(store, user);
   }
 
-  private static void initOutputDeviceFileResources(final ApplicationUser user) throws IOException {
+  private static void initOutputDeviceFileResources(
+      final DescriptorStore store, final ApplicationUser user) throws IOException {
     createOutputDeviceFileResourcesDirectory(user);
-    ResourceUtils.initMetaDataFile(getOutputDeviceFileMetaDataFile(user));
+    store.setDescriptors(user, TargetDataKind.OUTPUT_DEVICE, Collections.emptyList());
   }
 
   private static void createOutputDeviceFileResourcesDirectory(ApplicationUser user) {
@@ -99,9 +105,10 @@ public class UserResourceUtils {
     Utils.makeDirectory(path);
   }
 
-  private static void initInputSesorFileResources(final ApplicationUser user) throws IOException {
+  private static void initInputSesorFileResources(
+      final DescriptorStore store, final ApplicationUser user) throws IOException {
     createInputSensorFileResourcesDirectory(user);
-    ResourceUtils.initMetaDataFile(getInputSensorFileMetaDataFile(user));
+    store.setDescriptors(user, TargetDataKind.INPUT_SENSOR, Collections.emptyList());
   }
 
   private static void createInputSensorFileResourcesDirectory(ApplicationUser user) {
@@ -109,10 +116,10 @@ public class UserResourceUtils {
     Utils.makeDirectory(path);
   }
 
-  private static void initUserConstraintsFileResources(final ApplicationUser user)
-      throws IOException {
+  private static void initUserConstraintsFileResources(
+      final DescriptorStore store, final ApplicationUser user) throws IOException {
     createUserConstraintsFileResourcesDirectory(user);
-    ResourceUtils.initMetaDataFile(getUserConstraintsFileMetaDataFile(user));
+    store.setDescriptors(user, TargetDataKind.USER_CONSTRAINTS, Collections.emptyList());
   }
 
   private static void createUserConstraintsFileResourcesDirectory(ApplicationUser user) {
@@ -120,9 +127,71 @@ public class UserResourceUtils {
     Utils.makeDirectory(path);
   }
 
-  public static void initResources(final ApplicationUser user) throws IOException {
+  public static void initResources(final DescriptorStore store, final ApplicationUser user)
+      throws IOException {
     createResourcesDirectory(user);
-    initTargetDataResources(user);
+    initTargetDataResources(store, user);
+  }
+
+  private static void deleteTargetDataFile(final Path path, final String hash) throws IOException {
+    Files.delete(path);
+    if (hash != null) {
+      BlobUtils.release(hash);
+    }
+  }
+
+  private static void deleteTargetDataFile(
+      final DescriptorStore store,
+      final ApplicationUser user,
+      final TargetDataKind kind,
+      final String fileName)
+      throws FileNotFoundException, IOException {
+    final TargetDataFileDescriptor descriptor = store.getDescriptor(user, kind, fileName);
+    store.removeDescriptor(user, kind, fileName);
+    final Path path = Paths.get(kind.getUserDirectory(user), fileName);
+    if (!Files.exists(path)) {
+      throw new FileNotFoundException("File not found.");
+    }
+    deleteTargetDataFile(path, descriptor != null ? descriptor.getHash() : null);
+  }
+
+  /**
+   * Move the target data files that users uploaded before content hashes were recorded into the
+   * blob store, so that they are shared like any later upload. Only files whose descriptors have no
+   * hash are read, so once every file is migrated this costs one listing per user and kind.
+   *
+   * @param store The store of target data descriptors.
+   * @throws IOException Unable to read a file or link it to its blob.
+   */
+  public static void migrateTargetDataFiles(final DescriptorStore store) throws IOException {
+    final File[] dirs = new File(UserUtils.getUsersDirectory()).listFiles(File::isDirectory);
+    if (dirs == null) {
+      return;
+    }
+    int migrated = 0;
+    for (final File dir : dirs) {
+      final ApplicationUser user = new ApplicationUser();
+      user.setUsername(dir.getName());
+      for (final TargetDataKind kind : TargetDataKind.values()) {
+        for (final TargetDataFileDescriptor d : store.getDescriptors(user, kind)) {
+          final Path path = Paths.get(kind.getUserDirectory(user), d.getFile());
+          if (d.getHash() != null || !Files.isRegularFile(path)) {
+            continue;
+          }
+          final String hash;
+          try (InputStream is = CompressionUtils.newInputStream(path)) {
+            hash = HashUtils.sha256Hex(is);
+          }
+          BlobUtils.link(path, hash, path, true);
+          d.setHash(hash);
+          store.addDescriptor(user, kind, d);
+          migrated++;
+        }
+      }
+    }
+    if (migrated > 0) {
+      getLogger().info(String.format("Moved %d user target data files to blobs.", migrated));
+    }
   }
 
   private static String getTargetDataResourcesDirectory(final ApplicationUser user) {
@@ -152,7 +221,7 @@ public class UserResourceUtils {
    *
    * @return The filename of the metadata file for the user constraints.
    */
-  private static String getUserConstraintsFileMetaDataFile(final ApplicationUser user) {
+  static String getUserConstraintsFileMetaDataFile(final ApplicationUser user) {
     String rtn = "";
     rtn =
         getUserConstraintsFileResourcesDirectory(user) + Utils.getFileSeparator() + "metadata.json";
@@ -162,18 +231,16 @@ public class UserResourceUtils {
   /**
    * Get the descriptors of the available user constraints files.
    *
-   * @return A collection of descriptors.
+   * @param store The store of target data descriptors.
+   * @return An unmodifiable collection of descriptors.
    * @throws JsonProcessingException Unable to deserialize descriptors.
    * @throws IOException Unable to read metadata file.
    */
   public static Collection<UserConstraintsFileDescriptor> getUserConstraintsFileDescriptors(
-      final ApplicationUser user) throws JsonProcessingException, IOException {
+      final DescriptorStore store, final ApplicationUser user)
+      throws JsonProcessingException, IOException {
     Collection<UserConstraintsFileDescriptor> rtn = null;
-    final ObjectMapper mapper = new ObjectMapper();
-    final String filepath = getUserConstraintsFileMetaDataFile(user);
-    rtn =
-        mapper.readValue(
-            new File(filepath), new TypeReference<List<UserConstraintsFileDescriptor>>() {});
+    rtn = store.getDescriptors(user, TargetDataKind.USER_CONSTRAINTS);
     return rtn;
   }
 
@@ -181,16 +248,19 @@ public class UserResourceUtils {
    * Get the descriptors of all the available user constraints files, both the user's private files
    * and the public ones.
    *
+   * @param store The store of target data descriptors.
    * @return A collection of descriptors.
    * @throws JsonProcessingException Unable to deserialize descriptors.
    * @throws IOException Unable to read metadata file.
    */
   public static Collection<UserConstraintsFileDescriptor> getAllUserConstraintsFileDescriptors(
-      final ApplicationUser user) throws JsonProcessingException, IOException {
+      final DescriptorStore store, final ApplicationUser user)
+      throws JsonProcessingException, IOException {
     Collection<UserConstraintsFileDescriptor> rtn = new ArrayList<>();
     Collection<UserConstraintsFileDescriptor> appFiles =
-        ApplicationResourceUtils.getUserConstraintsFileDescriptors();
-    Collection<UserConstraintsFileDescriptor> userFiles = getUserConstraintsFileDescriptors(user);
+        ApplicationResourceUtils.getUserConstraintsFileDescriptors(store);
+    Collection<UserConstraintsFileDescriptor> userFiles =
+        getUserConstraintsFileDescriptors(store, user);
     rtn.addAll(appFiles);
     rtn.addAll(userFiles);
     return rtn;
@@ -199,6 +269,7 @@ public class UserResourceUtils {
   /**
    * Add the given JSON user constraints file to the user's resources.
    *
+   * @param store The store of target data descriptors.
    * @param user The user.
    * @param multipartFile The user constraints file.
    * @throws IOException Unable to read or write file.
@@ -210,7 +281,7 @@ public class UserResourceUtils {
    */
   // TODO: Too complicated.
   public static void addUserConstraintsFile(
-      final ApplicationUser user, final MultipartFile multipartFile)
+      final DescriptorStore store, final ApplicationUser user, final MultipartFile multipartFile)
       throws JsonGenerationException, JsonMappingException, JsonProcessingException,
           FileAlreadyExistsException, IOException, CelloWebException {
     // Check if file exists
@@ -222,68 +293,19 @@ public class UserResourceUtils {
       throw new FileAlreadyExistsException(
           "A user constraints file with that name already exists.");
     }
-    // Read file
-    final ObjectMapper mapper = new ObjectMapper();
-    JsonNode node = mapper.readTree(multipartFile.getInputStream());
-    // Read header
-    Header header = null;
-    // TODO maybe map to a UserConstraintsFile type
-    for (JsonNode collection : node) {
-      if (collection.get("collection").asText().equals("header")) {
-        header = mapper.treeToValue(collection, Header.class);
-      }
-    }
-    if (header == null) {
-      throw new CelloWebException("No header found in user constraints file.");
-    }
-    final ObjectWriter writer = mapper.writer(new DefaultPrettyPrinter());
-    writer.writeValue(Files.newOutputStream(path), node);
+    // Copy file, reading header
+    final UserConstraintsFileDescriptor descriptor = new UserConstraintsFileDescriptor();
+    ResourceUtils.writeUserConstraintsFile(multipartFile.getInputStream(), path, descriptor);
     // Save metadata
-    UserConstraintsFileDescriptor descriptor = new UserConstraintsFileDescriptor();
-    descriptor.setHeader(header);
     descriptor.setFile(fileName);
     descriptor.setIsPrivate(true);
-    Collection<UserConstraintsFileDescriptor> descriptors = getUserConstraintsFileDescriptors(user);
-    descriptors.add(descriptor);
-    writer.writeValue(new File(getUserConstraintsFileMetaDataFile(user)), descriptors);
-  }
-
-  /**
-   * Get the named user constraints file as a byte array.
-   *
-   * @param user The user.
-   * @param fileName The file name.
-   * @return A byte array with the contents of the user constraints file.
-   * @throws IOException Unable to read the user constraints file.
-   */
-  public static byte[] getUserConstraintsFile(final ApplicationUser user, final String fileName)
-      throws IOException {
-    byte[] rtn = null;
-    Collection<UserConstraintsFileDescriptor> descriptors =
-        getAllUserConstraintsFileDescriptors(user);
-    UserConstraintsFileDescriptor descriptor = null;
-    for (UserConstraintsFileDescriptor d : descriptors) {
-      if (Paths.get(d.getFile()).getFileName().toString().equals(fileName)) {
-        descriptor = d;
-        break;
-      }
-    }
-    if (descriptor != null) {
-      String prefix = null;
-      if (descriptor.getIsPrivate()) {
-        prefix = getUserConstraintsFileResourcesDirectory(user);
-      } else {
-        prefix = ApplicationResourceUtils.getUserConstraintsFileResourcesDirectory();
-      }
-      Path path = Paths.get(prefix, descriptor.getFile());
-      rtn = Files.readAllBytes(path);
-    }
-    return rtn;
+    store.addDescriptor(user, TargetDataKind.USER_CONSTRAINTS, descriptor);
   }
 
   /**
    * Delete user constraints file belonging to the given user.
    *
+   * @param store The store of target data descriptors.
    * @param user The user.
    * @param fileName The file name.
    * @throws FileNotFoundException File not found.
@@ -291,28 +313,10 @@ public class UserResourceUtils {
    * @throws JsonGenerationException Unable to generate JSON.
    * @throws IOException Unable to delete file.
    */
-  public static void deleteUserConstraintsFile(final ApplicationUser user, final String fileName)
+  public static void deleteUserConstraintsFile(
+      final DescriptorStore store, final ApplicationUser user, final String fileName)
       throws FileNotFoundException, JsonGenerationException, JsonMappingException, IOException {
-    final String dir = getUserConstraintsFileResourcesDirectory(user);
-    Collection<UserConstraintsFileDescriptor> descriptors = getUserConstraintsFileDescriptors(user);
-    UserConstraintsFileDescriptor descriptor = null;
-    for (UserConstraintsFileDescriptor d : descriptors) {
-      if (Paths.get(d.getFile()).getFileName().toString().equals(fileName)) {
-        descriptor = d;
-        break;
-      }
-    }
-    if (descriptor != null) {
-      descriptors.remove(descriptor);
-      final ObjectMapper mapper = new ObjectMapper();
-      final ObjectWriter writer = mapper.writer(new DefaultPrettyPrinter());
-      writer.writeValue(new File(getUserConstraintsFileMetaDataFile(user)), descriptors);
-    }
-    Path path = Paths.get(dir, fileName);
-    if (!Files.exists(path)) {
-      throw new FileNotFoundException("File not found.");
-    }
-    Files.delete(path);
+    deleteTargetDataFile(store, user, TargetDataKind.USER_CONSTRAINTS, fileName);
   }
 
   /*
@@ -336,7 +340,7 @@ public class UserResourceUtils {
    *
    * @return The filename of the metadata file for the input sensors.
    */
-  private static String getInputSensorFileMetaDataFile(final ApplicationUser user) {
+  static String getInputSensorFileMetaDataFile(final ApplicationUser user) {
     String rtn = "";
     rtn = getInputSensorFileResourcesDirectory(user) + Utils.getFileSeparator() + "metadata.json";
     return rtn;
@@ -345,18 +349,16 @@ public class UserResourceUtils {
   /**
    * Get the descriptors of the available input sensor files.
    *
-   * @return A collection of descriptors.
+   * @param store The store of target data descriptors.
+   * @return An unmodifiable collection of descriptors.
    * @throws JsonProcessingException Unable to deserialize descriptors.
    * @throws IOException Unable to read metadata file.
    */
   public static Collection<InputSensorFileDescriptor> getInputSensorFileDescriptors(
-      final ApplicationUser user) throws JsonProcessingException, IOException {
+      final DescriptorStore store, final ApplicationUser user)
+      throws JsonProcessingException, IOException {
     Collection<InputSensorFileDescriptor> rtn = null;
-    final ObjectMapper mapper = new ObjectMapper();
-    final String filepath = getInputSensorFileMetaDataFile(user);
-    rtn =
-        mapper.readValue(
-            new File(filepath), new TypeReference<List<InputSensorFileDescriptor>>() {});
+    rtn = store.getDescriptors(user, TargetDataKind.INPUT_SENSOR);
     return rtn;
   }
 
@@ -364,16 +366,18 @@ public class UserResourceUtils {
    * Get the descriptors of all the available input sensor files, both the user's private files and
    * the public ones.
    *
+   * @param store The store of target data descriptors.
    * @return A collection of descriptors.
    * @throws JsonProcessingException Unable to deserialize descriptors.
    * @throws IOException Unable to read metadata file.
    */
   public static Collection<InputSensorFileDescriptor> getAllInputSensorFileDescriptors(
-      final ApplicationUser user) throws JsonProcessingException, IOException {
+      final DescriptorStore store, final ApplicationUser user)
+      throws JsonProcessingException, IOException {
     Collection<InputSensorFileDescriptor> rtn = new ArrayList<>();
     Collection<InputSensorFileDescriptor> appFiles =
-        ApplicationResourceUtils.getInputSensorFileDescriptors();
-    Collection<InputSensorFileDescriptor> userFiles = getInputSensorFileDescriptors(user);
+        ApplicationResourceUtils.getInputSensorFileDescriptors(store);
+    Collection<InputSensorFileDescriptor> userFiles = getInputSensorFileDescriptors(store, user);
     rtn.addAll(appFiles);
     rtn.addAll(userFiles);
     return rtn;
@@ -382,6 +386,7 @@ public class UserResourceUtils {
   /**
    * Add the given JSON input sensor file to the user's resources.
    *
+   * @param store The store of target data descriptors.
    * @param user The user.
    * @param multipartFile The input sensor file.
    * @throws IOException Unable to read or write file.
@@ -390,7 +395,7 @@ public class UserResourceUtils {
    * @throws FileAlreadyExistsException A file with the same name already exists.
    */
   public static void addInputSensorFile(
-      final ApplicationUser user, final MultipartFile multipartFile)
+      final DescriptorStore store, final ApplicationUser user, final MultipartFile multipartFile)
       throws JsonGenerationException, JsonMappingException, FileAlreadyExistsException,
           IOException {
     // Check if file exists
@@ -401,55 +406,19 @@ public class UserResourceUtils {
     if (Files.exists(path) || Files.exists(appPath)) {
       throw new FileAlreadyExistsException("An output device file with that name already exists.");
     }
-    // Read file
-    final ObjectMapper mapper = new ObjectMapper();
-    JsonNode node = mapper.readTree(multipartFile.getInputStream());
-    final ObjectWriter writer = mapper.writer(new DefaultPrettyPrinter());
-    writer.writeValue(Files.newOutputStream(path), node);
+    // Copy file, reading header
+    final InputSensorFileDescriptor descriptor = new InputSensorFileDescriptor();
+    ResourceUtils.writeTargetDataFile(multipartFile.getInputStream(), path, descriptor, false);
     // Save metadata
-    InputSensorFileDescriptor descriptor = new InputSensorFileDescriptor();
     descriptor.setFile(fileName);
     descriptor.setIsPrivate(true);
-    Collection<InputSensorFileDescriptor> descriptors = getInputSensorFileDescriptors(user);
-    descriptors.add(descriptor);
-    writer.writeValue(new File(getInputSensorFileMetaDataFile(user)), descriptors);
-  }
-
-  /**
-   * Get the named input sensor file as a byte array.
-   *
-   * @param user The user.
-   * @param fileName The file name.
-   * @return A byte array with the contents of the input sensor file.
-   * @throws IOException Unable to read the input sensor file.
-   */
-  public static byte[] getInputSensorFile(final ApplicationUser user, final String fileName)
-      throws IOException {
-    byte[] rtn = null;
-    Collection<InputSensorFileDescriptor> descriptors = getAllInputSensorFileDescriptors(user);
-    InputSensorFileDescriptor descriptor = null;
-    for (InputSensorFileDescriptor d : descriptors) {
-      if (Paths.get(d.getFile()).getFileName().toString().equals(fileName)) {
-        descriptor = d;
-        break;
-      }
-    }
-    if (descriptor != null) {
-      String prefix = null;
-      if (descriptor.getIsPrivate()) {
-        prefix = getInputSensorFileResourcesDirectory(user);
-      } else {
-        prefix = ApplicationResourceUtils.getInputSensorFileResourcesDirectory();
-      }
-      Path path = Paths.get(prefix, descriptor.getFile());
-      rtn = Files.readAllBytes(path);
-    }
-    return rtn;
+    store.addDescriptor(user, TargetDataKind.INPUT_SENSOR, descriptor);
   }
 
   /**
    * Delete input sensor file belonging to the given user.
    *
+   * @param store The store of target data descriptors.
    * @param user The user.
    * @param fileName The file name.
    * @throws FileNotFoundException File not found.
@@ -457,28 +426,10 @@ public class UserResourceUtils {
    * @throws JsonGenerationException Unable to generate JSON.
    * @throws IOException Unable to delete file.
    */
-  public static void deleteInputSensorFile(final ApplicationUser user, final String fileName)
+  public static void deleteInputSensorFile(
+      final DescriptorStore store, final ApplicationUser user, final String fileName)
       throws FileNotFoundException, JsonGenerationException, JsonMappingException, IOException {
-    final String dir = getInputSensorFileResourcesDirectory(user);
-    Collection<InputSensorFileDescriptor> descriptors = getInputSensorFileDescriptors(user);
-    InputSensorFileDescriptor descriptor = null;
-    for (InputSensorFileDescriptor d : descriptors) {
-      if (Paths.get(d.getFile()).getFileName().toString().equals(fileName)) {
-        descriptor = d;
-        break;
-      }
-    }
-    if (descriptor != null) {
-      descriptors.remove(descriptor);
-      final ObjectMapper mapper = new ObjectMapper();
-      final ObjectWriter writer = mapper.writer(new DefaultPrettyPrinter());
-      writer.writeValue(new File(getInputSensorFileMetaDataFile(user)), descriptors);
-    }
-    Path path = Paths.get(dir, fileName);
-    if (!Files.exists(path)) {
-      throw new FileNotFoundException("File not found.");
-    }
-    Files.delete(path);
+    deleteTargetDataFile(store, user, TargetDataKind.INPUT_SENSOR, fileName);
   }
 
   /*
@@ -502,7 +453,7 @@ public class UserResourceUtils {
    *
    * @return The filename of the metadata file for the output devices.
    */
-  private static String getOutputDeviceFileMetaDataFile(final ApplicationUser user) {
+  static String getOutputDeviceFileMetaDataFile(final ApplicationUser user) {
     String rtn = "";
     rtn = getOutputDeviceFileResourcesDirectory(user) + Utils.getFileSeparator() + "metadata.json";
     return rtn;
@@ -511,18 +462,16 @@ public class UserResourceUtils {
   /**
    * Get the descriptors of the available output device files.
    *
-   * @return A collection of descriptors.
+   * @param store The store of target data descriptors.
+   * @return An unmodifiable collection of descriptors.
    * @throws JsonProcessingException Unable to deserialize descriptors.
    * @throws IOException Unable to read metadata file.
    */
   public static Collection<OutputDeviceFileDescriptor> getOutputDeviceFileDescriptors(
-      final ApplicationUser user) throws JsonProcessingException, IOException {
+      final DescriptorStore store, final ApplicationUser user)
+      throws JsonProcessingException, IOException {
     Collection<OutputDeviceFileDescriptor> rtn = null;
-    final ObjectMapper mapper = new ObjectMapper();
-    final String filepath = getOutputDeviceFileMetaDataFile(user);
-    rtn =
-        mapper.readValue(
-            new File(filepath), new TypeReference<List<OutputDeviceFileDescriptor>>() {});
+    rtn = store.getDescriptors(user, TargetDataKind.OUTPUT_DEVICE);
     return rtn;
   }
 
@@ -530,16 +479,18 @@ public class UserResourceUtils {
    * Get the descriptors of all the available output device files, both the user's private files and
    * the public ones.
    *
+   * @param store The store of target data descriptors.
    * @return A collection of descriptors.
    * @throws JsonProcessingException Unable to deserialize descriptors.
    * @throws IOException Unable to read metadata file.
    */
   public static Collection<OutputDeviceFileDescriptor> getAllOutputDeviceFileDescriptors(
-      final ApplicationUser user) throws JsonProcessingException, IOException {
+      final DescriptorStore store, final ApplicationUser user)
+      throws JsonProcessingException, IOException {
     Collection<OutputDeviceFileDescriptor> rtn = new ArrayList<>();
     Collection<OutputDeviceFileDescriptor> appFiles =
-        ApplicationResourceUtils.getOutputDeviceFileDescriptors();
-    Collection<OutputDeviceFileDescriptor> userFiles = getOutputDeviceFileDescriptors(user);
+        ApplicationResourceUtils.getOutputDeviceFileDescriptors(store);
+    Collection<OutputDeviceFileDescriptor> userFiles = getOutputDeviceFileDescriptors(store, user);
     rtn.addAll(appFiles);
     rtn.addAll(userFiles);
     return rtn;
@@ -548,6 +499,7 @@ public class UserResourceUtils {
   /**
    * Add the given JSON output device file to the user's resources.
    *
+   * @param store The store of target data descriptors.
    * @param user The user.
    * @param multipartFile The output device file.
    * @throws IOException Unable to read or write file.
@@ -556,7 +508,7 @@ public class UserResourceUtils {
    * @throws FileAlreadyExistsException A file with the same name already exists.
    */
   public static void addOutputDeviceFile(
-      final ApplicationUser user, final MultipartFile multipartFile)
+      final DescriptorStore store, final ApplicationUser user, final MultipartFile multipartFile)
       throws JsonGenerationException, JsonMappingException, FileAlreadyExistsException,
           IOException {
     // Check if file exists
@@ -567,55 +519,19 @@ public class UserResourceUtils {
     if (Files.exists(path) || Files.exists(appPath)) {
       throw new FileAlreadyExistsException("An output device file with that name already exists.");
     }
-    // Read file
-    final ObjectMapper mapper = new ObjectMapper();
-    JsonNode node = mapper.readTree(multipartFile.getInputStream());
-    final ObjectWriter writer = mapper.writer(new DefaultPrettyPrinter());
-    writer.writeValue(Files.newOutputStream(path), node);
+    // Copy file, reading header
+    final OutputDeviceFileDescriptor descriptor = new OutputDeviceFileDescriptor();
+    ResourceUtils.writeTargetDataFile(multipartFile.getInputStream(), path, descriptor, false);
     // Save metadata
-    OutputDeviceFileDescriptor descriptor = new OutputDeviceFileDescriptor();
     descriptor.setFile(fileName);
     descriptor.setIsPrivate(true);
-    Collection<OutputDeviceFileDescriptor> descriptors = getOutputDeviceFileDescriptors(user);
-    descriptors.add(descriptor);
-    writer.writeValue(new File(getOutputDeviceFileMetaDataFile(user)), descriptors);
-  }
-
-  /**
-   * Get the named output device file as a byte array.
-   *
-   * @param user The user.
-   * @param fileName The file name.
-   * @return A byte array with the contents of the output device file.
-   * @throws IOException Unable to read the output device file.
-   */
-  public static byte[] getOutputDeviceFile(final ApplicationUser user, final String fileName)
-      throws IOException {
-    byte[] rtn = null;
-    Collection<OutputDeviceFileDescriptor> descriptors = getAllOutputDeviceFileDescriptors(user);
-    OutputDeviceFileDescriptor descriptor = null;
-    for (OutputDeviceFileDescriptor d : descriptors) {
-      if (Paths.get(d.getFile()).getFileName().toString().equals(fileName)) {
-        descriptor = d;
-        break;
-      }
-    }
-    if (descriptor != null) {
-      String prefix = null;
-      if (descriptor.getIsPrivate()) {
-        prefix = getOutputDeviceFileResourcesDirectory(user);
-      } else {
-        prefix = ApplicationResourceUtils.getOutputDeviceFileResourcesDirectory();
-      }
-      Path path = Paths.get(prefix, descriptor.getFile());
-      rtn = Files.readAllBytes(path);
-    }
-    return rtn;
+    store.addDescriptor(user, TargetDataKind.OUTPUT_DEVICE, descriptor);
   }
 
   /**
    * Delete output reporter file belonging to the given user.
    *
+   * @param store The store of target data descriptors.
    * @param user The user.
    * @param fileName The file name.
    * @throws FileNotFoundException File not found.
@@ -623,27 +539,9 @@ public class UserResourceUtils {
    * @throws JsonGenerationException Unable to generate JSON.
    * @throws IOException Unable to delete file.
    */
-  public static void deleteOutputDeviceFile(final ApplicationUser user, final String fileName)
+  public static void deleteOutputDeviceFile(
+      final DescriptorStore store, final ApplicationUser user, final String fileName)
       throws FileNotFoundException, JsonGenerationException, JsonMappingException, IOException {
-    final String dir = getOutputDeviceFileResourcesDirectory(user);
-    Collection<OutputDeviceFileDescriptor> descriptors = getOutputDeviceFileDescriptors(user);
-    OutputDeviceFileDescriptor descriptor = null;
-    for (OutputDeviceFileDescriptor d : descriptors) {
-      if (Paths.get(d.getFile()).getFileName().toString().equals(fileName)) {
-        descriptor = d;
-        break;
-      }
-    }
-    if (descriptor != null) {
-      descriptors.remove(descriptor);
-      final ObjectMapper mapper = new ObjectMapper();
-      final ObjectWriter writer = mapper.writer(new DefaultPrettyPrinter());
-      writer.writeValue(new File(getOutputDeviceFileMetaDataFile(user)), descriptors);
-    }
-    Path path = Paths.get(dir, fileName);
-    if (!Files.exists(path)) {
-      throw new FileNotFoundException("File not found.");
-    }
-    Files.delete(path);
+    deleteTargetDataFile(store, user, TargetDataKind.OUTPUT_DEVICE, fileName);
   }
 }
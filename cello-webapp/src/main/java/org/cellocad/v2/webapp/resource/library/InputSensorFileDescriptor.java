@@ -28,10 +28,11 @@ package org.cellocad.v2.webapp.resource.library;
  * @author Timothy Jones
  * @date 2020-05-30
  */
-public class InputSensorFileDescriptor {
+public class InputSensorFileDescriptor implements TargetDataFileDescriptor {
 
   private String file;
   private Header header;
+  private String hash;
   private Boolean isPrivate;
 
   /**
@@ -70,6 +71,24 @@ public class InputSensorFileDescriptor {
     this.header = header;
   }
 
+  /**
+   * Getter for {@code hash}.
+   *
+   * @return The value of {@code hash}.
+   */
+  public String getHash() {
+    return hash;
+  }
+
+  /**
+   * Setter for {@code hash}.
+   *
+   * @param hash The value to set {@code hash}.
+   */
+  public void setHash(String hash) {
+    this.hash = hash;
+  }
+
   /**
    * Getter for {@code isPrivate}.
    *
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.resource.library;
+
+/**
+ * A descriptor for a target data file.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public interface TargetDataFileDescriptor {
+
+  /**
+   * Getter for {@code file}.
+   *
+   * @return The value of {@code file}.
+   */
+  String getFile();
+
+  /**
+   * Setter for {@code file}.
+   *
+   * @param file The value to set {@code file}.
+   */
+  void setFile(String file);
+
+  /**
+   * Getter for {@code header}.
+   *
+   * @return The value of {@code header}.
+   */
+  Header getHeader();
+
+  /**
+   * Setter for {@code header}.
+   *
+   * @param header The value to set {@code header}.
+   */
+  void setHeader(Header header);
+
+  /**
+   * Getter for {@code hash}, the SHA-256 hash of the contents of the file.
+   *
+   * @return The value of {@code hash}.
+   */
+  String getHash();
+
+  /**
+   * Setter for {@code hash}.
+   *
+   * @param hash The value to set {@code hash}.
+   */
+  void setHash(String hash);
+
+  /**
+   * Getter for {@code isPrivate}.
+   *
+   * @return The value of {@code isPrivate}.
+   */
+  Boolean getIsPrivate();
+
+  /**
+   * Setter for {@code isPrivate}.
+   *
+   * @param isPrivate The value to set {@code isPrivate}.
+   */
+  void setIsPrivate(Boolean isPrivate);
+}
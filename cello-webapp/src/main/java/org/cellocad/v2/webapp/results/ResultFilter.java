@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.results;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import org.cellocad.v2.webapp.common.Utils;
+
+/**
+ * A named category of results, e.g. {@code structure}, matching results by the name of their
+ * file. The categories of an application are defined in {@code results/filter/<application>.json},
+ * and are read and compiled once.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public final class ResultFilter {
+
+  private static final Map<String, List<ResultFilter>> filters = new ConcurrentHashMap<>();
+
+  private final String name;
+  private final Pattern pattern;
+
+  private ResultFilter(final String name, final Pattern pattern) {
+    this.name = name;
+    this.pattern = pattern;
+  }
+
+  /**
+   * Getter for {@code name}.
+   *
+   * @return The value of {@code name}.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Whether a file belongs to this category.
+   *
+   * @param fileName The name of the file.
+   * @return Whether the whole file name matches the pattern of this category.
+   */
+  public boolean matches(final String fileName) {
+    return pattern.matcher(fileName).matches();
+  }
+
+  /**
+   * Get the result categories of an application.
+   *
+   * @param application The name of the application, e.g. {@code DNACompiler}.
+   * @return The categories, in the order they are defined, or none if the application defines
+   *     none.
+   * @throws IOException Unable to read or parse the definitions.
+   */
+  public static List<ResultFilter> getFilters(final String application) throws IOException {
+    List<ResultFilter> rtn = filters.get(application);
+    if (rtn != null) {
+      return rtn;
+    }
+    rtn = new ArrayList<>();
+    try (InputStream is = Utils.getResourceAsStream("results/filter/" + application + ".json")) {
+      if (is != null) {
+        for (final JsonNode node : new ObjectMapper().readTree(is)) {
+          rtn.add(
+              new ResultFilter(
+                  node.get("name").asText(), Pattern.compile(node.get("pattern").asText())));
+        }
+      }
+    }
+    rtn = Collections.unmodifiableList(rtn);
+    filters.put(application, rtn);
+    return rtn;
+  }
+}
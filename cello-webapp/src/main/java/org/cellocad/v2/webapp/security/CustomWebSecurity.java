@@ -22,6 +22,7 @@
 
 package org.cellocad.v2.webapp.security;
 
+import com.auth0.jwt.algorithms.Algorithm;
 import org.cellocad.v2.webapp.user.UserDetailsServiceImpl;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.HttpMethod;
@@ -63,12 +64,15 @@ public class CustomWebSecurity extends WebSecurityConfigurerAdapter {
 
   private UserDetailsServiceImpl userDetailsService;
   private BCryptPasswordEncoder bCryptPasswordEncoder;
+  private Algorithm tokenAlgorithm;
 
   public CustomWebSecurity(
       final UserDetailsServiceImpl userDetailsService,
-      final BCryptPasswordEncoder bCryptPasswordEncoder) {
+      final BCryptPasswordEncoder bCryptPasswordEncoder,
+      final Algorithm tokenAlgorithm) {
     this.userDetailsService = userDetailsService;
     this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+    this.tokenAlgorithm = tokenAlgorithm;
   }
 
   @Override
@@ -91,8 +95,8 @@ public class CustomWebSecurity extends WebSecurityConfigurerAdapter {
         .anyRequest()
         .authenticated()
         .and()
-        .addFilter(new JwtAuthenticationFilter(authenticationManager()))
-        .addFilter(new JwtAuthorizationFilter(authenticationManager()))
+        .addFilter(new JwtAuthenticationFilter(authenticationManager(), tokenAlgorithm))
+        .addFilter(new JwtAuthorizationFilter(authenticationManager(), tokenAlgorithm))
         // this disables session creation on Spring Security
         .sessionManagement()
         .sessionCreationPolicy(SessionCreationPolicy.STATELESS);
@@ -109,6 +113,7 @@ public class CustomWebSecurity extends WebSecurityConfigurerAdapter {
     final CorsConfiguration config = new CorsConfiguration();
     config.applyPermitDefaultValues();
     config.addExposedHeader("Authorization");
+    config.addExposedHeader("X-Total-Count");
     config.setAllowCredentials(true);
     config.addAllowedMethod("DELETE");
     config.addAllowedHeader("Authorization");
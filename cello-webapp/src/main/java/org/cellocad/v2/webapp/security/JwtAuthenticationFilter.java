@@ -49,9 +49,12 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 
   private AuthenticationManager authenticationManager;
+  private Algorithm algorithm;
 
-  public JwtAuthenticationFilter(final AuthenticationManager authenticationManager) {
+  public JwtAuthenticationFilter(
+      final AuthenticationManager authenticationManager, final Algorithm algorithm) {
     this.authenticationManager = authenticationManager;
+    this.algorithm = algorithm;
   }
 
   @Override
@@ -81,7 +84,7 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
         JWT.create()
             .withSubject(((User) auth.getPrincipal()).getUsername())
             .withExpiresAt(new Date(System.currentTimeMillis() + SecurityConstants.EXPIRATION_TIME))
-            .sign(Algorithm.HMAC512(SecurityConstants.SECRET.getBytes()));
+            .sign(algorithm);
     res.addHeader(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + token);
   }
 }
@@ -43,8 +43,12 @@ import org.springframework.security.web.authentication.www.BasicAuthenticationFi
  */
 public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
 
-  public JwtAuthorizationFilter(final AuthenticationManager authManager) {
+  private Algorithm algorithm;
+
+  public JwtAuthorizationFilter(
+      final AuthenticationManager authManager, final Algorithm algorithm) {
     super(authManager);
+    this.algorithm = algorithm;
   }
 
   @Override
@@ -69,7 +73,7 @@ public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
     if (token != null) {
       // parse the token.
       final String user =
-          JWT.require(Algorithm.HMAC512(SecurityConstants.SECRET.getBytes()))
+          JWT.require(algorithm)
               .build()
               .verify(token.replace(SecurityConstants.TOKEN_PREFIX, ""))
               .getSubject();
@@ -23,6 +23,7 @@
 package org.cellocad.v2.webapp.security;
 
 import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.logging.log4j.LogManager;
 
 /**
  * Constants associated with security.
@@ -32,9 +33,34 @@ import org.apache.commons.lang3.RandomStringUtils;
  */
 public class SecurityConstants {
 
-  public static final String SECRET = RandomStringUtils.randomAscii(64);
+  /**
+   * The property that holds the key with which tokens are signed, which may be given, like any
+   * other property, in the application properties, as an argument, or as the {@code
+   * CELLO_JWT_SECRET} environment variable.
+   */
+  public static final String SECRET_PROPERTY = "cello.jwt.secret";
+
   public static final long EXPIRATION_TIME = 86_400_000; // 1 day
   public static final String TOKEN_PREFIX = "Bearer ";
   public static final String HEADER_STRING = "Authorization";
   public static final String SIGN_UP_URL = "/users";
+
+  /**
+   * Get the key with which tokens are signed. Every node of a deployment must share the key, so
+   * that a token issued by one node is accepted by the others. If no key is configured, a random
+   * key is generated, and tokens are valid only on this node until it restarts.
+   *
+   * @param secret The configured key, or null or empty if not configured.
+   * @return The signing key.
+   */
+  public static String getSecret(final String secret) {
+    if (secret != null && !secret.isEmpty()) {
+      return secret;
+    }
+    LogManager.getLogger(SecurityConstants.class)
+        .warn(
+            String.format(
+                "%s is not set, using a random signing key for this node only.", SECRET_PROPERTY));
+    return RandomStringUtils.randomAscii(64);
+  }
 }
@@ -26,6 +26,7 @@ import java.io.IOException;
 import org.cellocad.v2.webapp.ApplicationUtils;
 import org.cellocad.v2.webapp.common.Utils;
 import org.cellocad.v2.webapp.project.ProjectUtils;
+import org.cellocad.v2.webapp.resource.DescriptorStore;
 import org.cellocad.v2.webapp.resource.UserResourceUtils;
 
 /**
@@ -81,12 +82,14 @@ public class UserUtils {
   /**
    * Initialize a user directory.
    *
+   * @param store The store of target data descriptors.
    * @param user The user.
    * @throws IOException Unable to initialize user directory.
    */
-  public static void initUserDirectory(final ApplicationUser user) throws IOException {
+  public static void initUserDirectory(final DescriptorStore store, final ApplicationUser user)
+      throws IOException {
     createUserDirectory(user);
     ProjectUtils.initUserProjectsDirectory(user);
-    UserResourceUtils.initResources(user);
+    UserResourceUtils.initResources(store, user);
   }
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.common;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+
+/**
+ * A benchmark of the codecs with which stored files can be compressed. For each codec it reports
+ * the bytes stored, and the time taken to write the files and to read them back, over the files of
+ * the directory given as the first argument, e.g. the resources directory or a project directory
+ * of a deployment, or over a generated UCF, log, and CSV if none is given.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.cellocad.v2.webapp.common.CompressionBenchmark -Dexec.args=<dir>}.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class CompressionBenchmark {
+
+  private static final int ROUNDS = 5;
+
+  private static List<byte[]> getGeneratedContents() {
+    final StringBuilder ucf = new StringBuilder("[\n");
+    final StringBuilder log = new StringBuilder();
+    final StringBuilder csv = new StringBuilder("gate,input,output,score\n");
+    for (int i = 0; i < 5000; i++) {
+      ucf.append(
+          String.format(
+              Locale.ROOT,
+              "  {%n    \"collection\": \"response_functions\",%n    \"gate_name\": \"G%d_PhlF\","
+                  + "%n    \"equation\": \"ymin+(ymax-ymin)/(1.0+(x/K)^n)\",%n"
+                  + "    \"parameters\": [%n      {\"name\": \"ymax\", \"value\": %.4f},%n"
+                  + "      {\"name\": \"ymin\", \"value\": %.4f}%n    ]%n  },%n",
+              i,
+              (i * 0.37) % 10,
+              (i * 0.011) % 1));
+      log.append(
+          String.format(
+              Locale.ROOT,
+              "2026-10-17 12:00:%02d INFO  technologyMapping - Evaluating assignment %d, "
+                  + "score: %.6f%n",
+              i % 60,
+              i,
+              (i * 1.7) % 100));
+      csv.append(String.format(Locale.ROOT, "G%d_PhlF,%d,%d,%.6f%n", i, i % 4, i % 2, i * 0.5));
+    }
+    ucf.append("  {\"collection\": \"header\"}\n]\n");
+    final List<byte[]> rtn = new ArrayList<>();
+    rtn.add(ucf.toString().getBytes(StandardCharsets.UTF_8));
+    rtn.add(log.toString().getBytes(StandardCharsets.UTF_8));
+    rtn.add(csv.toString().getBytes(StandardCharsets.UTF_8));
+    return rtn;
+  }
+
+  private static List<byte[]> getContents(final String directory) throws IOException {
+    final List<byte[]> rtn = new ArrayList<>();
+    final List<Path> files;
+    try (Stream<Path> stream = Files.walk(new File(directory).toPath())) {
+      files = stream.filter(Files::isRegularFile).collect(Collectors.toList());
+    }
+    for (final Path file : files) {
+      try (InputStream is = CompressionUtils.newInputStream(file)) {
+        rtn.add(IOUtils.toByteArray(is));
+      }
+    }
+    return rtn;
+  }
+
+  /**
+   * Run the benchmark.
+   *
+   * @param args The directory of files to store, optionally.
+   * @throws IOException Unable to read or write a file.
+   */
+  public static void main(final String[] args) throws IOException {
+    final List<byte[]> contents = args.length > 0 ? getContents(args[0]) : getGeneratedContents();
+    long raw = 0;
+    for (final byte[] bytes : contents) {
+      raw += bytes.length;
+    }
+    System.out.println(
+        String.format(
+            "%d files, %d bytes uncompressed, best of %d rounds", contents.size(), raw, ROUNDS));
+    System.out.println(
+        String.format(
+            "%-10s %12s %7s %10s %10s", "codec", "stored", "ratio", "write ms", "read ms"));
+    final File dir = Files.createTempDirectory("cello-benchmark").toFile();
+    try {
+      for (final CompressionUtils.Codec codec : CompressionUtils.Codec.values()) {
+        long stored = 0;
+        long write = Long.MAX_VALUE;
+        long read = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+          FileUtils.cleanDirectory(dir);
+          long start = System.nanoTime();
+          for (int i = 0; i < contents.size(); i++) {
+            try (OutputStream os =
+                CompressionUtils.newOutputStream(
+                    Files.newOutputStream(dir.toPath().resolve(Integer.toString(i))), codec)) {
+              os.write(contents.get(i));
+            }
+          }
+          write = Math.min(write, System.nanoTime() - start);
+          stored = FileUtils.sizeOfDirectory(dir);
+          start = System.nanoTime();
+          for (int i = 0; i < contents.size(); i++) {
+            try (InputStream is =
+                CompressionUtils.newInputStream(dir.toPath().resolve(Integer.toString(i)))) {
+              IOUtils.copy(is, NullOutputStream.NULL_OUTPUT_STREAM);
+            }
+          }
+          read = Math.min(read, System.nanoTime() - start);
+        }
+        System.out.println(
+            String.format(
+                "%-10s %12d %6.1f%% %10.1f %10.1f",
+                codec.name().toLowerCase(Locale.ROOT).replace('_', '-'),
+                stored,
+                100.0 * stored / raw,
+                write / 1e6,
+                read / 1e6));
+      }
+    } finally {
+      FileUtils.deleteDirectory(dir);
+    }
+  }
+}
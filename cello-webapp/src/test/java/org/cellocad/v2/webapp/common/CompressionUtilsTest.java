@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.common;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link CompressionUtils}.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class CompressionUtilsTest {
+
+  private File dir;
+
+  /**
+   * Create a temporary directory, and compress stored files.
+   *
+   * @throws IOException Unable to create directory.
+   */
+  @Before
+  public void setup() throws IOException {
+    dir = Files.createTempDirectory("cello").toFile();
+    CompressionUtils.setCodec("gzip");
+  }
+
+  /**
+   * Remove the temporary directory.
+   *
+   * @throws IOException Unable to delete directory.
+   */
+  @After
+  public void teardown() throws IOException {
+    CompressionUtils.setCodec(null);
+    FileUtils.deleteDirectory(dir);
+  }
+
+  private static String getText() {
+    final StringBuilder rtn = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      rtn.append(String.format("gate_%d,0.%d,response_function%n", i, i % 7));
+    }
+    return rtn.toString();
+  }
+
+  private static String read(final Path path) throws IOException {
+    try (InputStream is = CompressionUtils.newInputStream(path)) {
+      return IOUtils.toString(is, StandardCharsets.UTF_8);
+    }
+  }
+
+  @Test
+  public void getCodec_Name_ShouldReturnCodec() {
+    CompressionUtils.setCodec("gzip-fast");
+    assert (CompressionUtils.getCodec() == CompressionUtils.Codec.GZIP_FAST);
+    CompressionUtils.setCodec("");
+    assert (CompressionUtils.getCodec() == CompressionUtils.Codec.NONE);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void setCodec_UnknownName_ShouldThrow() {
+    CompressionUtils.setCodec("zstd");
+  }
+
+  @Test
+  public void compress_TextFile_ShouldShrinkAndReadBack() throws IOException {
+    final Path path = dir.toPath().resolve("test.csv");
+    final String text = getText();
+    Files.write(path, text.getBytes(StandardCharsets.UTF_8));
+    assert (CompressionUtils.compress(path));
+    assert (CompressionUtils.isCompressed(path));
+    assert (Files.size(path) < text.length() / 4);
+    assert (read(path).equals(text));
+    assert (!CompressionUtils.compress(path));
+  }
+
+  @Test
+  public void newOutputStream_None_ShouldWriteAsIs() throws IOException {
+    final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (OutputStream os = CompressionUtils.newOutputStream(baos, CompressionUtils.Codec.NONE)) {
+      os.write("[]".getBytes(StandardCharsets.UTF_8));
+    }
+    assert (baos.toString("UTF-8").equals("[]"));
+  }
+
+  @Test
+  public void compressDirectory_Excluded_ShouldLeaveExcludedFiles() throws IOException {
+    final String text = getText();
+    Files.write(dir.toPath().resolve("a.csv"), text.getBytes(StandardCharsets.UTF_8));
+    Files.write(dir.toPath().resolve("b.csv"), text.getBytes(StandardCharsets.UTF_8));
+    Files.write(dir.toPath().resolve("c.png"), text.getBytes(StandardCharsets.UTF_8));
+    CompressionUtils.compressDirectory(dir, Collections.singleton("b.csv"));
+    assert (CompressionUtils.isCompressed(dir.toPath().resolve("a.csv")));
+    assert (!CompressionUtils.isCompressed(dir.toPath().resolve("b.csv")));
+    assert (!CompressionUtils.isCompressed(dir.toPath().resolve("c.png")));
+  }
+
+  @Test
+  public void inflate_Compressed_ShouldDecompressIntoDirectory() throws IOException {
+    final Path path = dir.toPath().resolve("test.UCF.json");
+    final String text = getText();
+    Files.write(path, text.getBytes(StandardCharsets.UTF_8));
+    final File inputs = new File(dir, "inputs");
+    assert (CompressionUtils.inflate(path.toString(), inputs).equals(path.toString()));
+    CompressionUtils.compress(path);
+    final String inflated = CompressionUtils.inflate(path.toString(), inputs);
+    assert (!inflated.equals(path.toString()));
+    assert (new String(Files.readAllBytes(new File(inflated).toPath()), StandardCharsets.UTF_8)
+        .equals(text));
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.common;
+
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Tests for {@link FileTransferUtils}.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class FileTransferUtilsTest {
+
+  @Test
+  public void parseRange_NoHeader_ShouldReturnNull() {
+    assert (FileTransferUtils.parseRange(null, 100) == null);
+  }
+
+  @Test
+  public void parseRange_Bounded_ShouldReturnRange() {
+    final long[] range = FileTransferUtils.parseRange("bytes=10-19", 100);
+    assert (range[0] == 10 && range[1] == 19);
+  }
+
+  @Test
+  public void parseRange_OpenEnded_ShouldReturnRangeToEnd() {
+    final long[] range = FileTransferUtils.parseRange("bytes=90-", 100);
+    assert (range[0] == 90 && range[1] == 99);
+  }
+
+  @Test
+  public void parseRange_Suffix_ShouldReturnLastBytes() {
+    final long[] range = FileTransferUtils.parseRange("bytes=-10", 100);
+    assert (range[0] == 90 && range[1] == 99);
+  }
+
+  @Test
+  public void parseRange_PastEnd_ShouldReturnUnsatisfiable() {
+    assert (FileTransferUtils.parseRange("bytes=100-", 100).length == 0);
+  }
+
+  @Test
+  public void parseRange_MultipleRanges_ShouldReturnNull() {
+    assert (FileTransferUtils.parseRange("bytes=0-9,20-29", 100) == null);
+  }
+
+  @Test
+  public void matches_WeakOrListedTag_ShouldMatch() {
+    assert (FileTransferUtils.matches("\"a\", W/\"b\"", "\"b\""));
+    assert (FileTransferUtils.matches("*", "\"b\""));
+    assert (!FileTransferUtils.matches("\"a\"", "\"b\""));
+  }
+
+  @Test
+  public void acceptsGzip_ListedOrWildcard_ShouldAccept() {
+    assert (FileTransferUtils.acceptsGzip("deflate, gzip;q=0.8"));
+    assert (FileTransferUtils.acceptsGzip("*"));
+    assert (!FileTransferUtils.acceptsGzip("gzip;q=0"));
+    assert (!FileTransferUtils.acceptsGzip("identity"));
+    assert (!FileTransferUtils.acceptsGzip(null));
+  }
+
+  @Test
+  public void notModified_MatchingTag_ShouldIgnoreDate() {
+    final MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"a\"");
+    request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, 0L);
+    assert (FileTransferUtils.notModified(request, "\"a\"", 5000));
+    assert (!FileTransferUtils.notModified(request, "\"b\"", 0));
+  }
+
+  @Test
+  public void notModified_ModifiedSince_ShouldCompareSeconds() {
+    final MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, 5000L);
+    assert (FileTransferUtils.notModified(request, "\"a\"", 5999));
+    assert (!FileTransferUtils.notModified(request, "\"a\"", 6000));
+    assert (!FileTransferUtils.notModified(new MockHttpServletRequest(), "\"a\"", 0));
+  }
+}
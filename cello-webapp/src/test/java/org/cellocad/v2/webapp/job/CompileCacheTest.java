@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.job;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.io.FileUtils;
+import org.cellocad.v2.webapp.project.DNACompiler.DNACompilerProject;
+import org.cellocad.v2.webapp.project.Project;
+import org.cellocad.v2.webapp.specification.Specification;
+import org.cellocad.v2.webapp.specification.constraints.Constraints;
+import org.cellocad.v2.webapp.specification.library.TargetDataLibraryResource;
+import org.cellocad.v2.webapp.specification.settings.Settings;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link CompileCache}.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class CompileCacheTest {
+
+  private static final List<String> HASHES = Arrays.asList("ucf", "input", "output");
+
+  private File dir;
+  private TargetDataLibraryResource library;
+
+  /**
+   * Create a temporary directory with target data files.
+   *
+   * @throws IOException Unable to create files.
+   */
+  @Before
+  public void setup() throws IOException {
+    dir = Files.createTempDirectory("cello").toFile();
+    final File ucf = new File(dir, "Eco1C1G1T1.UCF.json");
+    final File input = new File(dir, "Eco1C1G1T1.input.json");
+    final File output = new File(dir, "Eco1C1G1T1.output.json");
+    FileUtils.writeStringToFile(ucf, "[{\"collection\":\"gates\"}]", StandardCharsets.UTF_8);
+    FileUtils.writeStringToFile(input, "[]", StandardCharsets.UTF_8);
+    FileUtils.writeStringToFile(output, "[]", StandardCharsets.UTF_8);
+    library = new TargetDataLibraryResource(ucf, input, output);
+  }
+
+  /**
+   * Remove the temporary directory.
+   *
+   * @throws IOException Unable to delete directory.
+   */
+  @After
+  public void teardown() throws IOException {
+    FileUtils.deleteDirectory(dir);
+  }
+
+  private Specification getSpecification(final String name, final String... settings) {
+    final Map<String, String> map = new LinkedHashMap<>();
+    for (int i = 0; i < settings.length; i += 2) {
+      map.put(settings[i], settings[i + 1]);
+    }
+    return new Specification(
+        name,
+        "module and(output out, input a, b); assign out = a & b; endmodule",
+        new Settings(map, "DNACompiler"),
+        new Constraints(new LinkedHashMap<>(), new LinkedHashMap<>()),
+        library);
+  }
+
+  private Project getProject(final String name) throws IOException {
+    final File path = new File(dir, name);
+    path.mkdirs();
+    final Project rtn = new DNACompilerProject();
+    rtn.setName(name);
+    rtn.setFilepath(path.getAbsolutePath());
+    rtn.setVerilogFile(new File(path, name + ".v").getAbsolutePath());
+    FileUtils.writeStringToFile(new File(rtn.getVerilogFile()), "", StandardCharsets.UTF_8);
+    return rtn;
+  }
+
+  @Test
+  public void getKey_SettingsInDifferentOrder_ShouldBeEqual() {
+    final String a = CompileCache.getKey(getSpecification("a", "x", "1", "y", "2"), HASHES);
+    final String b = CompileCache.getKey(getSpecification("b", "y", "2", "x", "1"), HASHES);
+    final String c = CompileCache.getKey(getSpecification("c", "x", "1", "y", "3"), HASHES);
+    assert (a.equals(b));
+    assert (!a.equals(c));
+  }
+
+  @Test
+  public void getKey_DifferentTargetData_ShouldNotBeEqual() {
+    final Specification specification = getSpecification("a", "x", "1");
+    final String a = CompileCache.getKey(specification, HASHES);
+    final String b = CompileCache.getKey(specification, Arrays.asList("ucf", "input", "other"));
+    assert (!a.equals(b));
+  }
+
+  @Test
+  public void getKey_NoSettings_ShouldBeNull() {
+    final Specification specification =
+        new Specification(
+            "a",
+            "module and(output out, input a, b); assign out = a & b; endmodule",
+            null,
+            null,
+            library);
+    assert (CompileCache.getKey(specification, HASHES) == null);
+  }
+
+  @Test
+  public void getKey_NoSensorsOrReporters_ShouldBeEqualToEmpty() {
+    final Specification specification = getSpecification("a", "x", "1");
+    final Specification unconstrained =
+        new Specification(
+            "b",
+            specification.getVerilog(),
+            specification.getSettings(),
+            new Constraints(null, null),
+            library);
+    final String a = CompileCache.getKey(specification, HASHES);
+    assert (a.equals(CompileCache.getKey(unconstrained, HASHES)));
+  }
+
+  @Test
+  public void restore_StoredProject_ShouldRenameOutputs() throws IOException {
+    final CompileCache cache = new CompileCache(true, new File(dir, "cache").getPath(), 16);
+    cache.init();
+    final String key = CompileCache.getKey(getSpecification("first", "x", "1"), HASHES);
+    final Project first = getProject("first");
+    final File png = new File(first.getFilepath(), "first_technologyMapping.png");
+    FileUtils.writeStringToFile(png, "png", StandardCharsets.UTF_8);
+    FileUtils.writeStringToFile(
+        new File(first.getFilepath(), "results.json"),
+        "[{\"file\":\"first_technologyMapping.png\"}]",
+        StandardCharsets.UTF_8);
+    final Project second = getProject("second");
+    assert (!cache.restore(key, second));
+    cache.store(key, first);
+    assert (cache.restore(key, second));
+    assert (new File(second.getFilepath(), "second_technologyMapping.png").exists());
+    assert (!new File(second.getFilepath(), "first.v").exists());
+    final String results =
+        FileUtils.readFileToString(
+            new File(second.getFilepath(), "results.json"), StandardCharsets.UTF_8);
+    assert (results.contains("second_technologyMapping.png"));
+    assert (cache.getStats().getHits() == 1);
+    assert (cache.getStats().getMisses() == 1);
+  }
+
+  @Test
+  public void restore_Log_ShouldNotShareFile() throws IOException {
+    final CompileCache cache = new CompileCache(true, new File(dir, "cache").getPath(), 16);
+    cache.init();
+    final String key = CompileCache.getKey(getSpecification("first", "x", "1"), HASHES);
+    final Project first = getProject("first");
+    FileUtils.writeStringToFile(
+        new File(first.getFilepath(), JobLogUtils.LOG_FILE), "first", StandardCharsets.UTF_8);
+    cache.store(key, first);
+    final Project second = getProject("second");
+    assert (cache.restore(key, second));
+    final File log = new File(second.getFilepath(), JobLogUtils.LOG_FILE);
+    FileUtils.writeStringToFile(log, "second", StandardCharsets.UTF_8, true);
+    final Project third = getProject("third");
+    assert (cache.restore(key, third));
+    final String restored =
+        FileUtils.readFileToString(
+            new File(third.getFilepath(), JobLogUtils.LOG_FILE), StandardCharsets.UTF_8);
+    assert (restored.equals("first"));
+  }
+
+  @Test
+  public void restore_EvictedByOtherNode_ShouldMiss() throws IOException {
+    final String shared = new File(dir, "cache").getPath();
+    final CompileCache a = new CompileCache(true, shared, 16);
+    a.init();
+    final String key = CompileCache.getKey(getSpecification("first", "x", "1"), HASHES);
+    final Project project = getProject("first");
+    FileUtils.writeStringToFile(
+        new File(project.getFilepath(), "first_technologyMapping.png"),
+        "png",
+        StandardCharsets.UTF_8);
+    a.store(key, project);
+    // a node with a smaller cache accounts for, and evicts, the entries of the others
+    final CompileCache b = new CompileCache(true, shared, 0);
+    b.init();
+    assert (b.getStats().getEvictions() == 1);
+    assert (!a.restore(key, getProject("second")));
+    assert (a.getStats().getEntries() == 0);
+    assert (a.getStats().getMisses() == 1);
+  }
+}
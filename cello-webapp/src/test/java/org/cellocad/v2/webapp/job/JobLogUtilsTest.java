@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.job;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link JobLogUtils}.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class JobLogUtilsTest {
+
+  private File dir;
+
+  /**
+   * Create a temporary project directory.
+   *
+   * @throws IOException Unable to create directory.
+   */
+  @Before
+  public void setup() throws IOException {
+    dir = Files.createTempDirectory("cello").toFile();
+  }
+
+  /**
+   * Remove the temporary project directory.
+   *
+   * @throws IOException Unable to delete directory.
+   */
+  @After
+  public void teardown() throws IOException {
+    FileUtils.deleteDirectory(dir);
+  }
+
+  @Test
+  public void getCurrentStage_NoLog_ShouldReturnNull() throws IOException {
+    assert (JobLogUtils.getCurrentStage(dir.getPath()) == null);
+  }
+
+  @Test
+  public void getCurrentStage_Log_ShouldReturnLastStage() throws IOException {
+    final String log =
+        "INFO DNACompiler - Executing stage logicSynthesis\n"
+            + "INFO Yosys - Running yosys\n"
+            + "INFO DNACompiler - Executing stage technologyMapping\n"
+            + "INFO SimulatedAnnealing - Iteration 100\n";
+    FileUtils.writeStringToFile(new File(dir, JobLogUtils.LOG_FILE), log, StandardCharsets.UTF_8);
+    assert (JobLogUtils.getCurrentStage(dir.getPath()).equals("technologyMapping"));
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.project.batch;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+/**
+ * Tests for {@link SweepUtils}.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class SweepUtilsTest {
+
+  private static Map<String, String[]> getGrid() {
+    final Map<String, String[]> rtn = new HashMap<>();
+    rtn.put("technologyMapping.iterations", new String[] {"1000", "5000", "10000"});
+    rtn.put("placing.seed", new String[] {"1", "2"});
+    return rtn;
+  }
+
+  @Test
+  public void getPoints_Grid_ShouldReturnEveryPoint() {
+    final List<Map<String, String>> points = SweepUtils.getPoints(getGrid(), null, 0, 256);
+    assert (points.size() == 6);
+    assert (new HashSet<>(points).size() == 6);
+    assert (points.get(0).get("placing.seed").equals("1"));
+    assert (points.get(0).get("technologyMapping.iterations").equals("1000"));
+    assert (points.get(5).get("placing.seed").equals("2"));
+    assert (points.get(5).get("technologyMapping.iterations").equals("10000"));
+  }
+
+  @Test
+  public void getPoints_Sample_ShouldReturnDistinctPoints() {
+    final List<Map<String, String>> points = SweepUtils.getPoints(getGrid(), 4, 42, 256);
+    assert (points.size() == 4);
+    assert (new HashSet<>(points).size() == 4);
+    assert (points.equals(SweepUtils.getPoints(getGrid(), 4, 42, 256)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void getPoints_TooManyPoints_ShouldThrow() {
+    SweepUtils.getPoints(getGrid(), null, 0, 5);
+  }
+
+  @Test(expected = IllegalArgumentException.class, timeout = 1000)
+  public void getPoints_TooManySamples_ShouldThrowBeforeSampling() {
+    final Map<String, String[]> grid = new HashMap<>();
+    for (int i = 0; i < 10; i++) {
+      grid.put("key" + i, new String[] {"1", "2", "3", "4", "5", "6", "7", "8", "9", "10"});
+    }
+    SweepUtils.getPoints(grid, Integer.MAX_VALUE - 1, 0, 256);
+  }
+}
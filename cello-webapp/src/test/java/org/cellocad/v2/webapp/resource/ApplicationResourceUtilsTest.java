@@ -22,6 +22,8 @@ package org.cellocad.v2.webapp.resource;
 import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
+import org.apache.commons.io.FileUtils;
+import org.cellocad.v2.webapp.ApplicationUtils;
 import org.cellocad.v2.webapp.resource.library.UserConstraintsFileDescriptor;
 import org.junit.Test;
 
@@ -33,15 +35,17 @@ import org.junit.Test;
  */
 public class ApplicationResourceUtilsTest {
 
+  private final DescriptorStore store = new FileDescriptorStore();
+
   /**
-   * Test {@link ApplicationResourceUtils#initApplicationResources()}. The test only checks that
-   * certain files and directories are created.
+   * Test {@link ApplicationResourceUtils#initApplicationResources(DescriptorStore)}. The test only
+   * checks that certain files and directories are created.
    *
    * @throws IOException Unable to initialize resources.
    */
   @Test
   public void initApplicationResources_None_SouldCreateExpectedFiles() throws IOException {
-    ApplicationResourceUtils.initApplicationResources();
+    ApplicationResourceUtils.initApplicationResources(store);
     File settingsDir = new File(ApplicationResourceUtils.getSettingsResourcesDirectory());
     File userConstraintsMeta =
         new File(ApplicationResourceUtils.getUserConstraintsFileMetaDataFile());
@@ -56,9 +60,29 @@ public class ApplicationResourceUtilsTest {
   @Test
   public void getUserConstraintsFileDescriptors_None_ShouldReturnExpectedFiles()
       throws IOException {
-    ApplicationResourceUtils.initApplicationResources();
+    ApplicationResourceUtils.initApplicationResources(store);
     Collection<UserConstraintsFileDescriptor> descriptors =
-        ApplicationResourceUtils.getUserConstraintsFileDescriptors();
+        ApplicationResourceUtils.getUserConstraintsFileDescriptors(store);
     assert (descriptors.size() == 5);
   }
+
+  /**
+   * Test {@link ApplicationResourceUtils#initApplicationResources(DescriptorStore)} on a storage
+   * root with no resources yet, as on a first install.
+   *
+   * @throws IOException Unable to initialize resources.
+   */
+  @Test
+  public void initApplicationResources_EmptyStorageRoot_ShouldCreateMetaData() throws IOException {
+    FileUtils.deleteDirectory(new File(ApplicationUtils.getResourcesDirectory()));
+    for (final TargetDataKind kind : TargetDataKind.values()) {
+      DescriptorRegistry.invalidate(kind.getApplicationMetaDataFile());
+    }
+    ApplicationResourceUtils.initApplicationResources(store);
+    assert (new File(ApplicationResourceUtils.getUserConstraintsFileMetaDataFile()).exists());
+    assert (ApplicationResourceUtils.getUserConstraintsFileDescriptors(store).size() == 5);
+    // a restart finds the files unchanged
+    ApplicationResourceUtils.initApplicationResources(store);
+    assert (ApplicationResourceUtils.getUserConstraintsFileDescriptors(store).size() == 5);
+  }
 }
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.resource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.cellocad.v2.webapp.resource.library.InputSensorFileDescriptor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link DescriptorRegistry}.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class DescriptorRegistryTest {
+
+  private File file;
+
+  /**
+   * Create a temporary metadata file.
+   *
+   * @throws IOException Unable to create file.
+   */
+  @Before
+  public void setup() throws IOException {
+    file = Files.createTempFile("metadata", ".json").toFile();
+    FileUtils.writeStringToFile(
+        file, "[{\"file\":\"a.input.json\",\"isPrivate\":true}]", StandardCharsets.UTF_8);
+  }
+
+  /** Remove the temporary metadata file and its log. */
+  @After
+  public void teardown() {
+    DescriptorRegistry.setCheckInterval(DescriptorRegistry.CHECK_INTERVAL_MS);
+    DescriptorRegistry.invalidate(file.getPath());
+    FileUtils.deleteQuietly(file);
+    FileUtils.deleteQuietly(new File(DescriptorRegistry.getLogFile(file.getPath())));
+  }
+
+  @Test
+  public void get_Twice_ShouldReturnSameList() throws IOException {
+    final List<InputSensorFileDescriptor> first =
+        DescriptorRegistry.get(file.getPath(), InputSensorFileDescriptor.class);
+    final List<InputSensorFileDescriptor> second =
+        DescriptorRegistry.get(file.getPath(), InputSensorFileDescriptor.class);
+    assert (first.size() == 1);
+    assert (first == second);
+  }
+
+  private static InputSensorFileDescriptor getDescriptor(final String file) {
+    final InputSensorFileDescriptor rtn = new InputSensorFileDescriptor();
+    rtn.setFile(file);
+    rtn.setIsPrivate(true);
+    return rtn;
+  }
+
+  @Test
+  public void add_Descriptor_ShouldUpdateRegistryAndLog() throws IOException {
+    DescriptorRegistry.add(
+        file.getPath(), InputSensorFileDescriptor.class, getDescriptor("b.input.json"));
+    assert (DescriptorRegistry.get(file.getPath(), InputSensorFileDescriptor.class).size() == 2);
+    DescriptorRegistry.invalidate(file.getPath());
+    assert (DescriptorRegistry.get(file.getPath(), InputSensorFileDescriptor.class).size() == 2);
+    assert (new File(DescriptorRegistry.getLogFile(file.getPath())).length() > 0);
+  }
+
+  @Test
+  public void remove_Descriptor_ShouldUpdateRegistry() throws IOException {
+    assert (DescriptorRegistry.remove(
+        file.getPath(), InputSensorFileDescriptor.class, "a.input.json"));
+    assert (!DescriptorRegistry.remove(
+        file.getPath(), InputSensorFileDescriptor.class, "a.input.json"));
+    DescriptorRegistry.invalidate(file.getPath());
+    assert (DescriptorRegistry.get(file.getPath(), InputSensorFileDescriptor.class).isEmpty());
+  }
+
+  @Test
+  public void add_ManyDescriptors_ShouldCompactLog() throws IOException, InterruptedException {
+    final File log = new File(DescriptorRegistry.getLogFile(file.getPath()));
+    for (int i = 0; i < 32; i++) {
+      DescriptorRegistry.add(
+          file.getPath(), InputSensorFileDescriptor.class, getDescriptor(i + ".input.json"));
+    }
+    DescriptorRegistry.awaitCompaction();
+    assert (log.length() == 0);
+    final String snapshot = FileUtils.readFileToString(file, StandardCharsets.UTF_8);
+    assert (new ObjectMapper().readTree(snapshot).size() == 33);
+  }
+
+  @Test
+  public void get_FileChangedOnDisk_ShouldReload() throws IOException {
+    DescriptorRegistry.setCheckInterval(0);
+    DescriptorRegistry.get(file.getPath(), InputSensorFileDescriptor.class);
+    FileUtils.writeStringToFile(file, "[]", StandardCharsets.UTF_8);
+    assert (DescriptorRegistry.get(file.getPath(), InputSensorFileDescriptor.class).isEmpty());
+  }
+
+  @Test
+  public void get_FileReplacedWithSameTimeAndSize_ShouldReload() throws IOException {
+    DescriptorRegistry.setCheckInterval(0);
+    DescriptorRegistry.get(file.getPath(), InputSensorFileDescriptor.class);
+    // a rewrite within the resolution of the modification time, by another node
+    final File tmp = new File(file.getPath() + ".tmp");
+    FileUtils.writeStringToFile(
+        tmp, "[{\"file\":\"b.input.json\",\"isPrivate\":true}]", StandardCharsets.UTF_8);
+    Files.setLastModifiedTime(tmp.toPath(), Files.getLastModifiedTime(file.toPath()));
+    Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    final List<InputSensorFileDescriptor> descriptors =
+        DescriptorRegistry.get(file.getPath(), InputSensorFileDescriptor.class);
+    assert (descriptors.get(0).getFile().equals("b.input.json"));
+  }
+
+  @Test
+  public void get_MissingFile_ShouldReturnNone() throws IOException {
+    final String filepath = file.getPath() + ".missing";
+    try {
+      assert (DescriptorRegistry.get(filepath, InputSensorFileDescriptor.class).isEmpty());
+      DescriptorRegistry.add(filepath, InputSensorFileDescriptor.class, getDescriptor("b.json"));
+      assert (DescriptorRegistry.get(filepath, InputSensorFileDescriptor.class).size() == 1);
+    } finally {
+      DescriptorRegistry.invalidate(filepath);
+      FileUtils.deleteQuietly(new File(DescriptorRegistry.getLogFile(filepath)));
+    }
+  }
+}
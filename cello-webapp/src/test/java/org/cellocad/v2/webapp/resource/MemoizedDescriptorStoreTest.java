@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.resource;
+
+import java.io.IOException;
+import org.cellocad.v2.webapp.resource.library.InputSensorFileDescriptor;
+import org.cellocad.v2.webapp.user.ApplicationUser;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests for {@link MemoizedDescriptorStore}.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class MemoizedDescriptorStoreTest {
+
+  private DescriptorStore delegate;
+  private MemoizedDescriptorStore store;
+  private ApplicationUser user;
+  private InputSensorFileDescriptor descriptor;
+
+  /** Create a store over a mock store that knows one of the user's files. */
+  @Before
+  public void setup() throws IOException {
+    delegate = Mockito.mock(DescriptorStore.class);
+    store = new MemoizedDescriptorStore(delegate);
+    user = new ApplicationUser();
+    user.setUsername("memoized-descriptor-store-test");
+    descriptor = new InputSensorFileDescriptor();
+    descriptor.setFile("a.input.json");
+    Mockito.when(delegate.getDescriptor(user, TargetDataKind.INPUT_SENSOR, "a.input.json"))
+        .thenReturn(descriptor);
+  }
+
+  @Test
+  public void getDescriptor_SameFileTwice_ShouldReadOnce() throws IOException {
+    assert store.getDescriptor(user, TargetDataKind.INPUT_SENSOR, "a.input.json") == descriptor;
+    assert store.getDescriptor(user, TargetDataKind.INPUT_SENSOR, "a.input.json") == descriptor;
+    Mockito.verify(delegate, Mockito.times(1))
+        .getDescriptor(user, TargetDataKind.INPUT_SENSOR, "a.input.json");
+  }
+
+  @Test
+  public void getDescriptor_MissingFileTwice_ShouldReadOnce() throws IOException {
+    assert store.getDescriptor(null, TargetDataKind.INPUT_SENSOR, "a.input.json") == null;
+    assert store.getDescriptor(null, TargetDataKind.INPUT_SENSOR, "a.input.json") == null;
+    Mockito.verify(delegate, Mockito.times(1))
+        .getDescriptor(null, TargetDataKind.INPUT_SENSOR, "a.input.json");
+  }
+
+  @Test
+  public void getDescriptor_AfterRemove_ShouldReadAgain() throws IOException {
+    store.getDescriptor(user, TargetDataKind.INPUT_SENSOR, "a.input.json");
+    store.removeDescriptor(user, TargetDataKind.INPUT_SENSOR, "a.input.json");
+    store.getDescriptor(user, TargetDataKind.INPUT_SENSOR, "a.input.json");
+    Mockito.verify(delegate, Mockito.times(2))
+        .getDescriptor(user, TargetDataKind.INPUT_SENSOR, "a.input.json");
+  }
+}
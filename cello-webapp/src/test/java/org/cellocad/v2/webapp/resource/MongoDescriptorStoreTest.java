@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import org.apache.commons.io.FileUtils;
+import org.bson.Document;
+import org.cellocad.v2.webapp.resource.library.InputSensorFileDescriptor;
+import org.cellocad.v2.webapp.user.ApplicationUser;
+import org.cellocad.v2.webapp.user.UserUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Tests for {@link MongoDescriptorStore}.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class MongoDescriptorStoreTest {
+
+  private MongoTemplate mongoTemplate;
+  private MongoDescriptorStore store;
+  private ApplicationUser user;
+
+  /** Create a store over a mock template, and a user with no files. */
+  @Before
+  public void setup() {
+    mongoTemplate = Mockito.mock(MongoTemplate.class);
+    store = new MongoDescriptorStore(mongoTemplate);
+    user = new ApplicationUser();
+    user.setUsername("mongo-descriptor-store-test");
+  }
+
+  /** Remove the user directory. */
+  @After
+  public void teardown() {
+    final String filepath = TargetDataKind.INPUT_SENSOR.getUserMetaDataFile(user);
+    DescriptorRegistry.invalidate(filepath);
+    FileUtils.deleteQuietly(new File(UserUtils.getUserDirectory(user)));
+  }
+
+  private static InputSensorFileDescriptor getDescriptor(final String file) {
+    final InputSensorFileDescriptor rtn = new InputSensorFileDescriptor();
+    rtn.setFile(file);
+    rtn.setIsPrivate(true);
+    return rtn;
+  }
+
+  private boolean isOwnedByUser(final Query query) {
+    return query != null && user.getUsername().equals(query.getQueryObject().get("owner"));
+  }
+
+  @Test
+  public void setDescriptors_TwoFiles_ShouldUpsertEachThenRemoveOthers() throws IOException {
+    store.setDescriptors(
+        user,
+        TargetDataKind.INPUT_SENSOR,
+        Arrays.asList(getDescriptor("a.input.json"), getDescriptor("b.input.json")));
+    final ArgumentCaptor<Query> upserts = ArgumentCaptor.forClass(Query.class);
+    final ArgumentCaptor<Query> removal = ArgumentCaptor.forClass(Query.class);
+    final InOrder order = Mockito.inOrder(mongoTemplate);
+    order
+        .verify(mongoTemplate, Mockito.times(2))
+        .upsert(
+            upserts.capture(),
+            ArgumentMatchers.any(Update.class),
+            ArgumentMatchers.eq(TargetDataFileRecord.class));
+    order
+        .verify(mongoTemplate)
+        .remove(removal.capture(), ArgumentMatchers.eq(TargetDataFileRecord.class));
+    assert (upserts.getAllValues().get(0).getQueryObject().get("name").equals("a.input.json"));
+    assert (upserts.getAllValues().get(1).getQueryObject().get("name").equals("b.input.json"));
+    final Document name = (Document) removal.getValue().getQueryObject().get("name");
+    final Collection<?> kept = (Collection<?>) name.get("$nin");
+    assert (kept.size() == 2 && kept.contains("a.input.json") && kept.contains("b.input.json"));
+  }
+
+  @Test
+  public void setDescriptors_None_ShouldOnlyRemove() throws IOException {
+    store.setDescriptors(user, TargetDataKind.INPUT_SENSOR, Collections.emptyList());
+    Mockito.verify(mongoTemplate, Mockito.never())
+        .upsert(
+            ArgumentMatchers.any(Query.class),
+            ArgumentMatchers.any(Update.class),
+            ArgumentMatchers.eq(TargetDataFileRecord.class));
+    Mockito.verify(mongoTemplate)
+        .remove(ArgumentMatchers.any(Query.class), ArgumentMatchers.eq(TargetDataFileRecord.class));
+  }
+
+  @Test
+  public void init_MetaDataFile_ShouldImportOnceAndMarkFile() throws IOException {
+    final String filepath = TargetDataKind.INPUT_SENSOR.getUserMetaDataFile(user);
+    new File(filepath).getParentFile().mkdirs();
+    DescriptorRegistry.put(
+        filepath, Arrays.asList(getDescriptor("a.input.json"), getDescriptor("b.input.json")));
+    store.init();
+    assert (new File(filepath + ".imported").exists());
+    // a restart finds the marker and imports nothing
+    store.init();
+    Mockito.verify(mongoTemplate, Mockito.times(2))
+        .upsert(
+            ArgumentMatchers.argThat(this::isOwnedByUser),
+            ArgumentMatchers.any(Update.class),
+            ArgumentMatchers.eq(TargetDataFileRecord.class));
+  }
+}
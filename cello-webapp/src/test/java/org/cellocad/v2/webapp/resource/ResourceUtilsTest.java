@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.resource;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.commons.io.FileUtils;
+import org.cellocad.v2.webapp.common.HashUtils;
+import org.cellocad.v2.webapp.exception.CelloWebException;
+import org.cellocad.v2.webapp.resource.library.Header;
+import org.cellocad.v2.webapp.resource.library.UserConstraintsFileDescriptor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link ResourceUtils}.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class ResourceUtilsTest {
+
+  private static final String UCF =
+      "[{\"collection\":\"gates\",\"gates\":[{\"name\":\"A1_AmtR\"}]},"
+          + "{\"collection\":\"header\",\"version\":\"Eco1C1G1T1\",\"organism\":\"E. coli\"},"
+          + "{\"collection\":\"parts\",\"type\":\"cds\",\"name\":\"AmtR\"}]";
+
+  private File dir;
+  private File blobs;
+  private UserConstraintsFileDescriptor descriptor;
+
+  /**
+   * Create temporary resources and blobs directories.
+   *
+   * @throws IOException Unable to create directory.
+   */
+  @Before
+  public void setup() throws IOException {
+    dir = Files.createTempDirectory("cello").toFile();
+    blobs = Files.createTempDirectory("blobs").toFile();
+    BlobUtils.setBlobsDirectory(blobs.getPath());
+    descriptor = new UserConstraintsFileDescriptor();
+  }
+
+  /**
+   * Remove the temporary resources and blobs directories.
+   *
+   * @throws IOException Unable to delete directory.
+   */
+  @After
+  public void teardown() throws IOException {
+    BlobUtils.setBlobsDirectory(null);
+    FileUtils.deleteDirectory(dir);
+    FileUtils.deleteDirectory(blobs);
+  }
+
+  private static InputStream getInputStream(final String str) {
+    return new ByteArrayInputStream(str.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void writeTargetDataFile_Header_ShouldSetHeaderAndCopyBytes() throws IOException {
+    final Path path = dir.toPath().resolve("test.UCF.json");
+    ResourceUtils.writeTargetDataFile(getInputStream(UCF), path, descriptor, false);
+    final Header header = descriptor.getHeader();
+    assert (header != null);
+    assert (header.getVersion().equals("Eco1C1G1T1"));
+    assert (header.getOrganism().equals("E. coli"));
+    assert (new String(Files.readAllBytes(path), StandardCharsets.UTF_8).equals(UCF));
+    assert (dir.list().length == 1);
+  }
+
+  @Test
+  public void writeTargetDataFile_Header_ShouldSetHash() throws IOException {
+    final Path path = dir.toPath().resolve("test.UCF.json");
+    ResourceUtils.writeTargetDataFile(getInputStream(UCF), path, descriptor, false);
+    assert (descriptor.getHash().equals(HashUtils.sha256Hex(path.toFile())));
+    assert (Files.isSameFile(path, BlobUtils.getBlob(descriptor.getHash())));
+  }
+
+  @Test
+  public void writeTargetDataFile_SameContent_ShouldShareBlob() throws IOException {
+    final Path a = dir.toPath().resolve("a.UCF.json");
+    final Path b = dir.toPath().resolve("b.UCF.json");
+    final UserConstraintsFileDescriptor other = new UserConstraintsFileDescriptor();
+    ResourceUtils.writeTargetDataFile(getInputStream(UCF), a, descriptor, false);
+    ResourceUtils.writeTargetDataFile(getInputStream(UCF), b, other, false);
+    assert (descriptor.getHash().equals(other.getHash()));
+    assert (Files.isSameFile(a, b));
+    Files.delete(a);
+    BlobUtils.release(descriptor.getHash());
+    assert (Files.exists(BlobUtils.getBlob(descriptor.getHash())));
+    Files.delete(b);
+    BlobUtils.release(descriptor.getHash());
+    assert (!Files.exists(BlobUtils.getBlob(descriptor.getHash())));
+  }
+
+  @Test
+  public void writeTargetDataFile_NoHeader_ShouldNotSetHeader() throws IOException {
+    final Path path = dir.toPath().resolve("test.input.json");
+    ResourceUtils.writeTargetDataFile(
+        getInputStream("[{\"collection\":\"parts\"}]"), path, descriptor, false);
+    assert (descriptor.getHeader() == null);
+  }
+
+  @Test(expected = CelloWebException.class)
+  public void writeUserConstraintsFile_NoHeader_ShouldNotLinkFile()
+      throws IOException, CelloWebException {
+    final Path path = dir.toPath().resolve("test.UCF.json");
+    try {
+      ResourceUtils.writeUserConstraintsFile(
+          getInputStream("[{\"collection\":\"parts\"}]"), path, descriptor);
+    } finally {
+      assert (dir.list().length == 0);
+      assert (blobs.list().length == 0);
+    }
+  }
+
+  @Test(expected = JsonProcessingException.class)
+  public void writeTargetDataFile_NotArray_ShouldThrowException() throws IOException {
+    final Path path = dir.toPath().resolve("test.UCF.json");
+    try {
+      ResourceUtils.writeTargetDataFile(
+          getInputStream("{\"collection\":\"header\"}"), path, descriptor, false);
+    } finally {
+      assert (dir.list().length == 0);
+    }
+  }
+
+  @Test(expected = FileAlreadyExistsException.class)
+  public void writeTargetDataFile_Exists_ShouldThrowException() throws IOException {
+    final Path path = dir.toPath().resolve("test.UCF.json");
+    ResourceUtils.writeTargetDataFile(getInputStream(UCF), path, descriptor, false);
+    ResourceUtils.writeTargetDataFile(getInputStream(UCF), path, descriptor, false);
+  }
+
+  @Test
+  public void writeTargetDataFile_Replace_ShouldReplaceFile() throws IOException {
+    final Path path = dir.toPath().resolve("test.UCF.json");
+    ResourceUtils.writeTargetDataFile(getInputStream("[]"), path, descriptor, false);
+    final String hash = descriptor.getHash();
+    ResourceUtils.writeTargetDataFile(getInputStream(UCF), path, descriptor, true);
+    assert (new String(Files.readAllBytes(path), StandardCharsets.UTF_8).equals(UCF));
+    assert (dir.list().length == 1);
+    BlobUtils.release(hash);
+    assert (!Files.exists(BlobUtils.getBlob(hash)));
+  }
+}
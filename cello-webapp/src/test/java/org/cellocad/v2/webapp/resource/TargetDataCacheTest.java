@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.resource;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link TargetDataCache} and {@link TargetDataDocument}.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class TargetDataCacheTest {
+
+  private File dir;
+  private Path path;
+
+  private static String getUcf() {
+    final StringBuilder table = new StringBuilder("[");
+    for (int i = 0; i < 100; i++) {
+      table.append(i > 0 ? "," : "").append(i * 0.01);
+    }
+    table.append("]");
+    return "[{\"collection\":\"header\",\"version\":\"Eco1C1G1T1\"},"
+        + "{\"collection\":\"gates\",\"name\":\"P1_PhlF\",\"group\":\"PhlF\"},"
+        + "{\"collection\":\"gates\",\"name\":\"A1_AmtR\",\"group\":\"AmtR\","
+        + "\"parameters\":{\"ymax\":1.0}},"
+        + "{\"collection\":\"response_functions\",\"gate_name\":\"P1_PhlF\",\"table\":"
+        + table
+        + "}]";
+  }
+
+  /**
+   * Write a target data file to a temporary directory.
+   *
+   * @throws IOException Unable to write the file.
+   */
+  @Before
+  public void setup() throws IOException {
+    dir = Files.createTempDirectory("cello").toFile();
+    path = dir.toPath().resolve("test.UCF.json");
+    Files.write(path, getUcf().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Remove the temporary directory.
+   *
+   * @throws IOException Unable to delete directory.
+   */
+  @After
+  public void teardown() throws IOException {
+    FileUtils.deleteDirectory(dir);
+  }
+
+  @Test
+  public void get_File_ShouldIndexCollectionsByName() throws IOException {
+    final TargetDataDocument document = new TargetDataCache(1).get(path);
+    assert (document.getEntries("gates").size() == 2);
+    assert (document.getEntry("gates", "A1_AmtR").get("group").asText().equals("AmtR"));
+    assert (document.getEntry("gates", "B1_BM3R1") == null);
+    assert (document.getEntries("parts").isEmpty());
+  }
+
+  @Test
+  public void get_LargeField_ShouldParseWhenRead() throws IOException {
+    final TargetDataEntry entry =
+        new TargetDataCache(1).get(path).getEntry("response_functions", "P1_PhlF");
+    assert (entry.getFields().contains("table"));
+    assert (entry.get("table").size() == 100);
+    assert (entry.toJson().get("table").get(1).asDouble() == 0.01);
+  }
+
+  @Test
+  public void get_SameContent_ShouldHit() throws IOException {
+    final TargetDataCache cache = new TargetDataCache(1);
+    final Path copy = dir.toPath().resolve("copy.UCF.json");
+    Files.copy(path, copy);
+    final TargetDataDocument document = cache.get(path);
+    assert (cache.get(copy) == document);
+    assert (cache.getStats().getHits() == 1);
+    assert (cache.getStats().getMisses() == 1);
+    assert (cache.getStats().getHitRate() == 0.5);
+  }
+
+  @Test
+  public void get_OverMaxSize_ShouldNotCache() throws IOException {
+    final TargetDataCache cache = new TargetDataCache(0);
+    cache.get(path);
+    cache.get(path);
+    assert (cache.getStats().getEntries() == 0);
+    assert (cache.getStats().getMisses() == 2);
+  }
+
+  @Test
+  public void get_KnownHash_ShouldNotReadCachedFile() throws IOException {
+    final TargetDataCache cache = new TargetDataCache(1);
+    final String hash = cache.getHash(path);
+    final TargetDataDocument document = cache.get(path, hash);
+    Files.delete(path);
+    assert (cache.get(path, hash) == document);
+  }
+
+  @Test
+  public void get_ChangedValue_ShouldNotChangeCachedEntry() throws IOException {
+    final TargetDataEntry entry = new TargetDataCache(1).get(path).getEntry("gates", "A1_AmtR");
+    ((ObjectNode) entry.get("parameters")).put("ymax", 2.0);
+    assert (entry.get("parameters").get("ymax").asDouble() == 1.0);
+  }
+}
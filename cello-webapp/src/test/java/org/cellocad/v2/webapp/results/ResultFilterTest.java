@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2020 Boston University (BU)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.cellocad.v2.webapp.results;
+
+import java.io.IOException;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests for {@link ResultFilter}.
+ *
+ * @author Timothy Jones
+ * @date 2026-10-17
+ */
+public class ResultFilterTest {
+
+  @Test
+  public void getFilters_DNACompiler_ShouldClassifyByExtension() throws IOException {
+    final List<ResultFilter> filters = ResultFilter.getFilters("DNACompiler");
+    assert (filters.size() == 2);
+    assert (filters.get(0).getName().equals("structure"));
+    assert (filters.get(0).matches("and_placement.dot"));
+    assert (filters.get(0).matches("and_netlist.xml"));
+    assert (!filters.get(0).matches("and_dpl.csv"));
+    assert (filters.get(1).getName().equals("performance"));
+    assert (filters.get(1).matches("and_dpl.csv"));
+    assert (!filters.get(1).matches("and_csv"));
+    assert (ResultFilter.getFilters("DNACompiler") == filters);
+  }
+
+  @Test
+  public void getFilters_UnknownApplication_ShouldReturnNone() throws IOException {
+    assert (ResultFilter.getFilters("Unknown").isEmpty());
+  }
+}